@@ -0,0 +1,94 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/*
+ 👉 Small timing helper shared by the benchmark demos of the courses
+    - Every task returns a value that goes into a blackhole, so the JIT cannot drop the work
+    - Each measurement runs the task 5 times and keeps the fastest run: the first runs warm up the JIT
+    - best(task): milliseconds of the fastest run
+    - measure(task): nanoseconds of the fastest run, with the bytes this thread allocated during it
+    - perOperation(operations, task): ns and bytes per operation. Short tasks are repeated
+      until a run does at least 1M operations, so small inputs get warmed up too
+    - usedHeap(): heap in use after full GCs; the difference of two calls is what the code in between retained
+    - Not a replacement for JMH: good enough to compare approaches side by side in one demo
+*/
+public final class Bench {
+    private static final int ROUNDS = 5;
+    private static final int MIN_OPERATIONS = 1_000_000;
+
+    @FunctionalInterface
+    public interface Task {
+        long run();
+    }
+
+    public record Measurement(long nanos, long bytes) {
+        public long millis() {
+            return nanos / 1_000_000;
+        }
+    }
+
+    public record PerOperation(double nanos, double bytes) {
+    }
+
+    private static long blackhole;
+
+    private Bench() {
+    }
+
+    public static long best(Task task) {
+        return measure(task).millis();
+    }
+
+    public static Measurement measure(Task task) {
+        com.sun.management.ThreadMXBean threads = threads();
+        long best = Long.MAX_VALUE;
+        long bytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            blackhole += task.run();
+            long time = System.nanoTime() - start;
+            if (time < best) {
+                best = time;
+                bytes = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            }
+        }
+        return new Measurement(best, bytes);
+    }
+
+    // The task does `operations` operations per call
+    public static PerOperation perOperation(int operations, Task task) {
+        com.sun.management.ThreadMXBean threads = threads();
+        int repeats = Math.max(1, MIN_OPERATIONS / Math.max(1, operations));
+        long best = Long.MAX_VALUE;
+        long bytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int r = 0; r < repeats; r++) {
+                blackhole += task.run();
+            }
+            long time = System.nanoTime() - start;
+            if (time < best) {
+                best = time;
+                bytes = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            }
+        }
+        double total = (double) operations * repeats;
+        return new PerOperation(best / total, bytes / total);
+    }
+
+    // A few GCs in a row, so garbage promoted by the first one is collected too
+    public static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+}
@@ -0,0 +1,47 @@
+package course1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import course5.L12_EnumCollections.ConcurrentEnumCounter;
+import course5.L12_EnumCollections.EnumArrayMap;
+import course5.L12_EnumCollections.EnumCounter;
+
+/*
+ 👉 Gender-keyed tables for the Person class of L2_Peps (course5 L12_EnumCollections)
+    - EnumCounter: count per gender in a long[] indexed by ordinal
+    - EnumArrayMap: people grouped by gender, no hashing
+    - ConcurrentEnumCounter: counting from a parallel stream
+*/
+public class GenderCountsDemo {
+
+    public static void main(String[] args) {
+        List<Person> people = List.of(
+                new Person("Alex", 8, Gender.MALE),
+                new Person("Mia", 62, Gender.FEMALE, false, "Toronto"),
+                new Person("Sam", 30, Gender.nonBinary),
+                new Person("Lena", 41, Gender.FEMALE));
+
+        EnumCounter<Gender> counts = new EnumCounter<>(Gender.class);
+        EnumArrayMap<Gender, List<String>> names = new EnumArrayMap<>(Gender.class);
+        for (Person person : people) {
+            counts.increment(person.gender);
+            names.computeIfAbsent(person.gender, g -> new ArrayList<>()).add(person.name);
+        }
+        System.out.println("Counts: " + counts + ", most common: " + counts.mostCommon());
+        System.out.println("Names: " + names);
+
+        // One million random people counted from all cores
+        Random random = new Random(1);
+        Gender[] all = Gender.values();
+        Gender[] genders = new Gender[1_000_000];
+        for (int i = 0; i < genders.length; i++) {
+            genders[i] = all[random.nextInt(all.length)];
+        }
+        ConcurrentEnumCounter<Gender> parallelCounts = new ConcurrentEnumCounter<>(Gender.class);
+        IntStream.range(0, genders.length).parallel().forEach(i -> parallelCounts.increment(genders[i]));
+        System.out.println("Parallel counts: " + parallelCounts + ", total " + parallelCounts.snapshot().total());
+    }
+}
@@ -0,0 +1,242 @@
+package course2;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import benchmark.Bench;
+import course5.L12_EnumCollections.ConcurrentEnumCounter;
+import course5.L12_EnumCollections.EnumArrayMap;
+import course5.L12_EnumCollections.EnumBitSet;
+import course5.L12_EnumCollections.EnumCounter;
+import course5.L12_EnumCollections.EnumIntMap;
+
+/*
+ 👉 Day-keyed lookup tables and counters (course5 L12_EnumCollections)
+    1. getActivity() of L3_EnhancedSwitch precomputed into an EnumArrayMap, workdays as an EnumBitSet
+    2. Benchmark against HashMap / EnumMap / EnumSet: lookups, set membership, counting
+       (single thread, per row and per ordinal column) and counting from several threads
+*/
+public class DayTablesDemo {
+
+    public static void main(String[] args) throws Exception {
+        // 1. Tables computed once from the switch
+        EnumArrayMap<Day, String> activity = EnumArrayMap.of(Day.class, day -> new EnumExample(day).getActivity());
+        EnumBitSet<Day> workdays = EnumBitSet.noneOf(Day.class);
+        activity.forEach((day, what) -> {
+            if (what.equals("Work")) {
+                workdays.add(day);
+            }
+        });
+        EnumBitSet<Day> weekend = workdays.copy();
+        weekend.complement();
+        System.out.println("Activities: " + activity);
+        System.out.println("Workdays: " + workdays + ", the rest: " + weekend);
+
+        EnumIntMap<Day> hours = new EnumIntMap<>(Day.class);
+        for (Day day : workdays) {
+            hours.put(day, 8);
+        }
+        hours.add(Day.FRIDAY, 4);
+        System.out.println("Working hours: " + hours);
+
+        EnumCounter<Day> visits = new EnumCounter<>(Day.class);
+        for (Day day : new Day[]{Day.MONDAY, Day.SATURDAY, Day.SATURDAY, Day.FRIDAY}) {
+            visits.increment(day);
+        }
+        System.out.println("Visits: " + visits + ", busiest: " + visits.mostCommon());
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        benchmark(size);
+    }
+
+    private static void benchmark(int size) throws Exception {
+        Day[] days = new Day[size];
+        byte[] ordinals = new byte[size]; // the same days as a column of ordinals
+        Random random = new Random(4);
+        Day[] all = Day.values();
+        for (int i = 0; i < size; i++) {
+            days[i] = all[random.nextInt(all.length)];
+            ordinals[i] = (byte) days[i].ordinal();
+        }
+
+        Map<Day, String> hashActivity = new HashMap<>();
+        Map<Day, String> enumMapActivity = new EnumMap<>(Day.class);
+        EnumArrayMap<Day, String> arrayActivity = EnumArrayMap.of(Day.class, day -> new EnumExample(day).getActivity());
+        arrayActivity.forEach(hashActivity::put);
+        arrayActivity.forEach(enumMapActivity::put);
+        long hashLookup = Bench.best(() -> {
+            long sum = 0;
+            for (Day day : days) {
+                sum += hashActivity.get(day).length();
+            }
+            return sum;
+        });
+        long enumMapLookup = Bench.best(() -> {
+            long sum = 0;
+            for (Day day : days) {
+                sum += enumMapActivity.get(day).length();
+            }
+            return sum;
+        });
+        long arrayLookup = Bench.best(() -> {
+            long sum = 0;
+            for (Day day : days) {
+                sum += arrayActivity.get(day).length();
+            }
+            return sum;
+        });
+
+        Set<Day> hashWorkdays = new HashSet<>(List.of(Day.MONDAY, Day.TUESDAY, Day.WEDNESSDAY, Day.THRUSDAY));
+        Set<Day> enumSetWorkdays = EnumSet.copyOf(hashWorkdays);
+        EnumBitSet<Day> bitWorkdays = EnumBitSet.of(Day.MONDAY, Day.TUESDAY, Day.WEDNESSDAY, Day.THRUSDAY);
+        long hashContains = Bench.best(() -> {
+            long count = 0;
+            for (Day day : days) {
+                count += hashWorkdays.contains(day) ? 1 : 0;
+            }
+            return count;
+        });
+        long enumSetContains = Bench.best(() -> {
+            long count = 0;
+            for (Day day : days) {
+                count += enumSetWorkdays.contains(day) ? 1 : 0;
+            }
+            return count;
+        });
+        long bitContains = Bench.best(() -> {
+            long count = 0;
+            for (Day day : days) {
+                count += bitWorkdays.contains(day) ? 1 : 0;
+            }
+            return count;
+        });
+        long bitColumn = Bench.best(() -> bitWorkdays.count(ordinals, 0, size));
+
+        long hashCount = Bench.best(() -> {
+            Map<Day, Long> counts = new HashMap<>();
+            for (Day day : days) {
+                counts.merge(day, 1L, Long::sum);
+            }
+            return counts.get(Day.MONDAY);
+        });
+        long enumMapCount = Bench.best(() -> {
+            Map<Day, Long> counts = new EnumMap<>(Day.class);
+            for (Day day : days) {
+                counts.merge(day, 1L, Long::sum);
+            }
+            return counts.get(Day.MONDAY);
+        });
+        long counterCount = Bench.best(() -> {
+            EnumCounter<Day> counts = new EnumCounter<>(Day.class);
+            for (Day day : days) {
+                counts.increment(day);
+            }
+            return counts.get(Day.MONDAY);
+        });
+        long columnCount = Bench.best(() -> {
+            EnumCounter<Day> counts = new EnumCounter<>(Day.class);
+            counts.addOrdinals(ordinals, 0, size);
+            return counts.get(Day.MONDAY);
+        });
+
+        // Hours per row: boxed EnumMap<Day, Integer> vs int table over the ordinal column
+        Map<Day, Integer> boxedHours = new EnumMap<>(Day.class);
+        EnumIntMap<Day> intHours = new EnumIntMap<>(Day.class);
+        for (Day day : all) {
+            int h = switch (new EnumExample(day).getActivity()) {
+                case "Work" -> 480;
+                case "Get ready to relax" -> 240;
+                default -> 0;
+            };
+            boxedHours.put(day, h);
+            intHours.put(day, h);
+        }
+        int[] minutes = new int[size];
+        long boxedTable = Bench.best(() -> {
+            for (int i = 0; i < size; i++) {
+                minutes[i] = boxedHours.get(days[i]);
+            }
+            return minutes[size - 1];
+        });
+        long intTable = Bench.best(() -> {
+            intHours.getAll(ordinals, 0, size, minutes);
+            return minutes[size - 1];
+        });
+
+        // Several threads counting into one shared structure
+        int threads = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long chmCount = bestParallel(pool, threads, size, () -> {
+            Map<Day, LongAdder> counts = new ConcurrentHashMap<>();
+            return (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    counts.computeIfAbsent(days[i], d -> new LongAdder()).increment();
+                }
+            };
+        });
+        long stripedCount = bestParallel(pool, threads, size, () -> {
+            ConcurrentEnumCounter<Day> counts = new ConcurrentEnumCounter<>(Day.class);
+            return (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    counts.increment(days[i]);
+                }
+            };
+        });
+        long stripedColumn = bestParallel(pool, threads, size, () -> {
+            ConcurrentEnumCounter<Day> counts = new ConcurrentEnumCounter<>(Day.class);
+            return (from, to) -> counts.addOrdinals(ordinals, from, to);
+        });
+        pool.shutdown();
+
+        System.out.printf("%,d random days (ms, best of 5)%n", size);
+        System.out.printf("Lookup activity  : HashMap %4d   EnumMap %4d   EnumArrayMap %4d%n", hashLookup, enumMapLookup, arrayLookup);
+        System.out.printf("Is workday       : HashSet %4d   EnumSet %4d   EnumBitSet   %4d   column count %4d%n",
+                hashContains, enumSetContains, bitContains, bitColumn);
+        System.out.printf("Count per day    : HashMap %4d   EnumMap %4d   EnumCounter  %4d   column       %4d%n",
+                hashCount, enumMapCount, counterCount, columnCount);
+        System.out.printf("Minutes per row  : EnumMap<Day, Integer> %4d   EnumIntMap.getAll %4d%n", boxedTable, intTable);
+        System.out.printf("%d threads count : ConcurrentHashMap<Day, LongAdder> %4d   ConcurrentEnumCounter %4d   column %4d (%d cores)%n",
+                threads, chmCount, stripedCount, stripedColumn, Runtime.getRuntime().availableProcessors());
+    }
+
+    private interface Chunk {
+        void count(int from, int to);
+    }
+
+    private interface ChunkFactory {
+        Chunk newRun();
+    }
+
+    // Each round: a fresh shared counter, the rows split into one chunk per thread
+    private static long bestParallel(ExecutorService pool, int threads, int size, ChunkFactory factory) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            Chunk chunk = factory.newRun();
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int from = (int) ((long) size * t / threads), to = (int) ((long) size * (t + 1) / threads);
+                futures.add(pool.submit(() -> chunk.count(from, to)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+}
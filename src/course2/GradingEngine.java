@@ -0,0 +1,186 @@
+package course2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ 👉 Table-driven grading: the switch of L3_EnhancedSwitch.multiLineExample as data
+    - Rules "score >= minScore -> label" are compiled once into a GradeTable:
+      a byte[] with the grade of every score between the lowest and the highest threshold,
+      or sorted thresholds + binary search when that range is too large for a table or
+      reaches Integer.MIN_VALUE / MAX_VALUE (low - 1 and high + 1 would overflow)
+    - grade(scores, out) is one loop without branches: clamp the score, read the table.
+      Compare with a switch per score, which jumps to a different case for every grade
+    - Labels are interned when the table is compiled, so all results share a few String instances
+    - reload() swaps in a new table while a batch runs: batches are graded in chunks and every
+      chunk reads the current table once, so a chunk never mixes two rule sets
+*/
+final class GradingEngine {
+    private static final int CHUNK = 1 << 16;
+
+    record Rule(int minScore, String label) {
+    }
+
+    // Immutable, compiled rules
+    static final class GradeTable {
+        private static final int MAX_TABLE = 1 << 20;
+
+        final int version;
+        final String[] labels;          // index 0 is the label below every threshold
+        private final int[] thresholds; // sorted ascending
+        private final byte[] gradeOfRule; // [0] below all thresholds, [i] at or above thresholds[i - 1]
+        private final byte[] table;     // grade of score (low - 1 + i), null when using binary search
+        private final int low;
+        private final int high;
+
+        private GradeTable(int version, List<Rule> rules, String belowAll) {
+            List<Rule> sorted = new ArrayList<>(rules);
+            sorted.sort(Comparator.comparingInt(Rule::minScore));
+            Map<String, Integer> ids = new LinkedHashMap<>();
+            ids.put(belowAll.intern(), 0);
+            for (Rule rule : sorted) {
+                ids.putIfAbsent(rule.label().intern(), ids.size());
+            }
+            if (ids.size() > 127) {
+                throw new IllegalArgumentException("At most 127 different labels");
+            }
+            this.version = version;
+            this.labels = ids.keySet().toArray(String[]::new);
+            this.thresholds = new int[sorted.size()];
+            byte[] grades = new byte[sorted.size() + 1];
+            for (int i = 0; i < sorted.size(); i++) {
+                if (i > 0 && sorted.get(i).minScore() == sorted.get(i - 1).minScore()) {
+                    throw new IllegalArgumentException("Two rules for score " + sorted.get(i).minScore());
+                }
+                thresholds[i] = sorted.get(i).minScore();
+                grades[i + 1] = (byte) (int) ids.get(sorted.get(i).label().intern());
+            }
+            this.gradeOfRule = grades;
+            this.low = thresholds.length == 0 ? 0 : thresholds[0];
+            this.high = thresholds.length == 0 ? 0 : thresholds[thresholds.length - 1];
+            boolean fitsInt = low != Integer.MIN_VALUE && high != Integer.MAX_VALUE; // low - 1 and score++ stay in range
+            if (thresholds.length > 0 && fitsInt && (long) high - low + 2 <= MAX_TABLE) {
+                table = new byte[high - low + 2];
+                for (int score = low - 1; score <= high; score++) {
+                    table[score - low + 1] = grades[rank(score)];
+                }
+            } else {
+                table = null;
+            }
+        }
+
+        // Number of thresholds <= score
+        private int rank(int score) {
+            int index = Arrays.binarySearch(thresholds, score);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        int gradeOf(int score) {
+            if (table != null) {
+                return table[Math.max(low - 1, Math.min(high, score)) - low + 1];
+            }
+            return gradeOfRule[rank(score)];
+        }
+
+        String labelOf(int score) {
+            return labels[gradeOf(score)];
+        }
+
+        boolean usesLookupTable() {
+            return table != null;
+        }
+
+        // out[outFrom + i] = grade of scores[from + i]
+        void grade(int[] scores, int from, int to, byte[] out, int outFrom) {
+            int shift = outFrom - from;
+            if (table == null) {
+                for (int i = from; i < to; i++) {
+                    out[i + shift] = gradeOfRule[rank(scores[i])];
+                }
+                return;
+            }
+            byte[] t = table;
+            int min = low - 1, max = high, offset = 1 - low;
+            for (int i = from; i < to; i++) {
+                out[i + shift] = t[Math.max(min, Math.min(max, scores[i])) + offset]; // branch-free clamp
+            }
+        }
+    }
+
+    private volatile GradeTable table;
+
+    GradingEngine(List<Rule> rules, String belowAll) {
+        this.table = new GradeTable(1, rules, belowAll);
+    }
+
+    // The multiLineExample switch: 90-109 A, 80-89 B, 70-79 C, everything else F
+    static GradingEngine multiLineExampleRules() {
+        return new GradingEngine(List.of(
+                new Rule(90, "A"),
+                new Rule(80, "B"),
+                new Rule(70, "Grade C-BorderlinePass"),
+                new Rule(110, "F")), "F"); // score / 10 == 11 falls into the default branch
+    }
+
+    // Compiles the new rules, then swaps them in; running batches switch at their next chunk
+    void reload(List<Rule> rules, String belowAll) {
+        GradeTable current = table;
+        table = new GradeTable(current.version + 1, rules, belowAll);
+    }
+
+    GradeTable table() {
+        return table;
+    }
+
+    String grade(int score) {
+        return table.labelOf(score);
+    }
+
+    // Grade index per score (an index into table().labels), out[i] for scores[i].
+    // Returns the version of the table used for the last chunk; if the rules can change
+    // during the batch, use gradeLabels instead
+    int grade(int[] scores, byte[] out) {
+        GradeTable current = table;
+        for (int from = 0; from < scores.length; from += CHUNK) {
+            current = table;
+            current.grade(scores, from, Math.min(scores.length, from + CHUNK), out, from);
+        }
+        return current.version;
+    }
+
+    // Labels per score (interned instances shared by all rows)
+    void gradeLabels(int[] scores, String[] out) {
+        byte[] grades = new byte[Math.min(CHUNK, scores.length)];
+        for (int from = 0; from < scores.length; from += CHUNK) {
+            int to = Math.min(scores.length, from + CHUNK);
+            GradeTable current = table;
+            current.grade(scores, from, to, grades, 0);
+            for (int i = from; i < to; i++) {
+                out[i] = current.labels[grades[i - from]];
+            }
+        }
+    }
+
+    // Number of scores per label of the current rules
+    Map<String, Integer> histogram(int[] scores) {
+        GradeTable current = table;
+        int[] counts = new int[current.labels.length];
+        byte[] grades = new byte[Math.min(CHUNK, scores.length)];
+        for (int from = 0; from < scores.length; from += CHUNK) {
+            int to = Math.min(scores.length, from + CHUNK);
+            current.grade(scores, from, to, grades, 0);
+            for (int i = 0; i < to - from; i++) {
+                counts[grades[i]]++;
+            }
+        }
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            result.put(current.labels[i], counts[i]);
+        }
+        return result;
+    }
+}
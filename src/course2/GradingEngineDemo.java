@@ -0,0 +1,146 @@
+package course2;
+
+import java.util.List;
+import java.util.Random;
+
+import benchmark.Bench;
+import course2.GradingEngine.Rule;
+
+/*
+ 👉 GradingEngine vs a switch per score
+    1. Same grades as L3_EnhancedSwitch.multiLineExample for every score from -20 to 150 and the int limits,
+       also when rules sit at Integer.MIN_VALUE / MAX_VALUE
+    2. Rules reloaded while a batch is being graded
+    3. Benchmark: 10M scores graded per element with the switch vs the compiled table
+*/
+public class GradingEngineDemo {
+
+    public static void main(String[] args) throws Exception {
+        // 1. Same results as the switch, also with thresholds at the ends of the int range
+        GradingEngine engine = GradingEngine.multiLineExampleRules();
+        GradingEngine limits = new GradingEngine(List.of(new Rule(Integer.MIN_VALUE, "F"), new Rule(90, "A"),
+                new Rule(80, "B"), new Rule(70, "Grade C-BorderlinePass"), new Rule(110, "F"), new Rule(Integer.MAX_VALUE, "F")), "F");
+        int[] checked = new int[171 + 4];
+        for (int i = 0; i < 171; i++) {
+            checked[i] = i - 20; // -20..150
+        }
+        checked[171] = Integer.MIN_VALUE;
+        checked[172] = Integer.MIN_VALUE + 1;
+        checked[173] = Integer.MAX_VALUE - 1;
+        checked[174] = Integer.MAX_VALUE;
+        System.out.println("Score 70: " + engine.grade(70) + ", mismatches with the switch for -20..150 and the int limits: "
+                + mismatches(engine, checked) + ", with MIN_VALUE/MAX_VALUE rules: " + mismatches(limits, checked));
+        System.out.println("Labels are interned: " + (engine.grade(95) == engine.grade(99)));
+
+        // Rule sets right at the limits: a lookup table would overflow low - 1 or score++
+        GradingEngine top = new GradingEngine(List.of(new Rule(Integer.MAX_VALUE - 1, "High"), new Rule(Integer.MAX_VALUE, "Max")), "Low");
+        GradingEngine bottom = new GradingEngine(List.of(new Rule(Integer.MIN_VALUE, "Min"), new Rule(Integer.MIN_VALUE + 1, "Up")), "Below");
+        System.out.println("Rules at MAX_VALUE: " + top.grade(Integer.MAX_VALUE) + ", " + top.grade(0)
+                + "; rules at MIN_VALUE: " + bottom.grade(Integer.MIN_VALUE) + ", " + bottom.grade(0));
+
+        // 2. Hot reload: a stricter scale arrives while 50M scores are being graded
+        int[] scores = randomScores(50_000_000, 1);
+        String[] labels = new String[scores.length];
+        Thread batch = new Thread(() -> engine.gradeLabels(scores, labels));
+        batch.start();
+        Thread.sleep(50);
+        engine.reload(List.of(new Rule(95, "A"), new Rule(85, "B"), new Rule(75, "C"), new Rule(60, "D")), "F");
+        batch.join();
+        long regraded = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (labels[i].equals("D") || (scores[i] >= 90 && scores[i] < 95 && labels[i].equals("B"))) {
+                regraded++; // only the new rules give these labels
+            }
+        }
+        System.out.printf("Graded %,d scores, new rules visible from row %,d on (%,d rows with new-only grades)%n",
+                scores.length, firstNewRow(scores, labels), regraded);
+        System.out.println("Histogram with the new rules: " + engine.histogram(scores));
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        benchmark(size);
+    }
+
+    // The switch of multiLineExample for any score
+    static String switchGrade(int score) {
+        return switch (score / 10) {
+            case 10, 9 -> "A";
+            case 8 -> "B";
+            case 7 -> {
+                yield "Grade C" +
+                        "-Borderline" +
+                        "Pass";
+            }
+            default -> "F";
+        };
+    }
+
+    // Single scores and the batch path, both against the switch
+    private static int mismatches(GradingEngine engine, int[] scores) {
+        String[] labels = new String[scores.length];
+        engine.gradeLabels(scores, labels);
+        int mismatches = 0;
+        for (int i = 0; i < scores.length; i++) {
+            String expected = switchGrade(scores[i]);
+            if (!engine.grade(scores[i]).equals(expected) || !labels[i].equals(expected)) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    private static int firstNewRow(int[] scores, String[] labels) {
+        for (int i = 0; i < scores.length; i++) {
+            if (labels[i].equals("D")) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] randomScores(int size, long seed) {
+        Random random = new Random(seed);
+        int[] scores = new int[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = random.nextInt(111); // 0..110
+        }
+        return scores;
+    }
+
+    private static void benchmark(int size) {
+        int[] scores = randomScores(size, 2);
+        GradingEngine engine = GradingEngine.multiLineExampleRules();
+        String[] labels = new String[size];
+        byte[] grades = new byte[size];
+
+        long perElement = Bench.best(() -> {
+            for (int i = 0; i < size; i++) {
+                labels[i] = switchGrade(scores[i]);
+            }
+            return labels[size - 1].length();
+        });
+        long tableLabels = Bench.best(() -> {
+            engine.gradeLabels(scores, labels);
+            return labels[size - 1].length();
+        });
+        long tableGrades = Bench.best(() -> {
+            engine.grade(scores, grades);
+            return grades[size - 1];
+        });
+
+        // Same rules with a huge score range: binary search instead of a lookup array
+        GradingEngine wide = new GradingEngine(List.of(new Rule(90, "A"), new Rule(80, "B"),
+                new Rule(70, "Grade C-BorderlinePass"), new Rule(50_000_000, "F")), "F");
+        long binarySearch = Bench.best(() -> {
+            wide.grade(scores, grades);
+            return grades[size - 1];
+        });
+
+        System.out.printf("%,d random scores (0..110), ms, best of 5%n", size);
+        System.out.printf("switch per score -> String[]      : %4d%n", perElement);
+        System.out.printf("GradingEngine    -> String[]      : %4d%n", tableLabels);
+        System.out.printf("GradingEngine    -> byte[] grades : %4d (lookup table: %b)%n", tableGrades, engine.table().usesLookupTable());
+        System.out.printf("GradingEngine    -> byte[] grades : %4d (lookup table: %b, binary search)%n", binarySearch, wide.table().usesLookupTable());
+    }
+}
@@ -0,0 +1,424 @@
+package course2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/*
+ 👉 R-tree: spatial index over positioned shapes
+    - Every node holds up to 16 children and the bounding box of each child; a query only descends
+      into children whose box overlaps the window, so it touches a few hundred entries instead of all
+    - bulkLoad(): Sort-Tile-Recursive packing (sort by x, cut into vertical slices, sort each slice
+      by y, fill leaves), giving full nodes with little overlap
+    - insert(): descend into the child that grows least, split a full node in two along its longer side
+    - remove(): delete the entry and shrink the boxes on the way up (empty nodes are dropped)
+    - nearest(): best-first search, nodes ordered by the distance from the point to their box
+    - Queries share a read lock and run in parallel; insert/remove take the write lock
+*/
+final class ShapeIndex {
+    private static final int MAX_CHILDREN = 16;
+
+    // Child boxes are kept in the parent, in four primitive columns, so a query never
+    // dereferences a child it does not enter. One spare slot holds the child that triggers a split.
+    private static final class Node {
+        final boolean leaf;
+        final double[] minX = new double[MAX_CHILDREN + 1];
+        final double[] minY = new double[MAX_CHILDREN + 1];
+        final double[] maxX = new double[MAX_CHILDREN + 1];
+        final double[] maxY = new double[MAX_CHILDREN + 1];
+        final Object[] children = new Object[MAX_CHILDREN + 1]; // Node, or PlacedShape in a leaf
+        int count;
+
+        Node(boolean leaf) {
+            this.leaf = leaf;
+        }
+
+        void add(Object child, double x0, double y0, double x1, double y1) {
+            minX[count] = x0;
+            minY[count] = y0;
+            maxX[count] = x1;
+            maxY[count] = y1;
+            children[count++] = child;
+        }
+
+        void add(Node child) {
+            double[] box = child.bounds();
+            add(child, box[0], box[1], box[2], box[3]);
+        }
+
+        void removeAt(int i) {
+            count--;
+            minX[i] = minX[count];
+            minY[i] = minY[count];
+            maxX[i] = maxX[count];
+            maxY[i] = maxY[count];
+            children[i] = children[count];
+            children[count] = null;
+        }
+
+        double[] bounds() {
+            double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+            double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                x0 = Math.min(x0, minX[i]);
+                y0 = Math.min(y0, minY[i]);
+                x1 = Math.max(x1, maxX[i]);
+                y1 = Math.max(y1, maxY[i]);
+            }
+            return new double[]{x0, y0, x1, y1};
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node(true);
+    private int size;
+    private int height = 1;
+
+    // ---------------- Building ----------------
+
+    static ShapeIndex bulkLoad(List<PlacedShape> shapes) {
+        ShapeIndex index = new ShapeIndex();
+        if (shapes.isEmpty()) {
+            return index;
+        }
+        PlacedShape[] sorted = shapes.toArray(PlacedShape[]::new);
+        List<Packed> level = new ArrayList<>();
+        tile(sorted, PlacedShape::x, PlacedShape::y, leafItems -> {
+            Node leaf = new Node(true);
+            for (PlacedShape shape : leafItems) {
+                leaf.add(shape, shape.minX(), shape.minY(), shape.maxX(), shape.maxY());
+            }
+            level.add(new Packed(leaf, leaf.bounds()));
+        });
+        int height = 1;
+        while (level.size() > 1) {
+            Packed[] nodes = level.toArray(Packed[]::new);
+            level.clear();
+            tile(nodes, Packed::centerX, Packed::centerY, group -> {
+                Node parent = new Node(false);
+                for (Packed child : group) {
+                    parent.add(child.node(), child.box()[0], child.box()[1], child.box()[2], child.box()[3]);
+                }
+                level.add(new Packed(parent, parent.bounds()));
+            });
+            height++;
+        }
+        index.root = level.get(0).node();
+        index.size = shapes.size();
+        index.height = height;
+        return index;
+    }
+
+    // Sort-Tile-Recursive: sqrt(pages) vertical slices, each sorted by y and cut into full pages
+    private static <E> void tile(E[] items, ToDouble<E> x, ToDouble<E> y, Consumer<List<E>> page) {
+        int pages = (items.length + MAX_CHILDREN - 1) / MAX_CHILDREN;
+        int slices = (int) Math.ceil(Math.sqrt(pages));
+        int sliceSize = slices * MAX_CHILDREN;
+        E[] byX = sortBy(items, 0, items.length, x);
+        for (int from = 0; from < items.length; from += sliceSize) {
+            int to = Math.min(items.length, from + sliceSize);
+            List<E> slice = Arrays.asList(sortBy(byX, from, to, y));
+            for (int p = 0; p < slice.size(); p += MAX_CHILDREN) {
+                page.accept(slice.subList(p, Math.min(slice.size(), p + MAX_CHILDREN)));
+            }
+        }
+    }
+
+    // Sorts a primitive long[] of (key as float, position) instead of objects with a Comparator:
+    // no pointer chasing while sorting, and float precision is plenty for grouping into pages
+    private static <E> E[] sortBy(E[] items, int from, int to, ToDouble<E> key) {
+        long[] packed = new long[to - from];
+        for (int i = from; i < to; i++) {
+            int bits = Float.floatToIntBits((float) key.of(items[i]));
+            int sortable = bits ^ ((bits >> 31) & 0x7FFFFFFF); // negative floats sort below positive ones
+            packed[i - from] = ((long) sortable << 32) | i;
+        }
+        Arrays.sort(packed);
+        E[] sorted = Arrays.copyOfRange(items, from, to);
+        for (int i = 0; i < packed.length; i++) {
+            sorted[i] = items[(int) packed[i]];
+        }
+        return sorted;
+    }
+
+    private interface ToDouble<E> {
+        double of(E e);
+    }
+
+    // A finished node and its box, while the levels above it are packed
+    private record Packed(Node node, double[] box) {
+        double centerX() {
+            return box[0] + box[2];
+        }
+
+        double centerY() {
+            return box[1] + box[3];
+        }
+    }
+
+    void insert(PlacedShape shape) {
+        lock.writeLock().lock();
+        try {
+            Node sibling = insert(root, shape, height);
+            if (sibling != null) { // root was split: grow the tree by one level
+                Node newRoot = new Node(false);
+                newRoot.add(root);
+                newRoot.add(sibling);
+                root = newRoot;
+                height++;
+            }
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns the new sibling if the node had to be split
+    private static Node insert(Node node, PlacedShape shape, int level) {
+        if (level == 1) {
+            node.add(shape, shape.minX(), shape.minY(), shape.maxX(), shape.maxY());
+        } else {
+            int best = chooseChild(node, shape);
+            Node child = (Node) node.children[best];
+            Node split = insert(child, shape, level - 1);
+            double[] box = child.bounds();
+            node.minX[best] = box[0];
+            node.minY[best] = box[1];
+            node.maxX[best] = box[2];
+            node.maxY[best] = box[3];
+            if (split != null) {
+                node.add(split);
+            }
+        }
+        return node.count > MAX_CHILDREN ? split(node) : null;
+    }
+
+    // Child whose box needs the least enlargement (then the smallest box)
+    private static int chooseChild(Node node, PlacedShape shape) {
+        int best = 0;
+        double bestGrowth = Double.POSITIVE_INFINITY, bestArea = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < node.count; i++) {
+            double area = (node.maxX[i] - node.minX[i]) * (node.maxY[i] - node.minY[i]);
+            double grown = (Math.max(node.maxX[i], shape.maxX()) - Math.min(node.minX[i], shape.minX()))
+                    * (Math.max(node.maxY[i], shape.maxY()) - Math.min(node.minY[i], shape.minY()));
+            double growth = grown - area;
+            if (growth < bestGrowth || (growth == bestGrowth && area < bestArea)) {
+                best = i;
+                bestGrowth = growth;
+                bestArea = area;
+            }
+        }
+        return best;
+    }
+
+    // Keeps the lower half (by center, along the longer side) and moves the upper half to a new node
+    private static Node split(Node node) {
+        double[] box = node.bounds();
+        boolean alongX = box[2] - box[0] >= box[3] - box[1];
+        Integer[] order = new Integer[node.count];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> alongX
+                ? node.minX[i] + node.maxX[i]
+                : node.minY[i] + node.maxY[i]));
+
+        Node copy = new Node(node.leaf);
+        for (int i : order) {
+            copy.add(node.children[i], node.minX[i], node.minY[i], node.maxX[i], node.maxY[i]);
+        }
+        Node sibling = new Node(node.leaf);
+        node.count = 0;
+        Arrays.fill(node.children, null);
+        int half = copy.count / 2;
+        for (int i = 0; i < copy.count; i++) {
+            (i < half ? node : sibling).add(copy.children[i], copy.minX[i], copy.minY[i], copy.maxX[i], copy.maxY[i]);
+        }
+        return sibling;
+    }
+
+    // Removes this exact shape (compared with equals); false if it is not in the index
+    boolean remove(PlacedShape shape) {
+        lock.writeLock().lock();
+        try {
+            if (!remove(root, shape, height)) {
+                return false;
+            }
+            size--;
+            while (!root.leaf && root.count == 1) { // shrink a root with a single child
+                root = (Node) root.children[0];
+                height--;
+            }
+            if (!root.leaf && root.count == 0) {
+                root = new Node(true);
+                height = 1;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean remove(Node node, PlacedShape shape, int level) {
+        for (int i = 0; i < node.count; i++) {
+            if (node.minX[i] > shape.minX() || node.minY[i] > shape.minY()
+                    || node.maxX[i] < shape.maxX() || node.maxY[i] < shape.maxY()) {
+                continue; // this child's box does not contain the shape
+            }
+            if (level == 1) {
+                if (node.children[i].equals(shape)) {
+                    node.removeAt(i);
+                    return true;
+                }
+                continue;
+            }
+            Node child = (Node) node.children[i];
+            if (remove(child, shape, level - 1)) {
+                if (child.count == 0) {
+                    node.removeAt(i);
+                } else {
+                    double[] box = child.bounds();
+                    node.minX[i] = box[0];
+                    node.minY[i] = box[1];
+                    node.maxX[i] = box[2];
+                    node.maxY[i] = box[3];
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ---------------- Queries ----------------
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int height() {
+        lock.readLock().lock();
+        try {
+            return height;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Shapes whose bounding box overlaps the window
+    List<PlacedShape> search(double minX, double minY, double maxX, double maxY) {
+        List<PlacedShape> result = new ArrayList<>();
+        forEachIn(minX, minY, maxX, maxY, result::add);
+        return result;
+    }
+
+    void forEachIn(double minX, double minY, double maxX, double maxY, Consumer<? super PlacedShape> action) {
+        lock.readLock().lock();
+        try {
+            search(root, minX, minY, maxX, maxY, action);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void search(Node node, double minX, double minY, double maxX, double maxY,
+                               Consumer<? super PlacedShape> action) {
+        for (int i = 0; i < node.count; i++) {
+            if (node.minX[i] > maxX || node.maxX[i] < minX || node.minY[i] > maxY || node.maxY[i] < minY) {
+                continue;
+            }
+            if (node.leaf) {
+                action.accept((PlacedShape) node.children[i]);
+            } else {
+                search((Node) node.children[i], minX, minY, maxX, maxY, action);
+            }
+        }
+    }
+
+    // The k shapes closest to (x, y), nearest first; distance is measured to the shape's outline (0 inside)
+    List<PlacedShape> nearest(double x, double y, int k) {
+        record Candidate(double distance, Object item) {
+        }
+        List<PlacedShape> result = new ArrayList<>(k);
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+            queue.add(new Candidate(0, root));
+            while (!queue.isEmpty() && result.size() < k) {
+                Object item = queue.poll().item();
+                if (item instanceof PlacedShape shape) {
+                    result.add(shape); // nothing left in the queue can be closer
+                    continue;
+                }
+                Node node = (Node) item;
+                for (int i = 0; i < node.count; i++) {
+                    double distance = node.leaf
+                            ? ((PlacedShape) node.children[i]).distanceTo(x, y)
+                            : boxDistance(x, y, node.minX[i], node.minY[i], node.maxX[i], node.maxY[i]);
+                    queue.add(new Candidate(distance, node.children[i]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    static double boxDistance(double x, double y, double minX, double minY, double maxX, double maxY) {
+        double dx = Math.max(0, Math.max(minX - x, x - maxX));
+        double dy = Math.max(0, Math.max(minY - y, y - maxY));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
+
+// A Shape from L2_Instanceof placed with its center at (x, y)
+// The index keeps the box computed on insert: remove a shape before changing its size
+record PlacedShape(double x, double y, Shape shape) {
+
+    double minX() {
+        return x - halfWidth();
+    }
+
+    double maxX() {
+        return x + halfWidth();
+    }
+
+    double minY() {
+        return y - halfHeight();
+    }
+
+    double maxY() {
+        return y + halfHeight();
+    }
+
+    private double halfWidth() {
+        return switch (shape) {
+            case Circle c -> c.radius;
+            case Rectangle r -> r.width / 2;
+        };
+    }
+
+    private double halfHeight() {
+        return switch (shape) {
+            case Circle c -> c.radius;
+            case Rectangle r -> r.height / 2;
+        };
+    }
+
+    // Distance from a point to the shape's outline, 0 if the point is inside
+    double distanceTo(double px, double py) {
+        return switch (shape) {
+            case Circle c -> Math.max(0, Math.hypot(px - x, py - y) - c.radius);
+            case Rectangle r -> ShapeIndex.boxDistance(px, py, minX(), minY(), maxX(), maxY());
+        };
+    }
+}
@@ -0,0 +1,209 @@
+package course2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import benchmark.Bench;
+
+/*
+ 👉 ShapeIndex (R-tree) vs scanning a List<PlacedShape>
+    1. Window query, nearest shapes, insert and remove on a few shapes
+    2. Benchmark: bulk load, window queries, k-nearest, parallel readers and incremental updates
+       on 10M shapes (fewer when the heap is too small: run with -Xmx3g for the full size)
+*/
+public class ShapeIndexDemo {
+    private static final double WORLD = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        // 1. A few shapes on a 100 x 100 plane
+        PlacedShape small = new PlacedShape(10, 10, new Circle(2));
+        List<PlacedShape> shapes = new ArrayList<>(List.of(
+                small,
+                new PlacedShape(20, 15, new Rectangle(4, 6)),
+                new PlacedShape(50, 50, new Circle(5)),
+                new PlacedShape(80, 20, new Rectangle(10, 2)),
+                new PlacedShape(75, 80, new Circle(1))));
+        ShapeIndex index = ShapeIndex.bulkLoad(shapes);
+        System.out.println("In window (0,0)-(30,30): " + describe(index.search(0, 0, 30, 30)));
+        System.out.println("2 nearest to (60, 55):   " + describe(index.nearest(60, 55, 2)));
+        index.insert(new PlacedShape(58, 58, new Rectangle(2, 2)));
+        index.remove(small);
+        System.out.println("After insert + remove:   " + describe(index.search(0, 0, 100, 100)) + ", size " + index.size());
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        // About 120 bytes per shape (objects + index) and the scan list
+        int fits = (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 160);
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : Math.min(10_000_000, fits);
+        benchmark(size);
+    }
+
+    private static String describe(List<PlacedShape> shapes) {
+        List<String> names = new ArrayList<>();
+        for (PlacedShape s : shapes) {
+            names.add(switch (s.shape()) {
+                case Circle c -> "Circle(r=" + c.radius + ")";
+                case Rectangle r -> "Rectangle(" + r.width + "x" + r.height + ")";
+            } + "@" + s.x() + "," + s.y());
+        }
+        return names.toString();
+    }
+
+    private static void benchmark(int size) throws Exception {
+        Random random = new Random(17);
+        List<PlacedShape> shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(randomShape(random));
+        }
+
+        long start = System.nanoTime();
+        ShapeIndex index = ShapeIndex.bulkLoad(shapes);
+        long bulkLoadMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Windows of 1/10,000 of the plane: ~size / 10,000 shapes each
+        double side = WORLD / 100;
+        double[][] windows = new double[1_000][];
+        for (int i = 0; i < windows.length; i++) {
+            double x = random.nextDouble() * (WORLD - side), y = random.nextDouble() * (WORLD - side);
+            windows[i] = new double[]{x, y, x + side, y + side};
+        }
+        // A scan reads every shape, so it runs on the first few inputs only
+        int scans = 10;
+        double[][] scanWindows = Arrays.copyOf(windows, scans);
+        long found = 0, scanFound = 0;
+        for (double[] w : scanWindows) {
+            scanFound += scanWindow(shapes, w);
+            found += index.search(w[0], w[1], w[2], w[3]).size();
+        }
+        boolean sameWindows = found == scanFound;
+        double scanWindowMicros = timePerQuery(scanWindows, w -> scanWindow(shapes, w));
+        double indexWindowMicros = timePerQuery(windows, w -> index.search(w[0], w[1], w[2], w[3]).size());
+
+        // 10 nearest shapes to random points
+        double[][] points = new double[1_000][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[]{random.nextDouble() * WORLD, random.nextDouble() * WORLD};
+        }
+        double[][] scanPoints = Arrays.copyOf(points, scans);
+        boolean sameNearest = true;
+        for (double[] p : scanPoints) {
+            // Equally distant shapes may come in any order, so the distances are compared
+            List<Double> expected = distances(scanNearest(shapes, p[0], p[1], 10), p);
+            List<Double> actual = distances(index.nearest(p[0], p[1], 10), p);
+            sameNearest &= expected.size() == Math.min(10, size) && expected.equals(actual);
+        }
+        double scanNearestMicros = timePerQuery(scanPoints, p -> scanNearest(shapes, p[0], p[1], 10).size());
+        double indexNearestMicros = timePerQuery(points, p -> index.nearest(p[0], p[1], 10).size());
+
+        // Parallel readers: queries only take the read lock
+        int threads = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        start = System.nanoTime();
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                long total = 0;
+                for (double[] w : windows) {
+                    total += index.search(w[0], w[1], w[2], w[3]).size();
+                }
+                return total;
+            }));
+        }
+        for (Future<Long> future : futures) {
+            future.get();
+        }
+        double parallelPerSecond = threads * windows.length / ((System.nanoTime() - start) / 1e9);
+        pool.shutdown();
+
+        // Incremental updates
+        int updates = 100_000;
+        List<PlacedShape> added = new ArrayList<>(updates);
+        for (int i = 0; i < updates; i++) {
+            added.add(randomShape(random));
+        }
+        start = System.nanoTime();
+        added.forEach(index::insert);
+        double insertMicros = (System.nanoTime() - start) / 1e3 / updates;
+        start = System.nanoTime();
+        boolean allRemoved = true;
+        for (PlacedShape shape : added) {
+            allRemoved &= index.remove(shape);
+        }
+        double removeMicros = (System.nanoTime() - start) / 1e3 / updates;
+
+        System.out.printf("%,d shapes on a %,.0f x %,.0f plane, R-tree height %d, bulk load %,d ms%n",
+                size, WORLD, WORLD, index.height(), bulkLoadMillis);
+        System.out.printf("Window query (~%d shapes) : scan %,10.0f µs, index %,8.1f µs, same result: %b%n",
+                scanFound / scans, scanWindowMicros, indexWindowMicros, sameWindows);
+        System.out.printf("10 nearest                : scan %,10.0f µs, index %,8.1f µs, same result: %b%n",
+                scanNearestMicros, indexNearestMicros, sameNearest);
+        System.out.printf("Window queries, %d readers : %,.0f queries/s (%d cores)%n",
+                threads, parallelPerSecond, Runtime.getRuntime().availableProcessors());
+        System.out.printf("Insert %.1f µs, remove %.1f µs per shape (%,d each), all removed: %b, size back to %,d%n",
+                insertMicros, removeMicros, updates, allRemoved, index.size());
+    }
+
+    private static PlacedShape randomShape(Random random) {
+        double x = random.nextDouble() * WORLD, y = random.nextDouble() * WORLD;
+        return new PlacedShape(x, y, random.nextBoolean()
+                ? new Circle(1 + random.nextDouble() * 10)
+                : new Rectangle(1 + random.nextDouble() * 10, 1 + random.nextDouble() * 10));
+    }
+
+    private static long scanWindow(List<PlacedShape> shapes, double[] w) {
+        long count = 0;
+        for (PlacedShape s : shapes) {
+            if (s.minX() <= w[2] && s.maxX() >= w[0] && s.minY() <= w[3] && s.maxY() >= w[1]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static List<PlacedShape> scanNearest(List<PlacedShape> shapes, double x, double y, int k) {
+        // Max-heap of the k best so far
+        PriorityQueue<PlacedShape> best = new PriorityQueue<>(
+                Comparator.comparingDouble((PlacedShape s) -> s.distanceTo(x, y)).reversed());
+        for (PlacedShape s : shapes) {
+            if (best.size() < k) {
+                best.add(s);
+            } else if (s.distanceTo(x, y) < best.peek().distanceTo(x, y)) {
+                best.poll();
+                best.add(s);
+            }
+        }
+        List<PlacedShape> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(s -> s.distanceTo(x, y)));
+        return result;
+    }
+
+    private static List<Double> distances(List<PlacedShape> shapes, double[] point) {
+        List<Double> distances = new ArrayList<>(shapes.size());
+        for (PlacedShape s : shapes) {
+            distances.add(s.distanceTo(point[0], point[1]));
+        }
+        return distances;
+    }
+
+    private interface Query {
+        long run(double[] input);
+    }
+
+    // Average µs per query, best of 5 runs over all inputs
+    private static double timePerQuery(double[][] inputs, Query query) {
+        return Bench.measure(() -> {
+            long total = 0;
+            for (double[] input : inputs) {
+                total += query.run(input);
+            }
+            return total;
+        }).nanos() / 1e3 / inputs.length;
+    }
+}
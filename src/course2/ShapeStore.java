@@ -0,0 +1,222 @@
+package course2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ 👉 Struct-of-arrays storage for the sealed Shape hierarchy of L2_Instanceof
+    - A List<Shape> is an array of pointers to objects spread over the heap; every area needs
+      a pointer chase plus an instanceof check
+    - Here every permitted subtype gets its own primitive columns: radius[] for circles,
+      width[] and height[] for rectangles. A batch is then one simple loop per column,
+      which the JIT can unroll and compile to SIMD instructions (auto-vectorization)
+    - Shapes are grouped by type; the original positions are kept, so toShapes() restores the order
+    - Because Shape is sealed, add() handles every subtype and a new one would not compile
+*/
+final class ShapeStore {
+    private double[] radius = new double[16];
+    private int[] circlePositions = new int[16];
+    private int circles;
+
+    private double[] width = new double[16];
+    private double[] height = new double[16];
+    private int[] rectanglePositions = new int[16];
+    private int rectangles;
+
+    // ---------------- Conversion from / to objects ----------------
+
+    static ShapeStore of(List<? extends Shape> shapes) {
+        ShapeStore store = new ShapeStore();
+        for (Shape shape : shapes) {
+            store.add(shape);
+        }
+        return store;
+    }
+
+    void add(Shape shape) {
+        switch (shape) {
+            case Circle c -> addCircle(c.radius);
+            case Rectangle r -> addRectangle(r.width, r.height);
+        }
+    }
+
+    void addCircle(double r) {
+        if (circles == radius.length) {
+            radius = Arrays.copyOf(radius, circles * 2);
+            circlePositions = Arrays.copyOf(circlePositions, circles * 2);
+        }
+        circlePositions[circles] = size();
+        radius[circles++] = r;
+    }
+
+    void addRectangle(double w, double h) {
+        if (rectangles == width.length) {
+            width = Arrays.copyOf(width, rectangles * 2);
+            height = Arrays.copyOf(height, rectangles * 2);
+            rectanglePositions = Arrays.copyOf(rectanglePositions, rectangles * 2);
+        }
+        rectanglePositions[rectangles] = size();
+        width[rectangles] = w;
+        height[rectangles++] = h;
+    }
+
+    // Back to objects, in the order they were added
+    List<Shape> toShapes() {
+        Shape[] shapes = new Shape[size()];
+        for (int i = 0; i < circles; i++) {
+            shapes[circlePositions[i]] = new Circle(radius[i]);
+        }
+        for (int i = 0; i < rectangles; i++) {
+            shapes[rectanglePositions[i]] = new Rectangle(width[i], height[i]);
+        }
+        return new ArrayList<>(Arrays.asList(shapes));
+    }
+
+    int size() {
+        return circles + rectangles;
+    }
+
+    int circleCount() {
+        return circles;
+    }
+
+    int rectangleCount() {
+        return rectangles;
+    }
+
+    // ---------------- Batch computations ----------------
+
+    /*
+     Element-wise loops (out[i] = f(column[i])) vectorize directly.
+     Sums are different: floating point addition is not associative, so the JIT must add in order
+     and cannot vectorize a single accumulator. Four independent accumulators break that chain.
+    */
+
+    double totalArea() {
+        return Math.PI * sumOfSquares(radius, circles) + sumOfProducts(width, height, rectangles);
+    }
+
+    double totalPerimeter() {
+        return 2 * Math.PI * sum(radius, circles) + 2 * (sum(width, rectangles) + sum(height, rectangles));
+    }
+
+    // Area of every shape, written in position order (out.length >= size())
+    void areas(double[] out) {
+        for (int i = 0; i < circles; i++) {
+            out[circlePositions[i]] = Math.PI * radius[i] * radius[i];
+        }
+        for (int i = 0; i < rectangles; i++) {
+            out[rectanglePositions[i]] = width[i] * height[i];
+        }
+    }
+
+    // Areas grouped by type, no scatter: circles first, then rectangles (fastest form)
+    void areasByType(double[] circleOut, double[] rectangleOut) {
+        for (int i = 0; i < circles; i++) {
+            circleOut[i] = Math.PI * radius[i] * radius[i];
+        }
+        for (int i = 0; i < rectangles; i++) {
+            rectangleOut[i] = width[i] * height[i];
+        }
+    }
+
+    // Width and height of the axis-aligned bounding box of every shape, in position order
+    void boundingBoxes(double[] widths, double[] heights) {
+        for (int i = 0; i < circles; i++) {
+            int p = circlePositions[i];
+            widths[p] = 2 * radius[i];
+            heights[p] = 2 * radius[i];
+        }
+        for (int i = 0; i < rectangles; i++) {
+            int p = rectanglePositions[i];
+            widths[p] = width[i];
+            heights[p] = height[i];
+        }
+    }
+
+    // Smallest box that fits every shape: {maxWidth, maxHeight}
+    double[] maxBoundingBox() {
+        double maxRadius = max(radius, circles);
+        return new double[]{Math.max(2 * maxRadius, max(width, rectangles)), Math.max(2 * maxRadius, max(height, rectangles))};
+    }
+
+    // Shapes with area > threshold; branch-free counting
+    int countLargerThan(double threshold) {
+        int count = 0;
+        double radiusSquared = threshold / Math.PI;
+        for (int i = 0; i < circles; i++) {
+            count += radius[i] * radius[i] > radiusSquared ? 1 : 0;
+        }
+        for (int i = 0; i < rectangles; i++) {
+            count += width[i] * height[i] > threshold ? 1 : 0;
+        }
+        return count;
+    }
+
+    // Scales every shape in place, e.g. zooming a drawing
+    void scale(double factor) {
+        for (int i = 0; i < circles; i++) {
+            radius[i] *= factor;
+        }
+        for (int i = 0; i < rectangles; i++) {
+            width[i] *= factor;
+            height[i] *= factor;
+        }
+    }
+
+    // ---------------- Loop kernels ----------------
+
+    private static double sum(double[] a, int n) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static double sumOfSquares(double[] a, int n) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += a[i] * a[i];
+            s1 += a[i + 1] * a[i + 1];
+            s2 += a[i + 2] * a[i + 2];
+            s3 += a[i + 3] * a[i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += a[i] * a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static double sumOfProducts(double[] a, double[] b, int n) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static double max(double[] a, int n) {
+        double m = 0; // sizes are never negative
+        for (int i = 0; i < n; i++) {
+            m = Math.max(m, a[i]);
+        }
+        return m;
+    }
+}
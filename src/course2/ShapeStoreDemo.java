@@ -0,0 +1,113 @@
+package course2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import benchmark.Bench;
+
+/*
+ 👉 ShapeStore (struct of arrays) vs List<Shape> (one object per shape)
+    1. Converting the L2_Instanceof shapes to columns and back
+    2. Benchmark: total area with an instanceof chain, a pattern switch and the column loops
+*/
+public class ShapeStoreDemo {
+
+    public static void main(String[] args) {
+        // 1. Objects -> columns -> objects
+        List<Shape> shapes = List.of(new Circle(5), new Rectangle(4, 6), new Circle(1), new Rectangle(2, 3));
+        ShapeStore store = ShapeStore.of(shapes);
+        System.out.printf("%d circles, %d rectangles, total area %.2f, perimeter %.2f%n",
+                store.circleCount(), store.rectangleCount(), store.totalArea(), store.totalPerimeter());
+
+        double[] areas = new double[store.size()];
+        store.areas(areas);
+        double[] widths = new double[store.size()];
+        double[] heights = new double[store.size()];
+        store.boundingBoxes(widths, heights);
+        for (int i = 0; i < store.size(); i++) {
+            System.out.printf("  shape %d: area %.2f, bounding box %.1f x %.1f%n", i, areas[i], widths[i], heights[i]);
+        }
+        double[] max = store.maxBoundingBox();
+        System.out.printf("Box that fits every shape: %.1f x %.1f, shapes larger than 20: %d%n",
+                max[0], max[1], store.countLargerThan(20));
+
+        List<Shape> back = store.toShapes();
+        System.out.println("Back to objects, same order: " + (back.get(0) instanceof Circle c && c.radius == 5
+                && back.get(1) instanceof Rectangle r && r.width == 4));
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        benchmark(size);
+    }
+
+    private static void benchmark(int size) {
+        Random random = new Random(11);
+        List<Shape> shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(random.nextBoolean()
+                    ? new Circle(1 + random.nextDouble() * 10)
+                    : new Rectangle(1 + random.nextDouble() * 10, 1 + random.nextDouble() * 10));
+        }
+        ShapeStore store = ShapeStore.of(shapes);
+
+        // Per object, like L2_Instanceof
+        long instanceofChain = Bench.best(() -> {
+            double total = 0;
+            for (Shape shape : shapes) {
+                if (shape instanceof Circle c) {
+                    total += Math.PI * c.radius * c.radius;
+                } else if (shape instanceof Rectangle r) {
+                    total += r.width * r.height;
+                }
+            }
+            return (long) total;
+        });
+        // Per object, exhaustive pattern switch like SealedDemo.getShapeInfo
+        long patternSwitch = Bench.best(() -> {
+            double total = 0;
+            for (Shape shape : shapes) {
+                total += switch (shape) {
+                    case Circle c -> Math.PI * c.radius * c.radius;
+                    case Rectangle r -> r.width * r.height;
+                };
+            }
+            return (long) total;
+        });
+        long columns = Bench.best(() -> (long) store.totalArea());
+
+        double[] circleAreas = new double[store.circleCount()];
+        double[] rectangleAreas = new double[store.rectangleCount()];
+        double[] out = new double[size]; // reused by every round, like the column arrays
+        long objectAreas = Bench.best(() -> {
+            for (int i = 0; i < size; i++) {
+                out[i] = switch (shapes.get(i)) {
+                    case Circle c -> Math.PI * c.radius * c.radius;
+                    case Rectangle r -> r.width * r.height;
+                };
+            }
+            return (long) out[size - 1];
+        });
+        long columnAreas = Bench.best(() -> {
+            store.areasByType(circleAreas, rectangleAreas);
+            return (long) circleAreas[0];
+        });
+
+        System.out.printf("%,d shapes (half circles, half rectangles)%n", size);
+        System.out.printf("Total area  - instanceof chain : %5d ms%n", instanceofChain);
+        System.out.printf("Total area  - pattern switch   : %5d ms%n", patternSwitch);
+        System.out.printf("Total area  - ShapeStore       : %5d ms%n", columns);
+        System.out.printf("Area array  - pattern switch   : %5d ms%n", objectAreas);
+        System.out.printf("Area array  - ShapeStore       : %5d ms%n", columnAreas);
+        System.out.println("Check: " + (Math.abs(totalByObjects(shapes) - store.totalArea()) < 1e-6 * store.totalArea()));
+    }
+
+    private static double totalByObjects(List<Shape> shapes) {
+        double total = 0;
+        for (Shape shape : shapes) {
+            total += shape instanceof Circle c ? Math.PI * c.radius * c.radius : ((Rectangle) shape).width * ((Rectangle) shape).height;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,97 @@
+package course3.L1_Inheritance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ 👉 Identity map for Humans: at most one Human object per (name, age, gender)
+    - Stored under a HumanKey snapshot, so the hash is computed once per key and never goes stale
+    - setName / setAge / setGender of a tracked Human re-index it right away: one remove and one put,
+      instead of searching the whole map for the entry. A setter that would make two tracked Humans
+      equal is undone and throws IllegalStateException
+    - A Human is tracked by at most one map. Writing the fields directly (human.name = ...) bypasses
+      the setters: call rekey(human) afterwards
+    - Not thread-safe, like HashMap
+*/
+final class HumanIdentityMap {
+    private final Map<HumanKey, Human> byKey;
+
+    HumanIdentityMap() {
+        this(16);
+    }
+
+    HumanIdentityMap(int expectedSize) {
+        byKey = HashMap.newHashMap(expectedSize);
+    }
+
+    // Returns the tracked Human equal to this one, or starts tracking this one and returns it
+    Human intern(Human human) {
+        if (human.identityMap == this) {
+            return human;
+        }
+        if (human.identityMap != null) {
+            throw new IllegalStateException(human + " is already tracked by another identity map");
+        }
+        HumanKey key = HumanKey.of(human);
+        Human existing = byKey.putIfAbsent(key, human);
+        if (existing != null) {
+            return existing;
+        }
+        human.identityMap = this;
+        human.indexedKey = key;
+        return human;
+    }
+
+    Human get(String name, int age, String gender) {
+        return byKey.get(new HumanKey(name, age, gender));
+    }
+
+    Human get(HumanKey key) {
+        return byKey.get(key);
+    }
+
+    // Is a Human equal to this one tracked (not necessarily the same object)?
+    boolean contains(Human human) {
+        HumanKey key = human.identityMap == this ? human.indexedKey : HumanKey.of(human);
+        return byKey.containsKey(key);
+    }
+
+    boolean remove(Human human) {
+        if (human.identityMap != this) {
+            return false;
+        }
+        byKey.remove(human.indexedKey);
+        human.identityMap = null;
+        human.indexedKey = null;
+        return true;
+    }
+
+    // Moves the Human to its current key; false (and nothing changed) when another Human has that key
+    boolean rekey(Human human) {
+        if (human.identityMap != this) {
+            throw new IllegalArgumentException(human + " is not tracked by this identity map");
+        }
+        HumanKey old = human.indexedKey;
+        if (old.matches(human)) {
+            return true;
+        }
+        HumanKey key = HumanKey.of(human);
+        Human existing = byKey.putIfAbsent(key, human);
+        if (existing != null) {
+            return false;
+        }
+        byKey.remove(old);
+        human.indexedKey = key;
+        return true;
+    }
+
+    int size() {
+        return byKey.size();
+    }
+
+    List<Human> humans() {
+        return new ArrayList<>(byKey.values());
+    }
+}
@@ -0,0 +1,70 @@
+package course3.L1_Inheritance;
+
+import java.util.Objects;
+
+/*
+ 👉 Immutable snapshot of what makes two Humans equal: name, age and gender
+    - The hash is computed once in the constructor; hashCode() only returns it
+    - equals() rejects on the hash first, then compares the cheapest field (age) before the strings
+    - Safe as a HashMap / HashSet key: unlike a Human, it cannot change while inside the map
+    - HumanKey.of(human).hashCode() == human.hashCode()
+*/
+final class HumanKey {
+    private final String name;
+    private final int age;
+    private final String gender;
+    private final int hash;
+
+    HumanKey(String name, int age, String gender) {
+        this.name = name;
+        this.age = age;
+        this.gender = gender;
+        this.hash = hash(name, age, gender);
+    }
+
+    static HumanKey of(Human human) {
+        return new HumanKey(human.name, human.age, human.gender);
+    }
+
+    // Objects.hash(name, age, gender) written out: 31 * (31 * (31 + h(name)) + age) + h(gender)
+    static int hash(String name, int age, String gender) {
+        return 31 * (31 * (31 + Objects.hashCode(name)) + age) + Objects.hashCode(gender);
+    }
+
+    String name() {
+        return name;
+    }
+
+    int age() {
+        return age;
+    }
+
+    String gender() {
+        return gender;
+    }
+
+    boolean matches(Human human) {
+        return age == human.age && Objects.equals(name, human.name) && Objects.equals(gender, human.gender);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HumanKey key)) return false;
+        return hash == key.hash && age == key.age && Objects.equals(name, key.name) && Objects.equals(gender, key.gender);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "HumanKey{" +
+                "name='" + name + '\'' +
+                ", age=" + age +
+                ", gender='" + gender + '\'' +
+                '}';
+    }
+}
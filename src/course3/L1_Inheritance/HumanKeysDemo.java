@@ -0,0 +1,198 @@
+package course3.L1_Inheritance;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import benchmark.Bench;
+
+/*
+ 👉 Value identity for the mutable Human: HumanKey snapshots and the HumanIdentityMap
+    1. A Human changed inside a HashSet gets lost; the identity map re-indexes it on setAge
+    2. Benchmark on 1M Humans: HashSet<Human> with the old equals/hashCode (getters + Objects.hash),
+       with the new ones, HashSet<HumanKey> and the HumanIdentityMap; then changing every age
+*/
+public class HumanKeysDemo {
+
+    // equals / hashCode as Human had them before: getters and Objects.hash(...)
+    private static final class GetterHashedHuman extends Human {
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Human human)) return false;
+            return getAge() == human.getAge() && Objects.equals(getName(), human.getName()) && Objects.equals(getGender(), human.getGender());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getName(), getAge(), getGender());
+        }
+    }
+
+    public static void main(String[] args) {
+        // 1. Mutating a key inside a HashSet vs inside the identity map
+        Human lucia = human(new Artist(), "Lucia", 23, "Female");
+        Set<Human> set = new HashSet<>(Set.of(lucia));
+        lucia.setAge(24);
+        System.out.println("HashSet still finds Lucia after setAge(24): " + set.contains(lucia));
+
+        HumanIdentityMap people = new HumanIdentityMap();
+        Human jack = people.intern(human(new Musician(), "Jack", 51, "Male"));
+        people.intern(lucia);
+        Human otherJack = human(new Musician(), "Jack", 51, "Male");
+        System.out.println("intern(another Jack, 51) returns the first one: " + (people.intern(otherJack) == jack));
+        jack.setAge(52);
+        System.out.println("After setAge(52): get(Jack, 52) = " + people.get("Jack", 52, "Male")
+                + ", get(Jack, 51) = " + people.get("Jack", 51, "Male"));
+        try {
+            lucia.setName("Jack");
+            lucia.setAge(52);
+            lucia.setGender("Male");
+        } catch (IllegalStateException e) {
+            System.out.println("Refused: " + e.getMessage() + ", Lucia is now " + lucia);
+        }
+        HumanKey key = HumanKey.of(jack);
+        System.out.println(key + " hash " + key.hashCode() + " == Human hash " + jack.hashCode()
+                + " == Objects.hash " + Objects.hash("Jack", 52, "Male"));
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        benchmark(size);
+    }
+
+    private static Human human(Human human, String name, int age, String gender) {
+        human.setName(name);
+        human.setAge(age);
+        human.setGender(gender);
+        return human;
+    }
+
+    private static void benchmark(int size) {
+        Random random = new Random(49);
+        Human[] humans = new Human[size];
+        GetterHashedHuman[] oldHumans = new GetterHashedHuman[size];
+        Human[] probes = new Human[size];              // equal objects, separate String instances
+        HumanKey[] keys = new HumanKey[size];
+        for (int i = 0; i < size; i++) {
+            String name = "Person" + random.nextInt(size / 4 + 1);
+            int age = random.nextInt(100);
+            String gender = random.nextBoolean() ? "Female" : "Male";
+            humans[i] = human(new Human(), name, age, gender);
+            oldHumans[i] = (GetterHashedHuman) human(new GetterHashedHuman(), name, age, gender);
+            probes[i] = human(new Human(), new String(name), age, new String(gender));
+            keys[i] = new HumanKey(new String(name), age, new String(gender));
+        }
+
+        Set<Human> oldSet = new HashSet<>();
+        Bench.PerOperation oldAdd = Bench.perOperation(size, () -> {
+            oldSet.clear();
+            for (Human h : oldHumans) {
+                oldSet.add(h);
+            }
+            return oldSet.size();
+        });
+        Bench.PerOperation oldContains = Bench.perOperation(size, () -> {
+            long found = 0;
+            for (Human h : probes) {
+                found += oldSet.contains(h) ? 1 : 0;
+            }
+            return found;
+        });
+
+        Set<Human> newSet = new HashSet<>();
+        Bench.PerOperation newAdd = Bench.perOperation(size, () -> {
+            newSet.clear();
+            for (Human h : humans) {
+                newSet.add(h);
+            }
+            return newSet.size();
+        });
+        Bench.PerOperation newContains = Bench.perOperation(size, () -> {
+            long found = 0;
+            for (Human h : probes) {
+                found += newSet.contains(h) ? 1 : 0;
+            }
+            return found;
+        });
+
+        Set<HumanKey> keySet = new HashSet<>();
+        Bench.PerOperation keyAdd = Bench.perOperation(size, () -> {
+            keySet.clear();
+            for (Human h : humans) {
+                keySet.add(HumanKey.of(h));
+            }
+            return keySet.size();
+        });
+        Bench.PerOperation keyContains = Bench.perOperation(size, () -> {
+            long found = 0;
+            for (HumanKey k : keys) {
+                found += keySet.contains(k) ? 1 : 0;
+            }
+            return found;
+        });
+
+        HumanIdentityMap[] map = {null};
+        Bench.PerOperation mapIntern = Bench.perOperation(size, () -> {
+            if (map[0] != null) {
+                for (Human h : humans) {
+                    map[0].remove(h);
+                }
+            }
+            map[0] = new HumanIdentityMap(size);
+            for (Human h : humans) {
+                map[0].intern(h);
+            }
+            return map[0].size();
+        });
+        HumanIdentityMap identityMap = map[0];
+        Bench.PerOperation mapContains = Bench.perOperation(size, () -> {
+            long found = 0;
+            for (HumanKey k : keys) {
+                found += identityMap.get(k) != null ? 1 : 0;
+            }
+            return found;
+        });
+
+        // Every Human gets a different age: remove / set / add on the HashSet vs setAge on tracked Humans
+        Human[] tracked = identityMap.humans().toArray(Human[]::new);
+        Set<Human> untrackedSet = new HashSet<>();
+        Human[] untracked = new Human[tracked.length];
+        for (int i = 0; i < tracked.length; i++) {
+            untracked[i] = human(new Human(), tracked[i].name, tracked[i].age, tracked[i].gender);
+            untrackedSet.add(untracked[i]);
+        }
+        Bench.PerOperation setChange = Bench.perOperation(tracked.length, () -> {
+            long failed = 0;
+            for (Human h : untracked) {
+                untrackedSet.remove(h);
+                h.setAge(h.age + 100); // every pass moves all ages up together: never a clash
+                failed += untrackedSet.add(h) ? 0 : 1;
+            }
+            return failed;
+        });
+        Bench.PerOperation mapChange = Bench.perOperation(tracked.length, () -> {
+            for (Human h : tracked) {
+                h.setAge(h.age + 100);
+            }
+            return identityMap.size();
+        });
+        boolean consistent = true;
+        for (Human h : tracked) {
+            consistent &= identityMap.get(h.name, h.age, h.gender) == h;
+        }
+
+        System.out.printf("%,d Humans, %,d distinct (ns per operation, bytes allocated per operation, best of 5)%n",
+                size, newSet.size());
+        System.out.printf("HashSet<Human>, old equals/hashCode : add %5.0f ns %4.0f B   contains %5.0f ns %4.0f B%n",
+                oldAdd.nanos(), oldAdd.bytes(), oldContains.nanos(), oldContains.bytes());
+        System.out.printf("HashSet<Human>, new equals/hashCode : add %5.0f ns %4.0f B   contains %5.0f ns %4.0f B%n",
+                newAdd.nanos(), newAdd.bytes(), newContains.nanos(), newContains.bytes());
+        System.out.printf("HashSet<HumanKey>                   : add %5.0f ns %4.0f B   contains %5.0f ns %4.0f B%n",
+                keyAdd.nanos(), keyAdd.bytes(), keyContains.nanos(), keyContains.bytes());
+        System.out.printf("HumanIdentityMap                    : add %5.0f ns %4.0f B   get      %5.0f ns %4.0f B%n",
+                mapIntern.nanos(), mapIntern.bytes(), mapContains.nanos(), mapContains.bytes());
+        System.out.printf("Change every age: HashSet remove + setAge + add %5.0f ns, tracked setAge %5.0f ns (map consistent: %b)%n",
+                setChange.nanos(), mapChange.nanos(), consistent);
+    }
+}
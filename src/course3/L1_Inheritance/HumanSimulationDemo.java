@@ -0,0 +1,64 @@
+package course3.L1_Inheritance;
+
+import java.util.concurrent.ForkJoinPool;
+
+import course3.L2_Polymorphism.AgentColumns;
+import course3.L2_Polymorphism.AgentSimulation;
+import course3.L2_Polymorphism.Species;
+
+/*
+ 👉 Artists and Musicians in the AgentSimulation of L2_Polymorphism
+    - The species (flyweight) holds what every Artist / Musician shares: how they speak and walk
+    - name and age live in the simulation's columns, not in one Human object per person
+*/
+public class HumanSimulationDemo {
+
+    enum HumanSpecies implements Species {
+        ARTIST(Human.WILL_SPEAK_NORMAL, 4),
+        MUSICIAN(" will speak calm and melodious", 5);
+
+        private final String speech;
+        private final int walkingSpeed;
+
+        HumanSpecies(String speech, int walkingSpeed) {
+            this.speech = speech;
+            this.walkingSpeed = walkingSpeed;
+        }
+
+        @Override
+        public String describe() {
+            return speech;
+        }
+
+        @Override
+        public void eat(AgentColumns agents, int from, int to, double hours) {
+            double[] energy = agents.energyColumn();
+            for (int i = from; i < to; i++) {
+                energy[i] = Math.min(100, energy[i] + 3 * hours);
+            }
+        }
+
+        // Humans walk at their species' pace, older people a little slower
+        @Override
+        public void run(AgentColumns agents, int from, int to, double hours) {
+            double[] position = agents.positionColumn();
+            for (int i = from; i < to; i++) {
+                position[i] += Math.max(1, walkingSpeed - agents.age(i) / 30) * hours;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        AgentSimulation simulation = new AgentSimulation(ForkJoinPool.commonPool());
+        simulation.add(HumanSpecies.ARTIST, "Lucia", 23, 0);
+        simulation.add(HumanSpecies.MUSICIAN, "Jack", 51, 0);
+        for (int hour = 0; hour < 3; hour++) {
+            simulation.tick(1);
+        }
+        for (HumanSpecies species : HumanSpecies.values()) {
+            AgentColumns people = simulation.population(species);
+            System.out.printf("%s%s, walked %.0f km in %d ticks.%n", simulation.name(species, 0), species.describe(),
+                    people.position(0), simulation.ticks());
+        }
+    }
+}
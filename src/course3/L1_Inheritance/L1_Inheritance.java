@@ -8,15 +8,22 @@ class Human {
     int age;
     String gender;
 
+    // Set while this Human is in a HumanIdentityMap: the map and the key it is stored under
+    HumanIdentityMap identityMap;
+    HumanKey indexedKey;
+
+    // Cheapest field first: age is one int compare, names and genders compare characters
     @Override
     public boolean equals(Object o) {
+        if (this == o) return true;
         if (!(o instanceof Human human)) return false;
-        return getAge() == human.getAge() && Objects.equals(getName(), human.getName()) && Objects.equals(getGender(), human.getGender());
+        return age == human.age && Objects.equals(name, human.name) && Objects.equals(gender, human.gender);
     }
 
+    // Same value as Objects.hash(name, age, gender), without the varargs array
     @Override
     public int hashCode() {
-        return Objects.hash(getName(), getAge(), getGender());
+        return HumanKey.hash(name, age, gender);
     }
 
     @Override
@@ -36,7 +43,13 @@ class Human {
     }
 
     public void setName(String name) {
+        String previous = this.name;
         this.name = name;
+        if (identityMap != null && !identityMap.rekey(this)) {
+            String clash = toString();
+            this.name = previous;
+            throw new IllegalStateException("The identity map already has " + clash);
+        }
     }
 
     public int getAge() {
@@ -44,7 +57,13 @@ class Human {
     }
 
     public void setAge(int age) {
+        int previous = this.age;
         this.age = age;
+        if (identityMap != null && !identityMap.rekey(this)) {
+            String clash = toString();
+            this.age = previous;
+            throw new IllegalStateException("The identity map already has " + clash);
+        }
     }
 
     public String getGender() {
@@ -52,7 +71,13 @@ class Human {
     }
 
     public void setGender(String gender) {
+        String previous = this.gender;
         this.gender = gender;
+        if (identityMap != null && !identityMap.rekey(this)) {
+            String clash = toString();
+            this.gender = previous;
+            throw new IllegalStateException("The identity map already has " + clash);
+        }
     }
 
     // Common methods for all humans
@@ -0,0 +1,97 @@
+package course3.L2_Polymorphism;
+
+import java.util.Arrays;
+
+/*
+ 👉 Per-agent state of one species as columns (struct of arrays)
+    - An agent is a row number, not an object: minimumSpeed[i], age[i], position[i], ...
+    - Names are ids into the simulation's name table, so equal names are stored once
+    - Columns stay dense: remove() moves the last row into the hole, and the arrays are
+      kept and reused by the next add() (a pool without per-agent objects)
+*/
+public final class AgentColumns {
+    final Species species;
+    int[] nameId;
+    int[] age;
+    int[] minimumSpeed;
+    double[] position;
+    double[] energy;
+    private int size;
+
+    AgentColumns(Species species, int capacity) {
+        this.species = species;
+        this.nameId = new int[capacity];
+        this.age = new int[capacity];
+        this.minimumSpeed = new int[capacity];
+        this.position = new double[capacity];
+        this.energy = new double[capacity];
+    }
+
+    public Species species() {
+        return species;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Adds a row and returns its index
+    int add(int name, int age, int minimumSpeed, double energy) {
+        if (size == this.age.length) {
+            int capacity = Math.max(16, size * 2);
+            nameId = Arrays.copyOf(nameId, capacity);
+            this.age = Arrays.copyOf(this.age, capacity);
+            this.minimumSpeed = Arrays.copyOf(this.minimumSpeed, capacity);
+            position = Arrays.copyOf(position, capacity);
+            this.energy = Arrays.copyOf(this.energy, capacity);
+        }
+        nameId[size] = name;
+        this.age[size] = age;
+        this.minimumSpeed[size] = minimumSpeed;
+        position[size] = 0;
+        this.energy[size] = energy;
+        return size++;
+    }
+
+    // Removes a row; the last row takes its index
+    void remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int last = --size;
+        nameId[index] = nameId[last];
+        age[index] = age[last];
+        minimumSpeed[index] = minimumSpeed[last];
+        position[index] = position[last];
+        energy[index] = energy[last];
+    }
+
+    // Column access for species behaviour
+    public int minimumSpeed(int i) {
+        return minimumSpeed[i];
+    }
+
+    public int age(int i) {
+        return age[i];
+    }
+
+    public double position(int i) {
+        return position[i];
+    }
+
+    public double energy(int i) {
+        return energy[i];
+    }
+
+    public int[] minimumSpeedColumn() {
+        return minimumSpeed;
+    }
+
+    public double[] positionColumn() {
+        return position;
+    }
+
+    public double[] energyColumn() {
+        return energy;
+    }
+}
@@ -0,0 +1,113 @@
+package course3.L2_Polymorphism;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ 👉 Agent simulation over flyweight species and columnar state
+    - One AgentColumns per species; the Species object is the only per-type object
+    - tick(): every species is cut into chunks and each chunk runs eat() then run() as a
+      fork/join task, so all cores work and each loop only sees one species (no virtual calls per agent)
+    - No objects are created per agent or per tick: a tick allocates only its task objects
+    - add/remove must not run concurrently with tick()
+*/
+public final class AgentSimulation {
+    private static final int CHUNK = 16_384;
+
+    private final ForkJoinPool pool;
+    private final Map<Species, AgentColumns> populations = new LinkedHashMap<>();
+    private final Map<Species, Long> lastTickNanos = new LinkedHashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private long ticks;
+
+    public AgentSimulation(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Adds an agent and returns its row in the species' columns (allocates only when a column grows)
+    public int add(Species species, String name, int age, int minimumSpeed) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            nameIds.put(name, id);
+        }
+        AgentColumns columns = populations.get(species);
+        if (columns == null) {
+            columns = new AgentColumns(species, 1024);
+            populations.put(species, columns);
+        }
+        return columns.add(id, age, minimumSpeed, 100);
+    }
+
+    // Removes the agent in this row; the species' last agent moves into the row
+    public void remove(Species species, int row) {
+        populations.get(species).remove(row);
+    }
+
+    public AgentColumns population(Species species) {
+        return populations.get(species);
+    }
+
+    public String name(Species species, int row) {
+        return names.get(populations.get(species).nameId[row]);
+    }
+
+    public int size() {
+        int size = 0;
+        for (AgentColumns columns : populations.values()) {
+            size += columns.size();
+        }
+        return size;
+    }
+
+    public long ticks() {
+        return ticks;
+    }
+
+    // Advances every agent by the given time
+    public void tick(double hours) {
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (AgentColumns columns : populations.values()) {
+            for (int from = 0; from < columns.size(); from += CHUNK) {
+                int start = from, end = Math.min(columns.size(), from + CHUNK);
+                tasks.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        long begin = System.nanoTime();
+                        columns.species.eat(columns, start, end, hours);
+                        columns.species.run(columns, start, end, hours);
+                        record(columns.species, System.nanoTime() - begin);
+                    }
+                });
+            }
+        }
+        lastTickNanos.replaceAll((species, nanos) -> 0L);
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        ticks++;
+    }
+
+    private void record(Species species, long nanos) {
+        synchronized (lastTickNanos) {
+            lastTickNanos.merge(species, nanos, Long::sum);
+        }
+    }
+
+    // CPU time of the last tick per species (summed over all chunks)
+    public Map<Species, Long> lastTickNanos() {
+        synchronized (lastTickNanos) {
+            return new LinkedHashMap<>(lastTickNanos);
+        }
+    }
+}
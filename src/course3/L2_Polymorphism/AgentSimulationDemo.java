@@ -0,0 +1,152 @@
+package course3.L2_Polymorphism;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ 👉 AgentSimulation (flyweight species + columns) vs a fresh object per agent per tick
+    1. A few agents: shared species behaviour, per-agent state in columns, removal reuses rows
+    2. Benchmark: ticks/s and allocation rate for 10M agents (fewer when the heap is too small:
+       run with -Xmx3g for the full size)
+*/
+public class AgentSimulationDemo {
+
+    public static void main(String[] args) {
+        // 1. Three agents, one tick of two hours
+        AgentSimulation simulation = new AgentSimulation(ForkJoinPool.commonPool());
+        simulation.add(AnimalSpecies.CAT, "Tom", 3, 24);
+        simulation.add(AnimalSpecies.ELEPHANT, "Dumbo", 12, 20);
+        simulation.add(AnimalSpecies.CHEETAH, "Flash", 5, 100);
+        simulation.tick(2);
+        for (AnimalSpecies species : AnimalSpecies.values()) {
+            AgentColumns agents = simulation.population(species);
+            System.out.printf("%-8s %-6s ran %5.1f km, energy %5.1f | %s%n", species, simulation.name(species, 0),
+                    agents.position(0), agents.energy(0), species.describe());
+        }
+        simulation.add(AnimalSpecies.CAT, "Kitty", 1, 20);
+        simulation.remove(AnimalSpecies.CAT, 0); // Kitty moves into Tom's row
+        System.out.println("After removing Tom, cat row 0 is " + simulation.name(AnimalSpecies.CAT, 0));
+        try {
+            simulation.remove(AnimalSpecies.CAT, 1); // only row 0 is left
+        } catch (IndexOutOfBoundsException e) {
+            System.out.println("Removing cat row 1: " + e.getMessage());
+        }
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int fits = (int) Math.min(10_000_000, Runtime.getRuntime().maxMemory() / 200);
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : fits;
+        benchmark(size);
+    }
+
+    // ---------------- Baseline: fresh objects every tick ----------------
+
+    // Immutable agent state; each tick creates a new Animal and a new AnimalState per agent
+    record AnimalState(Animal animal, String name, int age, double position, double energy) {
+    }
+
+    private static AnimalState next(AnimalState s, double hours) {
+        Animal animal = switch (s.animal()) {
+            case Cat c -> new Cat();
+            case Elephant e -> new Elephant();
+            default -> new Cheetah();
+        };
+        animal.setMinimumSpeed(s.animal().getMinimumSpeed());
+        AnimalSpecies species = species(animal);
+        double food = switch (species) {
+            case CAT -> 6;
+            case ELEPHANT -> 4;
+            case CHEETAH -> 8;
+        };
+        double cost = switch (species) {
+            case CAT -> 0.04;
+            case ELEPHANT -> 0.08;
+            case CHEETAH -> 0.06;
+        };
+        double energy = Math.min(100, s.energy() + food * hours);
+        double km = animal.getMinimumSpeed() * hours;
+        return new AnimalState(animal, s.name(), s.age(), s.position() + km, Math.max(0, energy - km * cost));
+    }
+
+    private static AnimalSpecies species(Animal animal) {
+        return animal instanceof Cat ? AnimalSpecies.CAT : animal instanceof Elephant ? AnimalSpecies.ELEPHANT : AnimalSpecies.CHEETAH;
+    }
+
+    private static void benchmark(int size) {
+        String[] names = {"Tom", "Dumbo", "Flash", "Kitty", "Jumbo", "Spot"};
+        int ticks = 5;
+        double hours = 0.5;
+
+        Random random = new Random(8);
+        AnimalState[] states = new AnimalState[size];
+        for (int i = 0; i < size; i++) {
+            Animal animal = switch (random.nextInt(3)) {
+                case 0 -> new Cat();
+                case 1 -> new Elephant();
+                default -> new Cheetah();
+            };
+            animal.setMinimumSpeed(10 + random.nextInt(90));
+            states[i] = new AnimalState(animal, names[random.nextInt(names.length)], random.nextInt(20), 0, 100);
+        }
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int t = 0; t < ticks; t++) {
+            Arrays.parallelSetAll(states, i -> next(states[i], hours));
+        }
+        double objectSeconds = (System.nanoTime() - start) / 1e9;
+        long objectBytes = allocatedBytes() - allocated;
+        double objectCheck = states[size / 2].position();
+        Arrays.fill(states, null); // free the objects before building the columns
+
+        random = new Random(8);
+        AgentSimulation simulation = new AgentSimulation(ForkJoinPool.commonPool());
+        for (int i = 0; i < size; i++) {
+            AnimalSpecies species = AnimalSpecies.values()[random.nextInt(3)];
+            simulation.add(species, names[random.nextInt(names.length)], random.nextInt(20), 10 + random.nextInt(90));
+        }
+        simulation.tick(hours); // warm-up
+        allocated = allocatedBytes();
+        start = System.nanoTime();
+        for (int t = 0; t < ticks; t++) {
+            simulation.tick(hours);
+        }
+        double columnSeconds = (System.nanoTime() - start) / 1e9;
+        long columnBytes = allocatedBytes() - allocated;
+
+        // Churn: up to 1M cheetahs leave and as many join, reusing the rows
+        allocated = allocatedBytes();
+        int churn = Math.min(1_000_000, simulation.population(AnimalSpecies.CHEETAH).size());
+        for (int i = 0; i < churn; i++) {
+            simulation.remove(AnimalSpecies.CHEETAH, 0);
+        }
+        for (int i = 0; i < churn; i++) {
+            simulation.add(AnimalSpecies.CHEETAH, names[i % names.length], 1, 110);
+        }
+        long churnBytes = allocatedBytes() - allocated;
+
+        System.out.printf("%,d agents, %d ticks, %d cores%n", size, ticks, Runtime.getRuntime().availableProcessors());
+        System.out.printf("Fresh objects per tick : %6.1f ticks/s, %,7.0f MB/s allocated (%,d bytes per agent per tick)%n",
+                ticks / objectSeconds, objectBytes / objectSeconds / 1e6, objectBytes / ((long) size * ticks));
+        System.out.printf("Flyweights + columns   : %6.1f ticks/s, %,7.0f MB/s allocated (%,d bytes per tick)%n",
+                ticks / columnSeconds, columnBytes / columnSeconds / 1e6, columnBytes / ticks);
+        System.out.printf("Remove + add %,d agents: %,d bytes allocated%n", churn, churnBytes);
+        System.out.println("CPU time per species in the last tick (ms): " + millis(simulation));
+        blackhole += objectCheck;
+    }
+
+    private static String millis(AgentSimulation simulation) {
+        StringBuilder sb = new StringBuilder();
+        simulation.lastTickNanos().forEach((species, nanos) ->
+                sb.append(sb.isEmpty() ? "" : ", ").append(species.name()).append('=').append(nanos / 1_000_000));
+        return sb.toString();
+    }
+
+    private static double blackhole;
+
+    // Bytes allocated by all threads so far (the tick runs on the fork/join pool)
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,51 @@
+package course3.L2_Polymorphism;
+
+/*
+ 👉 The animals of OverridingDemo as flyweights
+    - Same behaviour as the class hierarchy, but stored once per species:
+      Cat eats like a DomesticAnimal plus meat, Elephant overrides the WildAnimal diet,
+      Cheetah inherits it unchanged
+    - eat(): energy goes up by the species' food per hour (max 100)
+    - run(): position goes up by minimumSpeed, running costs energy in proportion to speed
+*/
+enum AnimalSpecies implements Species {
+    CAT("I am a domestic animal, I eat vegetables. I am a cat, will eat meat as well.", 6, 0.04),
+    ELEPHANT("I am an elephant, will eat fruits as well.", 4, 0.08),
+    CHEETAH("I am a wild animal, I eat meat.", 8, 0.06);
+
+    private final String diet;
+    private final double foodPerHour;
+    private final double energyPerKm;
+
+    AnimalSpecies(String diet, double foodPerHour, double energyPerKm) {
+        this.diet = diet;
+        this.foodPerHour = foodPerHour;
+        this.energyPerKm = energyPerKm;
+    }
+
+    @Override
+    public String describe() {
+        return diet;
+    }
+
+    @Override
+    public void eat(AgentColumns agents, int from, int to, double hours) {
+        double[] energy = agents.energyColumn();
+        double food = foodPerHour * hours;
+        for (int i = from; i < to; i++) {
+            energy[i] = Math.min(100, energy[i] + food);
+        }
+    }
+
+    @Override
+    public void run(AgentColumns agents, int from, int to, double hours) {
+        int[] speed = agents.minimumSpeedColumn();
+        double[] position = agents.positionColumn();
+        double[] energy = agents.energyColumn();
+        for (int i = from; i < to; i++) {
+            double km = speed[i] * hours;
+            position[i] += km;
+            energy[i] = Math.max(0, energy[i] - km * energyPerKm);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package course3.L2_Polymorphism;
+
+/*
+ 👉 Flyweight: the behaviour shared by every agent of one species
+    - One instance per species (e.g. an enum constant), however many agents there are;
+      Cat/Elephant/Cheetah objects repeat the same behaviour in every single object
+    - Methods work on a slice [from, to) of the species' columns instead of on one object,
+      so the simulation can hand out slices to different threads
+*/
+public interface Species {
+
+    String name();
+
+    // Text shared by all agents of the species, like the messages of eat()
+    String describe();
+
+    void eat(AgentColumns agents, int from, int to, double hours);
+
+    void run(AgentColumns agents, int from, int to, double hours);
+}
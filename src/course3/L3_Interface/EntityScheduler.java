@@ -0,0 +1,259 @@
+package course3.L3_Interface;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ 👉 Parallel scheduler for behaviours declared on capability interfaces (Human, SocialAnimal)
+    - Entities are grouped by concrete class (Artist, Musician); their data lives in named
+      double[] columns per class ("energy", "mood", ...)
+    - A behaviour is registered for an interface and declares the columns it reads and writes.
+      It becomes one group per concrete class that implements the interface: (Artist, work), (Musician, work), ...
+    - Two groups conflict when they work on the same class and one writes a column the other uses.
+      Groups are placed in stages: a group runs after every earlier group it conflicts with,
+      everything in the same stage runs at the same time
+    - Every group is split into chunks that run as fork/join tasks, so idle threads steal work
+      from busy ones (work stealing)
+    - Per-group timing: time summed over the group's chunks (includes waiting for a core
+      when there are more threads than cores). It belongs to the (class, behaviour) pair, so it
+      survives the schedule being rebuilt by add() or behaviour()
+    - Adding entities or behaviours must not happen during tick()
+*/
+final class EntityScheduler {
+    private static final int CHUNK = 8_192;
+
+    // Runs over the entities [from, to) of one concrete class
+    @FunctionalInterface
+    interface Behaviour<T> {
+        void run(List<? extends T> entities, Columns columns, int from, int to);
+    }
+
+    // The columns of one entity class, limited to what the behaviour declared
+    static final class Columns {
+        private final Map<String, double[]> columns;
+        private final Set<String> declared;
+        private final String behaviour;
+
+        private Columns(Map<String, double[]> columns, Set<String> declared, String behaviour) {
+            this.columns = columns;
+            this.declared = declared;
+            this.behaviour = behaviour;
+        }
+
+        double[] get(String name) {
+            if (!declared.contains(name)) {
+                throw new IllegalStateException(behaviour + " did not declare column " + name);
+            }
+            return columns.get(name);
+        }
+    }
+
+    record GroupStats(String group, int stage, int entities, long runs, double lastMillis, double averageMillis) {
+    }
+
+    private static final class EntityClass {
+        final Class<?> type;
+        final List<Object> entities = new ArrayList<>();
+        final Map<String, double[]> columns = new LinkedHashMap<>();
+        final Map<BehaviourSpec, Timing> timings = new IdentityHashMap<>();
+
+        EntityClass(Class<?> type, Set<String> names) {
+            this.type = type;
+            for (String name : names) {
+                columns.put(name, new double[16]);
+            }
+        }
+    }
+
+    private record BehaviourSpec(String name, Class<?> capability, Set<String> reads, Set<String> writes,
+                                 Behaviour<?> action) {
+    }
+
+    // Timing of one (class, behaviour) pair, shared by every Group built for that pair
+    private static final class Timing {
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder lastNanos = new LongAdder();
+        long runs;
+    }
+
+    private static final class Group {
+        final String name;
+        final EntityClass entities;
+        final BehaviourSpec behaviour;
+        final Columns columns;
+        final Timing timing;
+        int stage;
+
+        Group(EntityClass entities, BehaviourSpec behaviour) {
+            this.name = entities.type.getSimpleName() + "." + behaviour.name();
+            this.entities = entities;
+            this.behaviour = behaviour;
+            Set<String> declared = new HashSet<>(behaviour.reads());
+            declared.addAll(behaviour.writes());
+            this.columns = new Columns(entities.columns, declared, name);
+            this.timing = entities.timings.computeIfAbsent(behaviour, b -> new Timing());
+        }
+
+        boolean conflictsWith(Group other) {
+            return entities == other.entities
+                    && (overlaps(behaviour.writes(), other.behaviour.reads())
+                    || overlaps(behaviour.writes(), other.behaviour.writes())
+                    || overlaps(behaviour.reads(), other.behaviour.writes()));
+        }
+
+        private static boolean overlaps(Set<String> a, Set<String> b) {
+            for (String s : a) {
+                if (b.contains(s)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void run(int from, int to) {
+            ((Behaviour) behaviour.action()).run(entities.entities, columns, from, to);
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final Set<String> columnNames;
+    private final Map<Class<?>, EntityClass> classes = new LinkedHashMap<>();
+    private final List<BehaviourSpec> behaviours = new ArrayList<>();
+    private List<List<Group>> stages;
+
+    EntityScheduler(ForkJoinPool pool, String... columns) {
+        this.pool = pool;
+        this.columnNames = Set.of(columns);
+    }
+
+    // Adds an entity and returns its row among the entities of its class; every column starts at 0
+    int add(Object entity) {
+        EntityClass entityClass = classes.get(entity.getClass());
+        if (entityClass == null) {
+            entityClass = new EntityClass(entity.getClass(), columnNames);
+            classes.put(entity.getClass(), entityClass);
+            stages = null; // a new class brings new groups
+        }
+        int row = entityClass.entities.size();
+        entityClass.entities.add(entity);
+        entityClass.columns.replaceAll((name, column) -> row < column.length ? column : Arrays.copyOf(column, column.length * 2));
+        return row;
+    }
+
+    // The current array of a column. add() replaces it with a bigger copy when the class outgrows it,
+    // so an array fetched before add() may be stale: fetch it again after adding entities
+    double[] column(Class<?> type, String name) {
+        return classes.get(type).columns.get(name);
+    }
+
+    <T> void behaviour(String name, Class<T> capability, Set<String> reads, Set<String> writes, Behaviour<? super T> action) {
+        for (String column : reads) {
+            requireColumn(column);
+        }
+        for (String column : writes) {
+            requireColumn(column);
+        }
+        behaviours.add(new BehaviourSpec(name, capability, Set.copyOf(reads), Set.copyOf(writes), action));
+        stages = null;
+    }
+
+    private void requireColumn(String name) {
+        if (!columnNames.contains(name)) {
+            throw new IllegalArgumentException("Unknown column " + name);
+        }
+    }
+
+    // Runs every behaviour once over all entities that have the capability
+    void tick() {
+        for (List<Group> stage : schedule()) {
+            List<RecursiveAction> tasks = new ArrayList<>();
+            for (Group group : stage) {
+                Timing timing = group.timing;
+                timing.lastNanos.reset();
+                timing.runs++;
+                int size = group.entities.entities.size();
+                for (int from = 0; from < size; from += CHUNK) {
+                    int start = from, end = Math.min(size, from + CHUNK);
+                    tasks.add(new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            long begin = System.nanoTime();
+                            group.run(start, end);
+                            long nanos = System.nanoTime() - begin;
+                            timing.lastNanos.add(nanos);
+                            timing.totalNanos.add(nanos);
+                        }
+                    });
+                }
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+    }
+
+    // Group names per stage, in execution order
+    List<List<String>> plan() {
+        List<List<String>> plan = new ArrayList<>();
+        for (List<Group> stage : schedule()) {
+            plan.add(stage.stream().map(group -> group.name).toList());
+        }
+        return plan;
+    }
+
+    List<GroupStats> stats() {
+        List<GroupStats> stats = new ArrayList<>();
+        for (List<Group> stage : schedule()) {
+            for (Group group : stage) {
+                Timing timing = group.timing;
+                stats.add(new GroupStats(group.name, group.stage, group.entities.entities.size(), timing.runs,
+                        timing.lastNanos.sum() / 1e6, timing.runs == 0 ? 0 : timing.totalNanos.sum() / 1e6 / timing.runs));
+            }
+        }
+        return stats;
+    }
+
+    // One group per (behaviour, class with the capability); stage = 1 + latest conflicting earlier group
+    private List<List<Group>> schedule() {
+        if (stages != null) {
+            return stages;
+        }
+        List<Group> groups = new ArrayList<>();
+        for (BehaviourSpec behaviour : behaviours) {
+            for (EntityClass entityClass : classes.values()) {
+                if (behaviour.capability().isAssignableFrom(entityClass.type)) {
+                    groups.add(new Group(entityClass, behaviour));
+                }
+            }
+        }
+        List<List<Group>> result = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            Group group = groups.get(i);
+            group.stage = 0;
+            for (int j = 0; j < i; j++) {
+                if (group.conflictsWith(groups.get(j))) {
+                    group.stage = Math.max(group.stage, groups.get(j).stage + 1);
+                }
+            }
+            while (result.size() <= group.stage) {
+                result.add(new ArrayList<>());
+            }
+            result.get(group.stage).add(group);
+        }
+        stages = result;
+        return result;
+    }
+}
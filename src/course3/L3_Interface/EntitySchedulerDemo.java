@@ -0,0 +1,183 @@
+package course3.L3_Interface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import benchmark.Bench;
+
+/*
+ 👉 EntityScheduler: Human and SocialAnimal behaviours run as parallel groups
+    1. A few Artists and Musicians: the real work()/speak()/introduce()/action() methods,
+       the stage plan, run counts that survive adding a behaviour, and what happens when a behaviour
+       uses a column it did not declare
+    2. Benchmark: one tick over 4M entities, calling every method entity by entity vs the scheduler
+       with 1, 2, 4 ... 64 threads in a ForkJoinPool (speed-up needs that many cores)
+*/
+public class EntitySchedulerDemo {
+
+    public static void main(String[] args) {
+        // 1. The methods of the interfaces, grouped per concrete class
+        ForkJoinPool pool = new ForkJoinPool(2);
+        EntityScheduler small = new EntityScheduler(pool, "energy");
+        small.add(new Artist());
+        small.add(new Musician());
+        small.add(new Artist());
+        small.behaviour("introduce", Human.class, Set.of(), Set.of(), (entities, columns, from, to) -> {
+            for (int i = from; i < to; i++) {
+                entities.get(i).introduce();
+            }
+        });
+        small.behaviour("work", Human.class, Set.of(), Set.of("energy"), (entities, columns, from, to) -> {
+            double[] energy = columns.get("energy");
+            for (int i = from; i < to; i++) {
+                entities.get(i).work();
+                energy[i] -= 1;
+            }
+        });
+        small.behaviour("action", SocialAnimal.class, Set.of(), Set.of("energy"), (entities, columns, from, to) -> {
+            double[] energy = columns.get("energy");
+            for (int i = from; i < to; i++) {
+                entities.get(i).action();
+                energy[i] += 2;
+            }
+        });
+        System.out.println("Stages: " + small.plan());
+        small.tick();
+        System.out.println("Artist energy: " + small.column(Artist.class, "energy")[0]
+                + ", Musician energy: " + small.column(Musician.class, "energy")[0]);
+
+        // A new behaviour rebuilds the stages; the timing of the existing groups carries over
+        small.behaviour("rest", Human.class, Set.of(), Set.of(), (entities, columns, from, to) -> {
+        });
+        small.tick();
+        for (EntityScheduler.GroupStats group : small.stats()) {
+            System.out.print(group.group() + " ran " + group.runs() + "x  ");
+        }
+        System.out.println();
+
+        small.behaviour("sneaky", Human.class, Set.of(), Set.of(), (entities, columns, from, to) -> columns.get("energy"));
+        try {
+            small.tick();
+        } catch (IllegalStateException e) {
+            // Rethrown by the pool, the original exception is the cause
+            System.out.println("Undeclared column: " + (e.getCause() != null ? e.getCause() : e).getMessage());
+        }
+        pool.shutdown();
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        benchmark(size);
+    }
+
+    private static final String[] COLUMNS = {"energy", "mood", "output", "words", "reputation"};
+
+    private static void benchmark(int size) {
+        Random random = new Random(48);
+        List<Object> entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entities.add(random.nextBoolean() ? new Artist() : new Musician());
+        }
+
+        // Entity by entity: every capability checked and called per object
+        double[] energy = new double[size], mood = new double[size], output = new double[size],
+                words = new double[size], reputation = new double[size];
+        long sequential = Bench.best(() -> {
+            for (int i = 0; i < size; i++) {
+                Object entity = entities.get(i);
+                if (entity instanceof Human) {
+                    output[i] += work(energy[i]);
+                    words[i] += speak(mood[i]);
+                    reputation[i] = introduce(reputation[i], output[i]);
+                }
+                if (entity instanceof SocialAnimal) {
+                    energy[i] = actionEnergy(energy[i]);
+                    mood[i] = actionMood(energy[i]);
+                }
+            }
+            return (long) reputation[size - 1];
+        });
+
+        System.out.printf("%,d entities, one tick = work + speak + introduce + action (ms, best of 5)%n", size);
+        System.out.printf("Entity by entity      : %5d%n", sequential);
+        long single = 0;
+        List<EntityScheduler.GroupStats> stats = List.of();
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            ForkJoinPool threadPool = new ForkJoinPool(threads);
+            EntityScheduler scheduler = newScheduler(threadPool, entities);
+            long millis = Bench.best(() -> {
+                scheduler.tick();
+                return 0;
+            });
+            if (threads == 1) {
+                single = millis;
+                stats = scheduler.stats();
+                System.out.println("Stages: " + scheduler.plan());
+            }
+            System.out.printf("Scheduler, %2d threads : %5d   speed-up %.2fx%n", threads, millis, (double) single / millis);
+            threadPool.shutdown();
+        }
+        System.out.printf("(%d cores available)%n", Runtime.getRuntime().availableProcessors());
+        System.out.println("Per group, 1 thread (ms summed over the chunks of the group):");
+        for (EntityScheduler.GroupStats group : stats) {
+            System.out.printf("  stage %d %-20s %,10d entities   last %6.1f   average %6.1f over %d runs%n",
+                    group.stage(), group.group(), group.entities(), group.lastMillis(), group.averageMillis(), group.runs());
+        }
+    }
+
+    // The same behaviours as above, on columns: work and speak share no written column with each other,
+    // introduce needs work's output and action rewrites what work and speak read
+    private static EntityScheduler newScheduler(ForkJoinPool pool, List<Object> entities) {
+        EntityScheduler scheduler = new EntityScheduler(pool, COLUMNS);
+        entities.forEach(scheduler::add);
+        scheduler.behaviour("work", Human.class, Set.of("energy"), Set.of("output"), (list, columns, from, to) -> {
+            double[] energy = columns.get("energy"), output = columns.get("output");
+            for (int i = from; i < to; i++) {
+                output[i] += work(energy[i]);
+            }
+        });
+        scheduler.behaviour("speak", Human.class, Set.of("mood"), Set.of("words"), (list, columns, from, to) -> {
+            double[] mood = columns.get("mood"), words = columns.get("words");
+            for (int i = from; i < to; i++) {
+                words[i] += speak(mood[i]);
+            }
+        });
+        scheduler.behaviour("introduce", Human.class, Set.of("output"), Set.of("reputation"), (list, columns, from, to) -> {
+            double[] output = columns.get("output"), reputation = columns.get("reputation");
+            for (int i = from; i < to; i++) {
+                reputation[i] = introduce(reputation[i], output[i]);
+            }
+        });
+        scheduler.behaviour("action", SocialAnimal.class, Set.of(), Set.of("energy", "mood"), (list, columns, from, to) -> {
+            double[] energy = columns.get("energy"), mood = columns.get("mood");
+            for (int i = from; i < to; i++) {
+                energy[i] = actionEnergy(energy[i]);
+                mood[i] = actionMood(energy[i]);
+            }
+        });
+        return scheduler;
+    }
+
+    private static double work(double energy) {
+        return Math.sqrt(energy + 1) * 0.5;
+    }
+
+    private static double speak(double mood) {
+        return mood > 0.5 ? 3 : 1;
+    }
+
+    private static double introduce(double reputation, double output) {
+        return reputation * 0.9 + Math.log1p(output);
+    }
+
+    private static double actionEnergy(double energy) {
+        return energy * 0.95 + 0.1;
+    }
+
+    private static double actionMood(double energy) {
+        return Math.sin(energy);
+    }
+}
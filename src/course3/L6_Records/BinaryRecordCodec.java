@@ -0,0 +1,439 @@
+package course3.L6_Records;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.RecordComponent;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import course3.L6_Records.RecordSchema.Component;
+import course3.L6_Records.RecordSchema.Kind;
+
+/*
+ 👉 Compact binary codec for records, derived from the record components
+    - No class descriptors: each field is written as (field id, wire type) + value, like Protocol Buffers
+    - Integers are zig-zag varints (small numbers take 1 byte), doubles 8 bytes, Strings length + UTF-8
+    - Default values (0, false, null) are not written at all
+    - Schema evolution: a field id is the component's position (1, 2, 3 ...) unless it is pinned with
+      @FieldId. Unknown ids are skipped when reading (removed components), and components missing
+      from the data get their default value (added components). Pin ids with @FieldId before
+      removing or reordering components.
+    - Reads straight from a ByteBuffer (heap or direct) without copying the message first;
+      readDouble/readLong/readString pick a single field out of a message without decoding the rest
+    - Supported component types: those of RecordSchema, enums are written by ordinal
+*/
+public final class BinaryRecordCodec<R extends Record> {
+
+    // Pins the wire id of a record component, so the component can be moved or others removed
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.RECORD_COMPONENT)
+    public @interface FieldId {
+        int value();
+    }
+
+    private static final int VARINT = 0, FIXED64 = 1, LENGTH_DELIMITED = 2, FIXED32 = 5;
+
+    // A record component plus its wire id and wire type
+    private record Field(int id, int wireType, Component component) {
+
+        Kind kind() {
+            return component.kind();
+        }
+
+        String name() {
+            return component.name();
+        }
+    }
+
+    // One codec per record class, created on first use
+    private static final ClassValue<BinaryRecordCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected BinaryRecordCodec<?> computeValue(Class<?> type) {
+            return new BinaryRecordCodec(type.asSubclass(Record.class));
+        }
+    };
+
+    private final Class<R> type;
+    private final RecordSchema<R> schema;
+    private final Field[] fields;            // in component order
+    private final Field[] fieldsById;        // index = field id
+
+    @SuppressWarnings("unchecked")
+    public static <R extends Record> BinaryRecordCodec<R> of(Class<R> type) {
+        return (BinaryRecordCodec<R>) CODECS.get(type);
+    }
+
+    private BinaryRecordCodec(Class<R> type) {
+        this.type = type;
+        this.schema = RecordSchema.of(type);
+        RecordComponent[] components = type.getRecordComponents();
+        this.fields = new Field[components.length];
+        int maxId = 0;
+        for (int i = 0; i < components.length; i++) {
+            FieldId pinned = components[i].getAnnotation(FieldId.class);
+            int id = pinned != null ? pinned.value() : i + 1;
+            if (id < 1) {
+                throw new IllegalArgumentException("Field id of " + components[i].getName() + " must be positive");
+            }
+            Component component = schema.component(i);
+            fields[i] = new Field(id, wireType(component.kind()), component);
+            maxId = Math.max(maxId, id);
+        }
+        this.fieldsById = new Field[maxId + 1];
+        for (Field field : fields) {
+            if (fieldsById[field.id] != null) {
+                throw new IllegalArgumentException("Duplicate field id " + field.id + " in " + type.getName());
+            }
+            fieldsById[field.id] = field;
+        }
+    }
+
+    // ---------------- Encoding ----------------
+
+    // Writes a length-prefixed message at the buffer's position (throws BufferOverflowException if it does not fit)
+    public void encode(R record, ByteBuffer out) {
+        writeVarint(out, encodedBodySize(record));
+        writeBody(record, out);
+    }
+
+    public byte[] encode(R record) {
+        int body = encodedBodySize(record);
+        ByteBuffer out = ByteBuffer.allocate(varintSize(body) + body);
+        writeVarint(out, body);
+        writeBody(record, out);
+        return out.array();
+    }
+
+    // Size of the message without its length prefix
+    public int encodedBodySize(R record) {
+        int size = 0;
+        for (Field field : fields) {
+            Object value = field.component.get(record);
+            if (isDefault(field, value)) {
+                continue;
+            }
+            size += varintSize(field.id << 3 | field.wireType) + valueSize(field, value);
+        }
+        return size;
+    }
+
+    private void writeBody(R record, ByteBuffer out) {
+        for (Field field : fields) {
+            Object value = field.component.get(record);
+            if (isDefault(field, value)) {
+                continue;
+            }
+            writeVarint(out, field.id << 3 | field.wireType);
+            switch (field.kind()) {
+                case BOOLEAN -> out.put((byte) ((Boolean) value ? 1 : 0)); // a boxed FALSE is written too
+                case BYTE -> writeVarint(out, zigZag((Byte) value));
+                case SHORT -> writeVarint(out, zigZag((Short) value));
+                case CHAR -> writeVarint(out, (Character) value);
+                case INT -> writeVarint(out, zigZag((Integer) value));
+                case LONG -> writeVarint(out, zigZag((Long) value));
+                case FLOAT -> out.putFloat((Float) value);
+                case DOUBLE -> out.putDouble((Double) value);
+                case STRING -> writeString(out, (String) value);
+                case ENUM -> writeVarint(out, ((Enum<?>) value).ordinal());
+                case RECORD -> {
+                    BinaryRecordCodec<Record> nested = nested(field);
+                    writeVarint(out, nested.encodedBodySize((Record) value));
+                    nested.writeBody((Record) value, out);
+                }
+            }
+        }
+    }
+
+    private int valueSize(Field field, Object value) {
+        return switch (field.kind()) {
+            case BOOLEAN -> 1;
+            case BYTE -> varintSize(zigZag((Byte) value));
+            case SHORT -> varintSize(zigZag((Short) value));
+            case CHAR -> varintSize((Character) value);
+            case INT -> varintSize(zigZag((Integer) value));
+            case LONG -> varintSize(zigZag((Long) value));
+            case FLOAT -> 4;
+            case DOUBLE -> 8;
+            case STRING -> {
+                int length = utf8Length((String) value);
+                yield varintSize(length) + length;
+            }
+            case ENUM -> varintSize(((Enum<?>) value).ordinal());
+            case RECORD -> {
+                int length = nested(field).encodedBodySize((Record) value);
+                yield varintSize(length) + length;
+            }
+        };
+    }
+
+    // ---------------- Decoding ----------------
+
+    // Reads one length-prefixed message starting at the buffer's position and advances past it
+    public R decode(ByteBuffer in) {
+        int length = (int) readVarint(in);
+        int end = in.position() + length;
+        R record = decodeBody(in, end);
+        in.position(end);
+        return record;
+    }
+
+    public R decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    private R decodeBody(ByteBuffer in, int end) {
+        Object[] args = schema.newArguments();
+        while (in.position() < end) {
+            int key = (int) readVarint(in);
+            int id = key >>> 3;
+            int wireType = key & 7;
+            Field field = id < fieldsById.length ? fieldsById[id] : null;
+            if (field == null || field.wireType != wireType) {
+                skip(in, wireType); // removed component or changed type
+                continue;
+            }
+            args[field.component.index()] = readValue(field, in);
+        }
+        if (in.position() != end) {
+            throw new IllegalArgumentException("Corrupt " + type.getSimpleName() + " message");
+        }
+        return schema.construct(args); // e.g. Product's compact constructor rejects a negative price
+    }
+
+    private Object readValue(Field field, ByteBuffer in) {
+        return switch (field.kind()) {
+            case BOOLEAN -> readVarint(in) != 0;
+            case BYTE -> (byte) unZigZag(readVarint(in));
+            case SHORT -> (short) unZigZag(readVarint(in));
+            case CHAR -> (char) readVarint(in);
+            case INT -> (int) unZigZag(readVarint(in));
+            case LONG -> unZigZag(readVarint(in));
+            case FLOAT -> in.getFloat();
+            case DOUBLE -> in.getDouble();
+            case STRING -> readString(in);
+            case ENUM -> {
+                long ordinal = readVarint(in);
+                Object[] constants = field.component.enumConstants();
+                if (ordinal < 0 || ordinal >= constants.length) {
+                    throw new IllegalArgumentException("Corrupt " + type.getSimpleName() + " message: "
+                            + field.name() + " has no constant with ordinal " + ordinal);
+                }
+                yield constants[(int) ordinal];
+            }
+            case RECORD -> {
+                int length = (int) readVarint(in);
+                yield nested(field).decodeBody(in, in.position() + length);
+            }
+        };
+    }
+
+    // ---------------- Single-field reads (no record is created) ----------------
+
+    // Reads a double component of the message starting at `position`, without moving the buffer
+    public double readDouble(ByteBuffer message, int position, String component) {
+        ByteBuffer in = seek(message, position, component, Kind.DOUBLE);
+        return in == null ? 0.0 : in.getDouble();
+    }
+
+    public long readLong(ByteBuffer message, int position, String component) {
+        Field field = field(component);
+        if (field.kind() != Kind.LONG && field.kind() != Kind.INT && field.kind() != Kind.SHORT && field.kind() != Kind.BYTE) {
+            throw new IllegalArgumentException(component + " is not an integer component");
+        }
+        ByteBuffer in = seek(message, position, component, field.kind());
+        return in == null ? 0 : unZigZag(readVarint(in));
+    }
+
+    public String readString(ByteBuffer message, int position, String component) {
+        ByteBuffer in = seek(message, position, component, Kind.STRING);
+        return in == null ? null : readString(in);
+    }
+
+    // Position right after the message that starts at `position`, to walk a buffer of messages
+    public static int nextMessage(ByteBuffer messages, int position) {
+        ByteBuffer in = messages.duplicate().position(position);
+        int length = (int) readVarint(in);
+        return in.position() + length;
+    }
+
+    // Returns a duplicate positioned at the value, or null when the field is absent (default value)
+    private ByteBuffer seek(ByteBuffer message, int position, String component, Kind expected) {
+        Field field = field(component);
+        if (field.kind() != expected) {
+            throw new IllegalArgumentException(component + " is a " + field.kind() + " component");
+        }
+        ByteBuffer in = message.duplicate().position(position);
+        int length = (int) readVarint(in);
+        int end = in.position() + length;
+        while (in.position() < end) {
+            int key = (int) readVarint(in);
+            if (key >>> 3 == field.id && (key & 7) == field.wireType) {
+                return in;
+            }
+            skip(in, key & 7);
+        }
+        return null;
+    }
+
+    private Field field(String component) {
+        for (Field field : fields) {
+            if (field.name().equals(component)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException(type.getSimpleName() + " has no component " + component);
+    }
+
+    // ---------------- Helpers ----------------
+
+    private static boolean isDefault(Field field, Object value) {
+        if (value == null) {
+            return true;
+        }
+        if (!field.component.primitive()) {
+            return false; // a boxed 0 is still written, only null is "absent"
+        }
+        return switch (field.kind()) {
+            case BOOLEAN -> !(Boolean) value;
+            case FLOAT -> Float.floatToRawIntBits((Float) value) == 0;
+            case DOUBLE -> Double.doubleToRawLongBits((Double) value) == 0;
+            case CHAR -> (Character) value == 0;
+            default -> ((Number) value).longValue() == 0;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BinaryRecordCodec<Record> nested(Field field) {
+        return (BinaryRecordCodec<Record>) of(field.component.type().asSubclass(Record.class));
+    }
+
+    private static int wireType(Kind kind) {
+        return switch (kind) {
+            case BOOLEAN, BYTE, SHORT, CHAR, INT, LONG, ENUM -> VARINT;
+            case FLOAT -> FIXED32;
+            case DOUBLE -> FIXED64;
+            case STRING, RECORD -> LENGTH_DELIMITED;
+        };
+    }
+
+    private static void skip(ByteBuffer in, int wireType) {
+        switch (wireType) {
+            case VARINT -> readVarint(in);
+            case FIXED64 -> in.position(in.position() + 8);
+            case LENGTH_DELIMITED -> {
+                int length = (int) readVarint(in);
+                in.position(in.position() + length);
+            }
+            case FIXED32 -> in.position(in.position() + 4);
+            default -> throw new IllegalArgumentException("Unknown wire type " + wireType);
+        }
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void writeVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static long readVarint(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    // UTF-8 is written char by char, so encoding a String allocates no byte[]
+    private static void writeString(ByteBuffer out, String value) {
+        writeVarint(out, utf8Length(value));
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+                        .put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?'); // lone surrogate, like String.getBytes
+            } else {
+                out.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += Character.isSurrogate(c) ? 1 : 3; // a lone surrogate is written as '?'
+            }
+        }
+        return length;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarint(in);
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value;
+        if (in.hasArray()) {
+            // Heap buffer: decode in place, no intermediate copy
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(in.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + length);
+        return value;
+    }
+
+    // Field ids per component, handy to check a schema before changing a record
+    public Map<String, Integer> fieldIds() {
+        Map<String, Integer> ids = new HashMap<>();
+        Arrays.stream(fields).forEach(f -> ids.put(f.name(), f.id));
+        return ids;
+    }
+}
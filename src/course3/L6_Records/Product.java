@@ -10,11 +10,16 @@ public record Product(String name, double price) {
     */
 
     public Product {
-        if (price < 0) {
+        if (!isValidPrice(price)) {
             throw new IllegalArgumentException("Price must be positive");
         }
     }
 
+    // The price rule, shared with the batch validation of ProductStore
+    static boolean isValidPrice(double price) {
+        return !(price < 0);
+    }
+
     // Custom method inside record
     public String displayInfo() {
         return name + " costs $" + price;
@@ -0,0 +1,321 @@
+package course3.L6_Records;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/*
+ 👉 Columnar storage for Product catalogs
+    - One row per product, but no Product object: a name column and a price column
+        - names are dictionary-encoded: every distinct name is stored once, a row holds its int id
+        - prices are a plain double[]
+    - Scans read one or two primitive arrays from start to end (12 bytes per row) instead of
+      following a pointer to a Product and another to its String
+    - Filters return row numbers (int[]). They run in chunks and write matches without branches:
+      rows[count] = i; count += match ? 1 : 0
+    - Aggregates (count, sum, min, max) and the sort by price work on the columns only
+    - Products are created lazily: products(rows) is a List view that builds the record in get(i)
+    - Built with a Builder: rows are appended without checks, build() validates the whole batch
+      once with the rule of Product (no negative prices) and reports how many rows are bad
+    - Immutable after build(), so any number of threads can scan it
+*/
+public final class ProductStore {
+    private static final int CHUNK = 1 << 14;
+
+    private final String[] dictionary;          // name of every id
+    private final Map<String, Integer> ids;
+    private final int[] nameIds;
+    private final double[] prices;
+    private final int size;
+
+    private ProductStore(Builder builder) {
+        this.dictionary = builder.dictionary.toArray(String[]::new);
+        this.ids = builder.ids;
+        this.size = builder.size;
+        // The builder is closed, so its arrays can be taken over when they have the right length
+        this.nameIds = builder.nameIds.length == size ? builder.nameIds : Arrays.copyOf(builder.nameIds, size);
+        this.prices = builder.prices.length == size ? builder.prices : Arrays.copyOf(builder.prices, size);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public static final class Builder {
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> ids = new HashMap<>();
+        private int[] nameIds;
+        private double[] prices;
+        private int size;
+        private boolean built;
+
+        private Builder(int expectedSize) {
+            nameIds = new int[Math.max(1, expectedSize)];
+            prices = new double[Math.max(1, expectedSize)];
+        }
+
+        public Builder add(String name, double price) {
+            if (built) {
+                throw new IllegalStateException("build() was already called");
+            }
+            if (size == prices.length) {
+                nameIds = Arrays.copyOf(nameIds, size * 2);
+                prices = Arrays.copyOf(prices, size * 2);
+            }
+            Integer id = ids.get(name);
+            if (id == null) {
+                id = dictionary.size();
+                dictionary.add(name);
+                ids.put(name, id);
+            }
+            nameIds[size] = id;
+            prices[size++] = price;
+            return this;
+        }
+
+        public Builder add(Product product) {
+            return add(product.name(), product.price());
+        }
+
+        // Checks every price, then freezes the rows; throws with the count and the first bad rows
+        public ProductStore build() {
+            int invalid = 0;
+            for (int i = 0; i < size; i++) {
+                invalid += Product.isValidPrice(prices[i]) ? 0 : 1;
+            }
+            if (invalid > 0) {
+                List<String> examples = new ArrayList<>();
+                for (int i = 0; i < size && examples.size() < 5; i++) {
+                    if (!Product.isValidPrice(prices[i])) {
+                        examples.add("row " + i + " (" + dictionary.get(nameIds[i]) + ", " + prices[i] + ")");
+                    }
+                }
+                throw new IllegalArgumentException("Price must be positive: " + invalid + " invalid rows, first " + examples);
+            }
+            built = true;
+            return new ProductStore(this);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int distinctNames() {
+        return dictionary.length;
+    }
+
+    public String name(int row) {
+        return dictionary[nameIds[row]];
+    }
+
+    public double price(int row) {
+        return prices[row];
+    }
+
+    public Product product(int row) {
+        return new Product(name(row), prices[row]);
+    }
+
+    // Lazy view: the Product of a row is created when it is read, and not kept
+    public List<Product> products(int[] rows) {
+        return new LazyProducts(rows);
+    }
+
+    private final class LazyProducts extends AbstractList<Product> implements RandomAccess {
+        private final int[] rows;
+
+        LazyProducts(int[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Product get(int index) {
+            return product(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+
+    // ---- Filters: row numbers in ascending order
+
+    public int[] all() {
+        int[] rows = new int[size];
+        Arrays.setAll(rows, i -> i);
+        return rows;
+    }
+
+    // price < max
+    public int[] priceBelow(double max) {
+        return priceBetween(Double.NEGATIVE_INFINITY, max);
+    }
+
+    // min <= price < max
+    public int[] priceBetween(double min, double max) {
+        RowCollector out = new RowCollector();
+        int[] buffer = new int[CHUNK];
+        double[] p = prices;
+        for (int from = 0; from < size; from += CHUNK) {
+            int to = Math.min(size, from + CHUNK), count = 0;
+            for (int i = from; i < to; i++) {
+                buffer[count] = i;
+                count += (p[i] >= min) & (p[i] < max) ? 1 : 0;
+            }
+            out.add(buffer, count);
+        }
+        return out.toArray();
+    }
+
+    // One dictionary lookup, then int compares
+    public int[] named(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            return new int[0];
+        }
+        RowCollector out = new RowCollector();
+        int[] buffer = new int[CHUNK];
+        int[] n = nameIds;
+        int wanted = id;
+        for (int from = 0; from < size; from += CHUNK) {
+            int to = Math.min(size, from + CHUNK), count = 0;
+            for (int i = from; i < to; i++) {
+                buffer[count] = i;
+                count += n[i] == wanted ? 1 : 0;
+            }
+            out.add(buffer, count);
+        }
+        return out.toArray();
+    }
+
+    // The rows of a previous filter that also have min <= price < max
+    public int[] priceBetween(int[] rows, double min, double max) {
+        int[] result = new int[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            result[count] = row;
+            count += (prices[row] >= min) & (prices[row] < max) ? 1 : 0;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static final class RowCollector {
+        private int[] rows = new int[64];
+        private int size;
+
+        void add(int[] buffer, int count) {
+            if (size + count > rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(rows.length * 2, size + count));
+            }
+            System.arraycopy(buffer, 0, rows, size, count);
+            size += count;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+
+    // ---- Aggregates over the whole column or over selected rows
+
+    public int countPriceBelow(double max) {
+        int count = 0;
+        double[] p = prices;
+        for (int i = 0; i < size; i++) {
+            count += p[i] < max ? 1 : 0;
+        }
+        return count;
+    }
+
+    public double sumPrices() {
+        // 4 independent sums: the additions do not wait for each other
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        double[] p = prices;
+        int i = 0;
+        for (; i + 3 < size; i += 4) {
+            s0 += p[i];
+            s1 += p[i + 1];
+            s2 += p[i + 2];
+            s3 += p[i + 3];
+        }
+        for (; i < size; i++) {
+            s0 += p[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    public double sumPrices(int[] rows) {
+        double sum = 0;
+        for (int row : rows) {
+            sum += prices[row];
+        }
+        return sum;
+    }
+
+    public double averagePrice(int[] rows) {
+        return rows.length == 0 ? Double.NaN : sumPrices(rows) / rows.length;
+    }
+
+    public double minPrice(int[] rows) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int row : rows) {
+            min = Math.min(min, prices[row]);
+        }
+        return min;
+    }
+
+    public double maxPrice(int[] rows) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int row : rows) {
+            max = Math.max(max, prices[row]);
+        }
+        return max;
+    }
+
+    // ---- Sort
+
+    // The rows ordered by price (ties keep their order). Prices are never negative, so the bits of
+    // a price sort like the price: an LSD radix sort on 8 bytes of the key, no comparisons at all
+    public int[] sortByPrice(int[] rows) {
+        int n = rows.length;
+        if (n < 2) {
+            return rows.clone();
+        }
+        long[] keys = new long[n], keysTmp = new long[n];
+        int[] order = rows.clone(), orderTmp = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = Double.doubleToLongBits(prices[order[i]] + 0.0); // + 0.0 turns -0.0 into 0.0
+        }
+        int[] counts = new int[257];
+        for (int shift = 0; shift < 64; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(int) (keys[i] >>> shift & 0xFF) + 1]++;
+            }
+            if (counts[(int) (keys[0] >>> shift & 0xFF) + 1] == n) {
+                continue; // every key has the same byte here
+            }
+            for (int b = 0; b < 256; b++) {
+                counts[b + 1] += counts[b];
+            }
+            for (int i = 0; i < n; i++) {
+                int slot = counts[(int) (keys[i] >>> shift & 0xFF)]++;
+                keysTmp[slot] = keys[i];
+                orderTmp[slot] = order[i];
+            }
+            long[] k = keys;
+            keys = keysTmp;
+            keysTmp = k;
+            int[] o = order;
+            order = orderTmp;
+            orderTmp = o;
+        }
+        return order;
+    }
+}
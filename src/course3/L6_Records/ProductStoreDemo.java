@@ -0,0 +1,142 @@
+package course3.L6_Records;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import benchmark.Bench;
+
+/*
+ 👉 ProductStore (columns) vs List<Product> (one record per product)
+    1. A small catalog: filters, aggregates, sort, lazy Products and a batch with bad prices
+    2. Benchmark on 10M products with 10,000 distinct names (fewer when the heap is too small):
+       loading, counting, filtering, averaging one name, summing and sorting, against stream pipelines
+*/
+public class ProductStoreDemo {
+
+    public static void main(String[] args) {
+        // 1. A small catalog
+        ProductStore store = ProductStore.builder(8)
+                .add("Laptop", 1200.50)
+                .add("Phone", 699.0)
+                .add("Mouse", 25.0)
+                .add("Laptop", 899.99)
+                .add("Cable", 9.5)
+                .add("Phone", 450.0)
+                .build();
+        System.out.println(store.size() + " products, " + store.distinctNames() + " distinct names");
+        int[] cheap = store.priceBelow(500);
+        System.out.println("Under $500: " + store.products(cheap));
+        System.out.println("Under $500 by price: " + store.products(store.sortByPrice(cheap)));
+        int[] laptops = store.named("Laptop");
+        System.out.printf("Laptops: %d, average $%.2f, min $%.2f, max $%.2f%n",
+                laptops.length, store.averagePrice(laptops), store.minPrice(laptops), store.maxPrice(laptops));
+        System.out.println("Total value: $" + store.sumPrices());
+        try {
+            ProductStore.builder(4).add("Broken", -1).add("Fine", 3).add("Refund", -20).build();
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected batch: " + e.getMessage());
+        }
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        // List<Product> (~28 bytes per product) + columns (12) + the benchmark's row arrays
+        int fits = (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 100);
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : Math.min(10_000_000, fits);
+        benchmark(size);
+    }
+
+    private static void benchmark(int size) {
+        String[] names = new String[10_000];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "Product-" + i;
+        }
+        Random random = new Random(50);
+        int[] nameOf = new int[size];
+        double[] priceOf = new double[size];
+        for (int i = 0; i < size; i++) {
+            nameOf[i] = random.nextInt(names.length);
+            priceOf[i] = random.nextInt(100_000) / 100.0; // $0.00 - $999.99
+        }
+
+        List<Product> list = new ArrayList<>(size);
+        long listLoad = Bench.best(() -> {
+            list.clear();
+            for (int i = 0; i < size; i++) {
+                list.add(new Product(names[nameOf[i]], priceOf[i]));
+            }
+            return list.size();
+        });
+        ProductStore[] built = new ProductStore[1];
+        long storeLoad = Bench.best(() -> {
+            built[0] = null;
+            ProductStore.Builder builder = ProductStore.builder(size);
+            for (int i = 0; i < size; i++) {
+                builder.add(names[nameOf[i]], priceOf[i]);
+            }
+            built[0] = builder.build();
+            return built[0].size();
+        });
+        ProductStore store = built[0];
+
+        // 1% of the products cost less than $10, 10% less than $100
+        long listCount = Bench.best(() -> list.stream().filter(p -> p.price() < 10).count());
+        long storeCount = Bench.best(() -> store.countPriceBelow(10));
+
+        long listFilter = Bench.best(() -> {
+            long total = 0;
+            for (Product p : list.stream().filter(p -> p.price() < 10).toList()) {
+                total += p.name().length();
+            }
+            return total;
+        });
+        long storeFilter = Bench.best(() -> {
+            long total = 0;
+            for (Product p : store.products(store.priceBelow(10))) { // Products created here, matches only
+                total += p.name().length();
+            }
+            return total;
+        });
+
+        double[] averages = new double[2];
+        long listAverage = Bench.best(() -> {
+            averages[0] = list.stream().filter(p -> p.name().equals("Product-42")).mapToDouble(Product::price).average().orElse(0);
+            return (long) averages[0];
+        });
+        long storeAverage = Bench.best(() -> {
+            averages[1] = store.averagePrice(store.named("Product-42"));
+            return (long) averages[1];
+        });
+
+        double[] sums = new double[2];
+        long listSum = Bench.best(() -> {
+            sums[0] = list.stream().mapToDouble(Product::price).sum();
+            return (long) sums[0];
+        });
+        long storeSum = Bench.best(() -> {
+            sums[1] = store.sumPrices();
+            return (long) sums[1];
+        });
+
+        List<List<Product>> sorted = new ArrayList<>(List.of(List.of(), List.of()));
+        long listSort = Bench.best(() -> {
+            sorted.set(0, list.stream().filter(p -> p.price() < 100).sorted(Comparator.comparingDouble(Product::price)).toList());
+            return sorted.get(0).size();
+        });
+        long storeSort = Bench.best(() -> {
+            sorted.set(1, store.products(store.sortByPrice(store.priceBelow(100))));
+            return sorted.get(1).size();
+        });
+        boolean sameOrder = sorted.get(0).equals(sorted.get(1)); // stable on both sides: same rows in the same order
+
+        System.out.printf("%,d products, %,d distinct names (ms, best of 5)%n", size, store.distinctNames());
+        System.out.printf("                         List<Product>   ProductStore%n");
+        System.out.printf("Load (validated)         %13d   %12d%n", listLoad, storeLoad);
+        System.out.printf("Count price < $10        %13d   %12d%n", listCount, storeCount);
+        System.out.printf("Products under $10       %13d   %12d%n", listFilter, storeFilter);
+        System.out.printf("Average of one name      %13d   %12d   (%.2f vs %.2f)%n", listAverage, storeAverage, averages[0], averages[1]);
+        System.out.printf("Sum of all prices        %13d   %12d   (%.2f vs %.2f)%n", listSum, storeSum, sums[0], sums[1]);
+        System.out.printf("Under $100 sorted        %13d   %12d   (same order: %b)%n", listSort, storeSort, sameOrder);
+    }
+}
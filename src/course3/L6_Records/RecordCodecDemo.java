@@ -0,0 +1,203 @@
+package course3.L6_Records;
+
+import course3.L6_Records.BinaryRecordCodec.FieldId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import benchmark.Bench;
+
+/*
+ 👉 BinaryRecordCodec in action
+    1. Round trip of Product and User (User is package-private, the codec still reaches its constructor),
+       of boxed FALSE / 0 values, and a message with an enum ordinal that does not exist
+    2. Schema evolution: old data read by a newer record version and the other way round
+    3. Summing prices straight from a direct ByteBuffer, without creating Product objects
+    4. Size and speed against Java serialization and a hand-written JSON string
+*/
+public class RecordCodecDemo {
+
+    // Versions of a product record as it evolves over time
+    record ProductV1(String name, double price) {
+    }
+
+    // Added a component: new readers see stock = 0 in old data
+    record ProductV2(String name, double price, int stock) {
+    }
+
+    // Removed price: ids are pinned so stock keeps id 3, and old price fields are skipped
+    record ProductV3(@FieldId(1) String name, @FieldId(3) int stock) {
+    }
+
+    enum Level {LOW, HIGH}
+
+    // Wrappers: only null is left out of the message, a boxed false or 0 is written
+    record Settings(Boolean enabled, Integer retries, Level level, String note) {
+    }
+
+    // Same ids as Settings, but level is a plain int: lets the demo write an ordinal Level does not have
+    record SettingsV0(Boolean enabled, Integer retries, int level) {
+    }
+
+    // Java serialization needs Serializable, which Product does not implement
+    record SerializableProduct(String name, double price) implements Serializable {
+    }
+
+    public static void main(String[] args) {
+        BinaryRecordCodec<Product> products = BinaryRecordCodec.of(Product.class);
+        BinaryRecordCodec<User> users = BinaryRecordCodec.of(User.class);
+
+        // 1. Round trip
+        Product laptop = new Product("Laptop", 1200.50);
+        byte[] bytes = products.encode(laptop);
+        System.out.println(laptop + " -> " + bytes.length + " bytes -> " + products.decode(bytes));
+
+        User alice = new User("Alice", 101);
+        byte[] userBytes = users.encode(alice);
+        System.out.println(alice + " -> " + userBytes.length + " bytes -> " + users.decode(userBytes));
+
+        BinaryRecordCodec<Settings> settings = BinaryRecordCodec.of(Settings.class);
+        Settings off = new Settings(Boolean.FALSE, 0, Level.HIGH, null);
+        System.out.println(off + " round trip equal: " + off.equals(settings.decode(settings.encode(off))));
+        Settings lone = new Settings(null, null, null, "lone \uD800 surrogate"); // written as '?', like String.getBytes
+        System.out.println("Note with a lone surrogate -> " + settings.decode(settings.encode(lone)).note());
+        try {
+            settings.decode(BinaryRecordCodec.of(SettingsV0.class).encode(new SettingsV0(true, 1, 7)));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Decoding an unknown enum ordinal: " + e.getMessage());
+        }
+
+        // Validation still runs, because decoding goes through the canonical constructor
+        try {
+            BinaryRecordCodec.of(Product.class).decode(
+                    BinaryRecordCodec.of(ProductV1.class).encode(new ProductV1("Broken", -1)));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Decoding a negative price: " + e.getMessage());
+        }
+
+        // 2. Schema evolution
+        byte[] v1 = BinaryRecordCodec.of(ProductV1.class).encode(new ProductV1("Phone", 699.0));
+        byte[] v2 = BinaryRecordCodec.of(ProductV2.class).encode(new ProductV2("Tablet", 450.0, 12));
+        System.out.println("V1 data read as V2: " + BinaryRecordCodec.of(ProductV2.class).decode(v1));
+        System.out.println("V2 data read as V1: " + BinaryRecordCodec.of(ProductV1.class).decode(v2));
+        System.out.println("V2 data read as V3: " + BinaryRecordCodec.of(ProductV3.class).decode(v2));
+
+        // 3. Reading one field from many messages in a direct (off-heap) buffer
+        ByteBuffer direct = ByteBuffer.allocateDirect(1024);
+        for (String name : List.of("Pen", "Book", "Lamp")) {
+            products.encode(new Product(name, name.length() * 2.5), direct);
+        }
+        direct.flip();
+        double total = 0;
+        for (int position = 0; position < direct.limit(); position = BinaryRecordCodec.nextMessage(direct, position)) {
+            total += products.readDouble(direct, position, "price");
+        }
+        System.out.println("Total price read without decoding: " + total);
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        benchmark(size);
+    }
+
+    private static void benchmark(int size) {
+        List<Product> items = new ArrayList<>(size);
+        List<SerializableProduct> serializableItems = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = "Product-" + i;
+            double price = (i % 10_000) / 4.0;
+            items.add(new Product(name, price));
+            serializableItems.add(new SerializableProduct(name, price));
+        }
+        BinaryRecordCodec<Product> codec = BinaryRecordCodec.of(Product.class);
+
+        ByteBuffer binary = ByteBuffer.allocate(size * 32);
+        long binaryEncode = Bench.best(() -> {
+            binary.clear();
+            for (Product p : items) {
+                codec.encode(p, binary);
+            }
+            return binary.position();
+        });
+        int binaryBytes = binary.position();
+        binary.flip();
+        long binaryDecode = Bench.best(() -> {
+            ByteBuffer in = binary.duplicate();
+            long count = 0;
+            while (in.hasRemaining()) {
+                count += (long) codec.decode(in).price();
+            }
+            return count;
+        });
+
+        byte[][] serialized = new byte[1][];
+        long javaEncode = Bench.best(() -> {
+            serialized[0] = serialize(serializableItems);
+            return serialized[0].length;
+        });
+        long javaDecode = Bench.best(() -> {
+            long count = 0;
+            for (SerializableProduct p : deserialize(serialized[0])) {
+                count += (long) p.price();
+            }
+            return count;
+        });
+
+        byte[][] json = new byte[1][];
+        long jsonEncode = Bench.best(() -> {
+            StringBuilder sb = new StringBuilder(size * 40);
+            for (Product p : items) {
+                sb.append("{\"name\":\"").append(p.name()).append("\",\"price\":").append(p.price()).append("}\n");
+            }
+            json[0] = sb.toString().getBytes(StandardCharsets.UTF_8);
+            return json[0].length;
+        });
+        long jsonDecode = Bench.best(() -> {
+            long count = 0;
+            for (String line : new String(json[0], StandardCharsets.UTF_8).split("\n")) {
+                int nameStart = line.indexOf("\"name\":\"") + 8;
+                int nameEnd = line.indexOf('"', nameStart);
+                int priceStart = line.indexOf("\"price\":", nameEnd) + 8;
+                Product p = new Product(line.substring(nameStart, nameEnd),
+                        Double.parseDouble(line.substring(priceStart, line.length() - 1)));
+                count += (long) p.price();
+            }
+            return count;
+        });
+
+        System.out.printf("%,d products%n", size);
+        System.out.printf("Binary codec       : %,10d bytes, encode %4d ms, decode %4d ms%n", binaryBytes, binaryEncode, binaryDecode);
+        System.out.printf("Java serialization : %,10d bytes, encode %4d ms, decode %4d ms%n", serialized[0].length, javaEncode, javaDecode);
+        System.out.printf("JSON text          : %,10d bytes, encode %4d ms, decode %4d ms%n", json[0].length, jsonEncode, jsonDecode);
+    }
+
+    private static byte[] serialize(List<SerializableProduct> items) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(items);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<SerializableProduct> deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (List<SerializableProduct>) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
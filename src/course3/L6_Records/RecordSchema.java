@@ -0,0 +1,140 @@
+package course3.L6_Records;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+
+/*
+ 👉 The components of a record class, read once and shared by the codecs built on it
+    (BinaryRecordCodec, course4 JsonRecordBinding)
+    - Every component: name, type, kind of value, default value (0, false, null) and an accessor handle
+    - construct(args) calls the canonical constructor, so the record's validation still runs
+    - Package-private records (e.g. User) work too: accessors and constructor are made accessible
+    - Supported component types: primitives and their wrappers, String, enums and nested records
+*/
+public final class RecordSchema<R extends Record> {
+
+    public enum Kind {
+        BOOLEAN, BYTE, SHORT, CHAR, INT, LONG, FLOAT, DOUBLE, STRING, ENUM, RECORD
+    }
+
+    // enumConstants is only set for enum components, so readers do not clone values() every time
+    public record Component(int index, String name, Class<?> type, Kind kind, boolean primitive,
+                            Object defaultValue, Object[] enumConstants, MethodHandle accessor) {
+
+        public Object get(Record record) {
+            try {
+                return accessor.invokeExact((Object) record);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+
+    // One schema per record class, created on first use
+    private static final ClassValue<RecordSchema<?>> SCHEMAS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected RecordSchema<?> computeValue(Class<?> type) {
+            return new RecordSchema(type.asSubclass(Record.class));
+        }
+    };
+
+    private final Class<R> type;
+    private final Component[] components;
+    private final Object[] defaults;
+    private final MethodHandle constructor; // (Object[]) -> Object
+
+    @SuppressWarnings("unchecked")
+    public static <R extends Record> RecordSchema<R> of(Class<R> type) {
+        return (RecordSchema<R>) SCHEMAS.get(type);
+    }
+
+    private RecordSchema(Class<R> type) {
+        this.type = type;
+        RecordComponent[] recordComponents = type.getRecordComponents();
+        this.components = new Component[recordComponents.length];
+        this.defaults = new Object[recordComponents.length];
+        Class<?>[] parameterTypes = new Class<?>[recordComponents.length];
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            for (int i = 0; i < recordComponents.length; i++) {
+                RecordComponent component = recordComponents[i];
+                Class<?> componentType = component.getType();
+                component.getAccessor().setAccessible(true);
+                MethodHandle accessor = lookup.unreflect(component.getAccessor())
+                        .asType(MethodType.methodType(Object.class, Object.class));
+                defaults[i] = defaultValue(componentType);
+                components[i] = new Component(i, component.getName(), componentType, kindOf(componentType),
+                        componentType.isPrimitive(), defaults[i], componentType.getEnumConstants(), accessor);
+                parameterTypes[i] = componentType;
+            }
+            Constructor<R> canonical = type.getDeclaredConstructor(parameterTypes);
+            canonical.setAccessible(true);
+            this.constructor = lookup.unreflectConstructor(canonical)
+                    .asType(MethodType.methodType(Object.class, parameterTypes))
+                    .asSpreader(Object[].class, parameterTypes.length);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot read the components of " + type.getName(), e);
+        }
+    }
+
+    public Class<R> type() {
+        return type;
+    }
+
+    public int size() {
+        return components.length;
+    }
+
+    public Component component(int index) {
+        return components[index];
+    }
+
+    // A fresh array of default values, to be filled and passed to construct()
+    public Object[] newArguments() {
+        return defaults.clone();
+    }
+
+    // Calls the canonical constructor; exceptions of a compact constructor are thrown as they are
+    public R construct(Object[] args) {
+        try {
+            return type.cast(constructor.invokeExact(args));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static Kind kindOf(Class<?> type) {
+        if (type == boolean.class || type == Boolean.class) return Kind.BOOLEAN;
+        if (type == byte.class || type == Byte.class) return Kind.BYTE;
+        if (type == short.class || type == Short.class) return Kind.SHORT;
+        if (type == char.class || type == Character.class) return Kind.CHAR;
+        if (type == int.class || type == Integer.class) return Kind.INT;
+        if (type == long.class || type == Long.class) return Kind.LONG;
+        if (type == float.class || type == Float.class) return Kind.FLOAT;
+        if (type == double.class || type == Double.class) return Kind.DOUBLE;
+        if (type == String.class) return Kind.STRING;
+        if (type.isEnum()) return Kind.ENUM;
+        if (type.isRecord()) return Kind.RECORD;
+        throw new IllegalArgumentException("Unsupported component type " + type.getName());
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) return null;
+        if (type == boolean.class) return false;
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == char.class) return (char) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        return 0.0;
+    }
+}
@@ -0,0 +1,286 @@
+package course3.L7_Sealed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ 👉 Asynchronous payment pipeline with one lane per sealed Payment subtype
+    - submit() routes with an exhaustive switch: adding a fourth Payment subclass is a compile
+      error here until it gets its own lane (no silent default branch)
+    - Each lane has its own bounded queue, batching (max size + max wait), concurrency limit
+      (batches in flight) and timeout, because each downstream has a different latency profile
+    - Full queue -> the payment is rejected at once (backpressure), instead of growing without limit
+    - close() processes what is queued; payments that race with close() are rejected, never left pending
+    - stats(): throughput counters and latency percentiles per lane
+*/
+final class PaymentPipeline implements AutoCloseable {
+
+    // Processes one batch of payments of one type; throwing fails the whole batch
+    @FunctionalInterface
+    interface PaymentProcessor<P extends Payment> {
+        void process(List<P> batch) throws Exception;
+    }
+
+    record LaneConfig(int batchSize, long maxWaitMicros, int concurrency, long timeoutMillis, int queueCapacity) {
+        LaneConfig {
+            if (batchSize < 1 || maxWaitMicros < 0 || concurrency < 1 || timeoutMillis < 1 || queueCapacity < 1) {
+                throw new IllegalArgumentException("Invalid lane configuration");
+            }
+        }
+    }
+
+    record LaneStats(String lane, long submitted, long completed, long failed, long timedOut, long rejected,
+                     long batches, long p50Micros, long p99Micros) {
+        double averageBatch() {
+            return batches == 0 ? 0 : (double) (completed + failed + timedOut) / batches;
+        }
+    }
+
+    private final Lane<CreditCard> creditCards;
+    private final Lane<UPI> upi;
+    private final Lane<NetBanking> netBanking;
+
+    // All three lanes are required, so every permitted subtype has a destination
+    PaymentPipeline(LaneConfig creditCardConfig, PaymentProcessor<CreditCard> creditCardProcessor,
+                    LaneConfig upiConfig, PaymentProcessor<UPI> upiProcessor,
+                    LaneConfig netBankingConfig, PaymentProcessor<NetBanking> netBankingProcessor) {
+        this.creditCards = new Lane<>("CreditCard", creditCardConfig, creditCardProcessor);
+        this.upi = new Lane<>("UPI", upiConfig, upiProcessor);
+        this.netBanking = new Lane<>("NetBanking", netBankingConfig, netBankingProcessor);
+    }
+
+    // Completes when the payment's batch was processed; fails on rejection, error or timeout
+    CompletableFuture<Void> submit(Payment payment) {
+        return switch (payment) {
+            case CreditCard c -> creditCards.submit(c);
+            case UPI u -> upi.submit(u);
+            case NetBanking n -> netBanking.submit(n);
+        };
+    }
+
+    List<LaneStats> stats() {
+        return List.of(creditCards.stats(), upi.stats(), netBanking.stats());
+    }
+
+    // Processes what is already queued, then stops the lanes
+    @Override
+    public void close() {
+        creditCards.close();
+        upi.close();
+        netBanking.close();
+    }
+
+    // ---------------- One lane ----------------
+
+    private static final class Lane<P extends Payment> {
+        private record Pending<P>(P payment, long submittedNanos, CompletableFuture<Void> done) {
+        }
+
+        private final String name;
+        private final LaneConfig config;
+        private final PaymentProcessor<P> processor;
+        private final ArrayBlockingQueue<Pending<P>> queue;
+        private final Semaphore inFlight;
+        private final ExecutorService workers;
+        private final Thread dispatcher;
+        private volatile boolean closing;
+
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        Lane(String name, LaneConfig config, PaymentProcessor<P> processor) {
+            this.name = name;
+            this.config = config;
+            this.processor = processor;
+            this.queue = new ArrayBlockingQueue<>(config.queueCapacity());
+            this.inFlight = new Semaphore(config.concurrency());
+            this.workers = Executors.newFixedThreadPool(config.concurrency(), daemon(name + "-worker"));
+            this.dispatcher = daemon(name + "-dispatcher").newThread(this::dispatchLoop);
+            dispatcher.start();
+        }
+
+        CompletableFuture<Void> submit(P payment) {
+            submitted.increment();
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            if (closing) {
+                reject(done, "closed");
+                return done;
+            }
+            Pending<P> pending = new Pending<>(payment, System.nanoTime(), done);
+            if (!queue.offer(pending)) {
+                reject(done, "full");
+            } else if (closing && queue.remove(pending)) {
+                // close() started after the check above and may already have drained the queue
+                reject(done, "closed");
+            }
+            return done;
+        }
+
+        private void reject(CompletableFuture<Void> done, String reason) {
+            rejected.increment();
+            done.completeExceptionally(new RejectedExecutionException(name + " lane is " + reason));
+        }
+
+        // Collects a batch: waits for the first payment, then up to maxWait for the rest
+        private void dispatchLoop() {
+            try {
+                while (!closing || !queue.isEmpty()) {
+                    Pending<P> first = queue.poll(10, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    List<Pending<P>> batch = new ArrayList<>(config.batchSize());
+                    batch.add(first);
+                    long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(config.maxWaitMicros());
+                    while (batch.size() < config.batchSize()) {
+                        queue.drainTo(batch, config.batchSize() - batch.size());
+                        long remaining = deadline - System.nanoTime();
+                        if (batch.size() == config.batchSize() || remaining <= 0) {
+                            break;
+                        }
+                        Pending<P> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next != null) {
+                            batch.add(next);
+                        }
+                    }
+                    inFlight.acquire(); // concurrency limit: wait while all workers are busy
+                    dispatch(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void dispatch(List<Pending<P>> batch) {
+            batches.increment();
+            List<P> payments = new ArrayList<>(batch.size());
+            for (Pending<P> pending : batch) {
+                payments.add(pending.payment());
+            }
+            CompletableFuture
+                    .runAsync(() -> {
+                        try {
+                            processor.process(payments);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(name + " batch failed", e);
+                        } finally {
+                            inFlight.release(); // only when the downstream call really returned
+                        }
+                    }, workers)
+                    .orTimeout(config.timeoutMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((ignored, error) -> finish(batch, error));
+        }
+
+        private void finish(List<Pending<P>> batch, Throwable error) {
+            long now = System.nanoTime();
+            for (Pending<P> pending : batch) {
+                latency.record((now - pending.submittedNanos()) / 1_000);
+                if (error == null) {
+                    completed.increment();
+                    pending.done().complete(null);
+                } else {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    (cause instanceof TimeoutException ? timedOut : failed).increment();
+                    pending.done().completeExceptionally(cause);
+                }
+            }
+        }
+
+        LaneStats stats() {
+            return new LaneStats(name, submitted.sum(), completed.sum(), failed.sum(), timedOut.sum(), rejected.sum(),
+                    batches.sum(), latency.percentile(0.50), latency.percentile(0.99));
+        }
+
+        void close() {
+            closing = true;
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Offered after the dispatcher's last look at the queue: nobody would complete them
+            List<Pending<P>> left = new ArrayList<>();
+            queue.drainTo(left);
+            for (Pending<P> pending : left) {
+                reject(pending.done(), "closed");
+            }
+            workers.shutdown();
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
+
+/*
+ 👉 Lock-free latency histogram
+    - Power-of-two ranges split into 8 linear sub-buckets: about 12% precision over any range
+    - record() is one atomic increment, so every worker thread can record without locking
+*/
+final class LatencyHistogram {
+    private static final int SUB_BUCKETS = 8;
+    private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+    void record(long micros) {
+        counts.incrementAndGet(bucket(Math.max(0, micros)));
+    }
+
+    // Upper bound of the bucket that holds the given percentile (0.0 - 1.0)
+    long percentile(double p) {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * p);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length() - 1);
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int power = 63 - Long.numberOfLeadingZeros(value);              // value in [2^power, 2^(power+1))
+        int sub = (int) ((value >>> (power - 3)) & (SUB_BUCKETS - 1));  // next 3 bits
+        return (power - 2) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int power = bucket / SUB_BUCKETS + 2;
+        int sub = bucket % SUB_BUCKETS;
+        return (1L << power) + ((long) (sub + 1) << (power - 3)) - 1;
+    }
+}
@@ -0,0 +1,129 @@
+package course3.L7_Sealed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import course3.L7_Sealed.PaymentPipeline.LaneConfig;
+import course3.L7_Sealed.PaymentPipeline.LaneStats;
+import course3.L7_Sealed.PaymentPipeline.PaymentProcessor;
+
+/*
+ 👉 PaymentPipeline with stub processors
+    1. Routing: every Payment subtype reaches its own lane; a closed pipeline rejects new payments
+    2. Benchmark: end-to-end throughput against processing payments one at a time,
+       with per-lane stats (one downstream sometimes stalls, its batches time out)
+*/
+public class PaymentPipelineDemo {
+
+    // Stub downstream: fixed cost per call + cost per payment, and every n-th call stalls
+    record StubProcessor<P extends Payment>(long perCallMicros, long perItemMicros, int stallEvery, long stallMillis,
+                                            AtomicInteger calls) implements PaymentProcessor<P> {
+        StubProcessor(long perCallMicros, long perItemMicros, int stallEvery, long stallMillis) {
+            this(perCallMicros, perItemMicros, stallEvery, stallMillis, new AtomicInteger());
+        }
+
+        @Override
+        public void process(List<P> batch) {
+            long micros = perCallMicros + perItemMicros * batch.size();
+            if (stallEvery > 0 && calls.incrementAndGet() % stallEvery == 0) {
+                micros += stallMillis * 1_000;
+            }
+            micros += ThreadLocalRandom.current().nextLong(perCallMicros / 10 + 1); // jitter
+            LockSupport.parkNanos(micros * 1_000);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // 1. Routing
+        try (PaymentPipeline pipeline = newPipeline(
+                new StubProcessor<>(100, 0, 0, 0), new StubProcessor<>(100, 0, 0, 0), new StubProcessor<>(100, 0, 0, 0))) {
+            List<CompletableFuture<Void>> results = new ArrayList<>();
+            for (Payment payment : List.of(new CreditCard(), new UPI(), new UPI(), new NetBanking(), new UPI())) {
+                results.add(pipeline.submit(payment));
+            }
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+            for (LaneStats stats : pipeline.stats()) {
+                System.out.printf("%-10s lane: %d payment(s) processed%n", stats.lane(), stats.completed());
+            }
+        }
+        PaymentPipeline closed = newPipeline(
+                new StubProcessor<>(100, 0, 0, 0), new StubProcessor<>(100, 0, 0, 0), new StubProcessor<>(100, 0, 0, 0));
+        closed.close();
+        closed.submit(new UPI()).whenComplete((ignored, error) -> System.out.println("After close(): " + error.getMessage()));
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        benchmark(size);
+    }
+
+    // Lane settings follow the downstream: UPI is fast, net banking is slow and sometimes stalls
+    private static PaymentPipeline newPipeline(PaymentProcessor<CreditCard> creditCards, PaymentProcessor<UPI> upi,
+                                               PaymentProcessor<NetBanking> netBanking) {
+        return new PaymentPipeline(
+                new LaneConfig(64, 2_000, 4, 250, 10_000), creditCards,
+                new LaneConfig(128, 1_000, 8, 100, 20_000), upi,
+                new LaneConfig(32, 5_000, 4, 100, 5_000), netBanking);
+    }
+
+    private static void benchmark(int size) throws Exception {
+        Random random = new Random(42);
+        Payment[] payments = new Payment[size];
+        for (int i = 0; i < size; i++) {
+            int kind = random.nextInt(10);
+            payments[i] = kind < 3 ? new CreditCard() : kind < 8 ? new UPI() : new NetBanking(); // 30% / 50% / 20%
+        }
+        StubProcessor<CreditCard> creditCards = new StubProcessor<>(2_000, 20, 0, 0);
+        StubProcessor<UPI> upi = new StubProcessor<>(1_000, 10, 0, 0);
+        StubProcessor<NetBanking> netBanking = new StubProcessor<>(5_000, 50, 40, 300);
+
+        // Baseline: one downstream call per payment, one payment at a time (on a sample)
+        int sample = Math.min(size, 1_000);
+        long start = System.nanoTime();
+        for (int i = 0; i < sample; i++) {
+            switch (payments[i]) {
+                case CreditCard c -> creditCards.process(List.of(c));
+                case UPI u -> upi.process(List.of(u));
+                case NetBanking n -> netBanking.process(List.of(n));
+            }
+        }
+        double baselinePerSecond = sample / ((System.nanoTime() - start) / 1e9);
+
+        // Pipeline: the producer backs off briefly when a lane is full
+        List<LaneStats> stats;
+        int retries = 0;
+        try (PaymentPipeline pipeline = newPipeline(creditCards, upi, netBanking)) {
+            List<CompletableFuture<Void>> results = new ArrayList<>(size);
+            start = System.nanoTime();
+            for (Payment payment : payments) {
+                CompletableFuture<Void> result = pipeline.submit(payment);
+                while (result.isCompletedExceptionally() && result.exceptionNow() instanceof RejectedExecutionException) {
+                    retries++;
+                    LockSupport.parkNanos(100_000);
+                    result = pipeline.submit(payment);
+                }
+                results.add(result);
+            }
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+            double pipelinePerSecond = size / ((System.nanoTime() - start) / 1e9);
+            stats = pipeline.stats();
+
+            System.out.printf("%,d payments (30%% credit card, 50%% UPI, 20%% net banking)%n", size);
+            System.out.printf("One at a time : %,9.0f payments/s (sample of %,d)%n", baselinePerSecond, sample);
+            System.out.printf("Pipeline      : %,9.0f payments/s (%.0fx), %,d resubmits after backpressure%n",
+                    pipelinePerSecond, pipelinePerSecond / baselinePerSecond, retries);
+        }
+        System.out.println();
+        System.out.println("Lane        completed  timed out  failed  rejected  batches  avg batch   p50 ms   p99 ms");
+        for (LaneStats s : stats) {
+            System.out.printf("%-10s %10d %10d %7d %9d %8d %10.1f %8.1f %8.1f%n", s.lane(), s.completed(), s.timedOut(),
+                    s.failed(), s.rejected(), s.batches(), s.averageBatch(), s.p50Micros() / 1e3, s.p99Micros() / 1e3);
+        }
+    }
+}
@@ -110,7 +110,8 @@ class ColorfulSquare extends Square {
 
 // Payment is a sealed class
 // Only CreditCard, UPI, and NetBanking are allowed subclasses
-sealed class Payment permits CreditCard, UPI, NetBanking {
+// It is abstract, so a switch over the three subclasses is exhaustive (see PaymentPipeline)
+sealed abstract class Payment permits CreditCard, UPI, NetBanking {
 }
 
 // CreditCard is final, no further subclassing possible
@@ -0,0 +1,146 @@
+package course3.L7_Sealed;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+ 👉 Type-indexed dispatch: one handler per type, found in constant time
+    - An instanceof chain (printPaymentType) tests the types in order: the last type pays for all the
+      checks before it, so the cost grows with the number of subtypes
+    - Here the handler of every runtime class is resolved once and cached in a ClassValue
+      (a per-class slot, like a field on the Class object); apply() is then one lookup + one call
+    - A class without its own handler uses the nearest handled supertype:
+      ColorfulSquare (non-sealed extension) -> Square
+    - build() walks the permitted subclasses of a sealed root and fails if a class is not covered,
+      the same check the compiler does for an exhaustive switch
+    - For a few final subtypes the instanceof chain stays faster (each check is one pointer compare);
+      the lookup pays off as the number of subtypes grows, see TypeDispatcherDemo
+*/
+public final class TypeDispatcher<T, R> {
+
+    // Handler of one class and its position in the builder, for switch-based callers
+    private record Route<R>(int index, Function<Object, ? extends R> handler) {
+    }
+
+    private final Class<T> root;
+    private final Map<Class<?>, Function<Object, ? extends R>> handlers;
+
+    private final ClassValue<Route<R>> table = new ClassValue<>() {
+        @Override
+        protected Route<R> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private TypeDispatcher(Class<T> root, Map<Class<?>, Function<Object, ? extends R>> handlers) {
+        this.root = root;
+        this.handlers = handlers;
+    }
+
+    public static <T, R> Builder<T, R> builder(Class<T> root) {
+        return new Builder<>(root);
+    }
+
+    // Runs the handler of the value's class (or of its nearest handled supertype)
+    public R apply(T value) {
+        return table.get(value.getClass()).handler().apply(value);
+    }
+
+    // Position of the handler (order of on() calls), for a switch at the call site:
+    //   switch (dispatcher.indexOf(payment)) { case 0 -> ...; case 1 -> ...; }
+    // compiles to a jump table instead of a call through a Function
+    public int indexOf(T value) {
+        Route<R> route = table.get(value.getClass());
+        if (route.index() < 0) {
+            route.handler().apply(value); // throws
+        }
+        return route.index();
+    }
+
+    // ---------------- Building ----------------
+
+    public static final class Builder<T, R> {
+        private final Class<T> root;
+        private final Map<Class<?>, Function<Object, ? extends R>> handlers = new LinkedHashMap<>();
+
+        private Builder(Class<T> root) {
+            this.root = root;
+        }
+
+        public <S extends T> Builder<T, R> on(Class<S> type, Function<? super S, ? extends R> handler) {
+            if (handlers.containsKey(type)) {
+                throw new IllegalArgumentException("Duplicate handler for " + type.getSimpleName());
+            }
+            @SuppressWarnings("unchecked") // only called with instances of type, see resolve()
+            Function<Object, ? extends R> unchecked = (Function<Object, ? extends R>) handler;
+            handlers.put(type, unchecked);
+            return this;
+        }
+
+        // Fails if a permitted (concrete) class of the sealed hierarchy has no handler
+        public TypeDispatcher<T, R> build() {
+            TypeDispatcher<T, R> dispatcher = new TypeDispatcher<>(root, new LinkedHashMap<>(handlers));
+            List<Class<?>> missing = new ArrayList<>();
+            for (Class<?> type : permittedClasses(root)) {
+                if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())
+                        && dispatcher.nearestHandled(type) == null) {
+                    missing.add(type);
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("No handler for " + missing.stream().map(Class::getSimpleName).toList());
+            }
+            return dispatcher;
+        }
+    }
+
+    // ---------------- Resolution (once per class) ----------------
+
+    private Route<R> resolve(Class<?> type) {
+        Class<?> handled = nearestHandled(type);
+        if (handled == null) {
+            return new Route<>(-1, value -> {
+                throw new IllegalArgumentException("No handler for " + value.getClass().getName()
+                        + " in " + root.getSimpleName() + " dispatcher");
+            });
+        }
+        return new Route<>(List.copyOf(handlers.keySet()).indexOf(handled), handlers.get(handled));
+    }
+
+    // Breadth-first over the supertypes: the class itself, then its superclass and interfaces, ...
+    private Class<?> nearestHandled(Class<?> type) {
+        ArrayDeque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(type);
+        while (!queue.isEmpty()) {
+            Class<?> current = queue.poll();
+            if (handlers.containsKey(current)) {
+                return current;
+            }
+            if (current.getSuperclass() != null) {
+                queue.add(current.getSuperclass());
+            }
+            queue.addAll(List.of(current.getInterfaces()));
+        }
+        return null;
+    }
+
+    // Every class reachable through "permits"; stops at non-sealed and final classes
+    private static List<Class<?>> permittedClasses(Class<?> root) {
+        List<Class<?>> result = new ArrayList<>();
+        ArrayDeque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            Class<?> current = queue.poll();
+            result.add(current);
+            if (current.isSealed()) {
+                queue.addAll(List.of(current.getPermittedSubclasses()));
+            }
+        }
+        return result;
+    }
+}
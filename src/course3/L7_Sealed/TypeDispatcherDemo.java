@@ -0,0 +1,679 @@
+package course3.L7_Sealed;
+
+import java.util.Random;
+
+import benchmark.Bench;
+
+/*
+ 👉 TypeDispatcher vs instanceof chain vs pattern switch
+    1. Shapes from SealedDemo: ColorfulSquare and FilledRectangle fall back to their handled supertypes
+    2. A hierarchy with a missing handler is rejected when the dispatcher is built
+    3. Benchmark with 3 (Payment), 10 and 50 subtypes, objects in random order
+*/
+public class TypeDispatcherDemo {
+
+    public static void main(String[] args) {
+        // 1. Handlers for the three permitted Shape types only
+        TypeDispatcher<Shape, String> shapeInfo = TypeDispatcher.<Shape, String>builder(Shape.class)
+                .on(Circle.class, c -> "It's a Circle")
+                .on(Rectangle.class, r -> "It's a Rectangle")
+                .on(Square.class, s -> "It's a Square")
+                .build();
+        for (Shape shape : new Shape[]{new Circle(), new FilledRectangle(), new Square(), new ColorfulSquare()}) {
+            System.out.printf("%-15s -> %s%n", shape.getClass().getSimpleName(), shapeInfo.apply(shape));
+        }
+
+        // 2. NetBanking is not covered
+        try {
+            TypeDispatcher.<Payment, String>builder(Payment.class)
+                    .on(CreditCard.class, c -> "Credit Card")
+                    .on(UPI.class, u -> "UPI")
+                    .build();
+        } catch (IllegalStateException e) {
+            System.out.println("Payment dispatcher: " + e.getMessage());
+        }
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        benchmark(size);
+    }
+
+    private static void benchmark(int size) {
+        Random random = new Random(9);
+        Payment[] payments = new Payment[size];
+        Ten[] tens = new Ten[size];
+        Fifty[] fifties = new Fifty[size];
+        Class<?>[] tenTypes = Ten.class.getPermittedSubclasses();
+        Class<?>[] fiftyTypes = Fifty.class.getPermittedSubclasses();
+        for (int i = 0; i < size; i++) {
+            payments[i] = switch (random.nextInt(3)) {
+                case 0 -> new CreditCard();
+                case 1 -> new UPI();
+                default -> new NetBanking();
+            };
+            tens[i] = (Ten) newInstance(tenTypes[random.nextInt(tenTypes.length)], i);
+            fifties[i] = (Fifty) newInstance(fiftyTypes[random.nextInt(fiftyTypes.length)], i);
+        }
+
+        TypeDispatcher<Payment, String> paymentDispatcher = TypeDispatcher.<Payment, String>builder(Payment.class)
+                .on(CreditCard.class, c -> LABELS[0])
+                .on(UPI.class, u -> LABELS[1])
+                .on(NetBanking.class, n -> LABELS[2])
+                .build();
+        TypeDispatcher<Ten, String> tenDispatcher = dispatcher10();
+        TypeDispatcher<Fifty, String> fiftyDispatcher = dispatcher50();
+
+        // One loop per variant: a shared loop would see all of them at one call site and inline none
+        // Each loop sums the label lengths, so every dispatch result is used
+        long chain3 = Bench.best(() -> {
+            long sum = 0;
+            for (Payment x : payments) {
+                sum += instanceofChain3(x).length();
+            }
+            return sum;
+        });
+        long switch3 = Bench.best(() -> {
+            long sum = 0;
+            for (Payment x : payments) {
+                sum += patternSwitch3(x).length();
+            }
+            return sum;
+        });
+        long apply3 = Bench.best(() -> {
+            long sum = 0;
+            for (Payment x : payments) {
+                sum += paymentDispatcher.apply(x).length();
+            }
+            return sum;
+        });
+        long index3 = Bench.best(() -> {
+            long sum = 0;
+            for (Payment x : payments) {
+                sum += indexSwitch3(paymentDispatcher, x).length();
+            }
+            return sum;
+        });
+        long chain10 = Bench.best(() -> {
+            long sum = 0;
+            for (Ten x : tens) {
+                sum += instanceofChain10(x).length();
+            }
+            return sum;
+        });
+        long switch10 = Bench.best(() -> {
+            long sum = 0;
+            for (Ten x : tens) {
+                sum += patternSwitch10(x).length();
+            }
+            return sum;
+        });
+        long apply10 = Bench.best(() -> {
+            long sum = 0;
+            for (Ten x : tens) {
+                sum += tenDispatcher.apply(x).length();
+            }
+            return sum;
+        });
+        long index10 = Bench.best(() -> {
+            long sum = 0;
+            for (Ten x : tens) {
+                sum += indexSwitch10(tenDispatcher, x).length();
+            }
+            return sum;
+        });
+        long chain50 = Bench.best(() -> {
+            long sum = 0;
+            for (Fifty x : fifties) {
+                sum += instanceofChain50(x).length();
+            }
+            return sum;
+        });
+        long switch50 = Bench.best(() -> {
+            long sum = 0;
+            for (Fifty x : fifties) {
+                sum += patternSwitch50(x).length();
+            }
+            return sum;
+        });
+        long apply50 = Bench.best(() -> {
+            long sum = 0;
+            for (Fifty x : fifties) {
+                sum += fiftyDispatcher.apply(x).length();
+            }
+            return sum;
+        });
+        long index50 = Bench.best(() -> {
+            long sum = 0;
+            for (Fifty x : fifties) {
+                sum += indexSwitch50(fiftyDispatcher, x).length();
+            }
+            return sum;
+        });
+
+        System.out.printf("%,d objects per run, best of 5%n", size);
+        System.out.println("Subtypes  instanceof chain  pattern switch  dispatcher apply  dispatcher index switch");
+        System.out.printf("%8d %14d ms %12d ms %14d ms %21d ms%n", 3, chain3, switch3, apply3, index3);
+        System.out.printf("%8d %14d ms %12d ms %14d ms %21d ms%n", 10, chain10, switch10, apply10, index10);
+        System.out.printf("%8d %14d ms %12d ms %14d ms %21d ms%n", 50, chain50, switch50, apply50, index50);
+    }
+
+    private static Object newInstance(Class<?> recordType, int value) {
+        try {
+            return recordType.getDeclaredConstructor(int.class).newInstance(value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final String[] LABELS = new String[50];
+
+    static {
+        for (int i = 0; i < LABELS.length; i++) {
+            LABELS[i] = "type-" + i;
+        }
+    }
+
+    // ---------------- 3 subtypes: the Payment hierarchy ----------------
+
+    private static String instanceofChain3(Payment x) {
+        if (x instanceof CreditCard) {
+            return LABELS[0];
+        } else if (x instanceof UPI) {
+            return LABELS[1];
+        } else if (x instanceof NetBanking) {
+            return LABELS[2];
+        }
+        throw new IllegalArgumentException();
+    }
+
+    private static String patternSwitch3(Payment x) {
+        return switch (x) {
+            case CreditCard c -> LABELS[0];
+            case UPI u -> LABELS[1];
+            case NetBanking n -> LABELS[2];
+        };
+    }
+
+    private static String indexSwitch3(TypeDispatcher<Payment, String> dispatcher, Payment x) {
+        return switch (dispatcher.indexOf(x)) {
+            case 0 -> LABELS[0];
+            case 1 -> LABELS[1];
+            case 2 -> LABELS[2];
+            default -> throw new IllegalArgumentException();
+        };
+    }
+
+    // ---------------- 10 and 50 subtypes ----------------
+
+    // Permitted subclasses in the same file need no "permits" clause
+    sealed interface Ten {
+    }
+
+    sealed interface Fifty {
+    }
+
+    record T0(int v) implements Ten {
+    }
+    record T1(int v) implements Ten {
+    }
+    record T2(int v) implements Ten {
+    }
+    record T3(int v) implements Ten {
+    }
+    record T4(int v) implements Ten {
+    }
+    record T5(int v) implements Ten {
+    }
+    record T6(int v) implements Ten {
+    }
+    record T7(int v) implements Ten {
+    }
+    record T8(int v) implements Ten {
+    }
+    record T9(int v) implements Ten {
+    }
+
+    private static String instanceofChain10(Ten x) {
+        if (x instanceof T0) {
+            return LABELS[0];
+        } else if (x instanceof T1) {
+            return LABELS[1];
+        } else if (x instanceof T2) {
+            return LABELS[2];
+        } else if (x instanceof T3) {
+            return LABELS[3];
+        } else if (x instanceof T4) {
+            return LABELS[4];
+        } else if (x instanceof T5) {
+            return LABELS[5];
+        } else if (x instanceof T6) {
+            return LABELS[6];
+        } else if (x instanceof T7) {
+            return LABELS[7];
+        } else if (x instanceof T8) {
+            return LABELS[8];
+        } else if (x instanceof T9) {
+            return LABELS[9];
+        }
+        throw new IllegalArgumentException();
+    }
+
+    private static String patternSwitch10(Ten x) {
+        return switch (x) {
+            case T0 t -> LABELS[0];
+            case T1 t -> LABELS[1];
+            case T2 t -> LABELS[2];
+            case T3 t -> LABELS[3];
+            case T4 t -> LABELS[4];
+            case T5 t -> LABELS[5];
+            case T6 t -> LABELS[6];
+            case T7 t -> LABELS[7];
+            case T8 t -> LABELS[8];
+            case T9 t -> LABELS[9];
+        };
+    }
+
+    record F0(int v) implements Fifty {
+    }
+    record F1(int v) implements Fifty {
+    }
+    record F2(int v) implements Fifty {
+    }
+    record F3(int v) implements Fifty {
+    }
+    record F4(int v) implements Fifty {
+    }
+    record F5(int v) implements Fifty {
+    }
+    record F6(int v) implements Fifty {
+    }
+    record F7(int v) implements Fifty {
+    }
+    record F8(int v) implements Fifty {
+    }
+    record F9(int v) implements Fifty {
+    }
+    record F10(int v) implements Fifty {
+    }
+    record F11(int v) implements Fifty {
+    }
+    record F12(int v) implements Fifty {
+    }
+    record F13(int v) implements Fifty {
+    }
+    record F14(int v) implements Fifty {
+    }
+    record F15(int v) implements Fifty {
+    }
+    record F16(int v) implements Fifty {
+    }
+    record F17(int v) implements Fifty {
+    }
+    record F18(int v) implements Fifty {
+    }
+    record F19(int v) implements Fifty {
+    }
+    record F20(int v) implements Fifty {
+    }
+    record F21(int v) implements Fifty {
+    }
+    record F22(int v) implements Fifty {
+    }
+    record F23(int v) implements Fifty {
+    }
+    record F24(int v) implements Fifty {
+    }
+    record F25(int v) implements Fifty {
+    }
+    record F26(int v) implements Fifty {
+    }
+    record F27(int v) implements Fifty {
+    }
+    record F28(int v) implements Fifty {
+    }
+    record F29(int v) implements Fifty {
+    }
+    record F30(int v) implements Fifty {
+    }
+    record F31(int v) implements Fifty {
+    }
+    record F32(int v) implements Fifty {
+    }
+    record F33(int v) implements Fifty {
+    }
+    record F34(int v) implements Fifty {
+    }
+    record F35(int v) implements Fifty {
+    }
+    record F36(int v) implements Fifty {
+    }
+    record F37(int v) implements Fifty {
+    }
+    record F38(int v) implements Fifty {
+    }
+    record F39(int v) implements Fifty {
+    }
+    record F40(int v) implements Fifty {
+    }
+    record F41(int v) implements Fifty {
+    }
+    record F42(int v) implements Fifty {
+    }
+    record F43(int v) implements Fifty {
+    }
+    record F44(int v) implements Fifty {
+    }
+    record F45(int v) implements Fifty {
+    }
+    record F46(int v) implements Fifty {
+    }
+    record F47(int v) implements Fifty {
+    }
+    record F48(int v) implements Fifty {
+    }
+    record F49(int v) implements Fifty {
+    }
+
+    private static String instanceofChain50(Fifty x) {
+        if (x instanceof F0) {
+            return LABELS[0];
+        } else if (x instanceof F1) {
+            return LABELS[1];
+        } else if (x instanceof F2) {
+            return LABELS[2];
+        } else if (x instanceof F3) {
+            return LABELS[3];
+        } else if (x instanceof F4) {
+            return LABELS[4];
+        } else if (x instanceof F5) {
+            return LABELS[5];
+        } else if (x instanceof F6) {
+            return LABELS[6];
+        } else if (x instanceof F7) {
+            return LABELS[7];
+        } else if (x instanceof F8) {
+            return LABELS[8];
+        } else if (x instanceof F9) {
+            return LABELS[9];
+        } else if (x instanceof F10) {
+            return LABELS[10];
+        } else if (x instanceof F11) {
+            return LABELS[11];
+        } else if (x instanceof F12) {
+            return LABELS[12];
+        } else if (x instanceof F13) {
+            return LABELS[13];
+        } else if (x instanceof F14) {
+            return LABELS[14];
+        } else if (x instanceof F15) {
+            return LABELS[15];
+        } else if (x instanceof F16) {
+            return LABELS[16];
+        } else if (x instanceof F17) {
+            return LABELS[17];
+        } else if (x instanceof F18) {
+            return LABELS[18];
+        } else if (x instanceof F19) {
+            return LABELS[19];
+        } else if (x instanceof F20) {
+            return LABELS[20];
+        } else if (x instanceof F21) {
+            return LABELS[21];
+        } else if (x instanceof F22) {
+            return LABELS[22];
+        } else if (x instanceof F23) {
+            return LABELS[23];
+        } else if (x instanceof F24) {
+            return LABELS[24];
+        } else if (x instanceof F25) {
+            return LABELS[25];
+        } else if (x instanceof F26) {
+            return LABELS[26];
+        } else if (x instanceof F27) {
+            return LABELS[27];
+        } else if (x instanceof F28) {
+            return LABELS[28];
+        } else if (x instanceof F29) {
+            return LABELS[29];
+        } else if (x instanceof F30) {
+            return LABELS[30];
+        } else if (x instanceof F31) {
+            return LABELS[31];
+        } else if (x instanceof F32) {
+            return LABELS[32];
+        } else if (x instanceof F33) {
+            return LABELS[33];
+        } else if (x instanceof F34) {
+            return LABELS[34];
+        } else if (x instanceof F35) {
+            return LABELS[35];
+        } else if (x instanceof F36) {
+            return LABELS[36];
+        } else if (x instanceof F37) {
+            return LABELS[37];
+        } else if (x instanceof F38) {
+            return LABELS[38];
+        } else if (x instanceof F39) {
+            return LABELS[39];
+        } else if (x instanceof F40) {
+            return LABELS[40];
+        } else if (x instanceof F41) {
+            return LABELS[41];
+        } else if (x instanceof F42) {
+            return LABELS[42];
+        } else if (x instanceof F43) {
+            return LABELS[43];
+        } else if (x instanceof F44) {
+            return LABELS[44];
+        } else if (x instanceof F45) {
+            return LABELS[45];
+        } else if (x instanceof F46) {
+            return LABELS[46];
+        } else if (x instanceof F47) {
+            return LABELS[47];
+        } else if (x instanceof F48) {
+            return LABELS[48];
+        } else if (x instanceof F49) {
+            return LABELS[49];
+        }
+        throw new IllegalArgumentException();
+    }
+
+    private static String patternSwitch50(Fifty x) {
+        return switch (x) {
+            case F0 t -> LABELS[0];
+            case F1 t -> LABELS[1];
+            case F2 t -> LABELS[2];
+            case F3 t -> LABELS[3];
+            case F4 t -> LABELS[4];
+            case F5 t -> LABELS[5];
+            case F6 t -> LABELS[6];
+            case F7 t -> LABELS[7];
+            case F8 t -> LABELS[8];
+            case F9 t -> LABELS[9];
+            case F10 t -> LABELS[10];
+            case F11 t -> LABELS[11];
+            case F12 t -> LABELS[12];
+            case F13 t -> LABELS[13];
+            case F14 t -> LABELS[14];
+            case F15 t -> LABELS[15];
+            case F16 t -> LABELS[16];
+            case F17 t -> LABELS[17];
+            case F18 t -> LABELS[18];
+            case F19 t -> LABELS[19];
+            case F20 t -> LABELS[20];
+            case F21 t -> LABELS[21];
+            case F22 t -> LABELS[22];
+            case F23 t -> LABELS[23];
+            case F24 t -> LABELS[24];
+            case F25 t -> LABELS[25];
+            case F26 t -> LABELS[26];
+            case F27 t -> LABELS[27];
+            case F28 t -> LABELS[28];
+            case F29 t -> LABELS[29];
+            case F30 t -> LABELS[30];
+            case F31 t -> LABELS[31];
+            case F32 t -> LABELS[32];
+            case F33 t -> LABELS[33];
+            case F34 t -> LABELS[34];
+            case F35 t -> LABELS[35];
+            case F36 t -> LABELS[36];
+            case F37 t -> LABELS[37];
+            case F38 t -> LABELS[38];
+            case F39 t -> LABELS[39];
+            case F40 t -> LABELS[40];
+            case F41 t -> LABELS[41];
+            case F42 t -> LABELS[42];
+            case F43 t -> LABELS[43];
+            case F44 t -> LABELS[44];
+            case F45 t -> LABELS[45];
+            case F46 t -> LABELS[46];
+            case F47 t -> LABELS[47];
+            case F48 t -> LABELS[48];
+            case F49 t -> LABELS[49];
+        };
+    }
+
+    private static TypeDispatcher<Ten, String> dispatcher10() {
+        return TypeDispatcher.<Ten, String>builder(Ten.class)
+                .on(T0.class, x -> LABELS[0])
+                .on(T1.class, x -> LABELS[1])
+                .on(T2.class, x -> LABELS[2])
+                .on(T3.class, x -> LABELS[3])
+                .on(T4.class, x -> LABELS[4])
+                .on(T5.class, x -> LABELS[5])
+                .on(T6.class, x -> LABELS[6])
+                .on(T7.class, x -> LABELS[7])
+                .on(T8.class, x -> LABELS[8])
+                .on(T9.class, x -> LABELS[9])
+                .build();
+    }
+
+    private static String indexSwitch10(TypeDispatcher<Ten, String> dispatcher, Ten x) {
+        return switch (dispatcher.indexOf(x)) {
+            case 0 -> LABELS[0];
+            case 1 -> LABELS[1];
+            case 2 -> LABELS[2];
+            case 3 -> LABELS[3];
+            case 4 -> LABELS[4];
+            case 5 -> LABELS[5];
+            case 6 -> LABELS[6];
+            case 7 -> LABELS[7];
+            case 8 -> LABELS[8];
+            case 9 -> LABELS[9];
+            default -> throw new IllegalArgumentException();
+        };
+    }
+
+    private static TypeDispatcher<Fifty, String> dispatcher50() {
+        return TypeDispatcher.<Fifty, String>builder(Fifty.class)
+                .on(F0.class, x -> LABELS[0])
+                .on(F1.class, x -> LABELS[1])
+                .on(F2.class, x -> LABELS[2])
+                .on(F3.class, x -> LABELS[3])
+                .on(F4.class, x -> LABELS[4])
+                .on(F5.class, x -> LABELS[5])
+                .on(F6.class, x -> LABELS[6])
+                .on(F7.class, x -> LABELS[7])
+                .on(F8.class, x -> LABELS[8])
+                .on(F9.class, x -> LABELS[9])
+                .on(F10.class, x -> LABELS[10])
+                .on(F11.class, x -> LABELS[11])
+                .on(F12.class, x -> LABELS[12])
+                .on(F13.class, x -> LABELS[13])
+                .on(F14.class, x -> LABELS[14])
+                .on(F15.class, x -> LABELS[15])
+                .on(F16.class, x -> LABELS[16])
+                .on(F17.class, x -> LABELS[17])
+                .on(F18.class, x -> LABELS[18])
+                .on(F19.class, x -> LABELS[19])
+                .on(F20.class, x -> LABELS[20])
+                .on(F21.class, x -> LABELS[21])
+                .on(F22.class, x -> LABELS[22])
+                .on(F23.class, x -> LABELS[23])
+                .on(F24.class, x -> LABELS[24])
+                .on(F25.class, x -> LABELS[25])
+                .on(F26.class, x -> LABELS[26])
+                .on(F27.class, x -> LABELS[27])
+                .on(F28.class, x -> LABELS[28])
+                .on(F29.class, x -> LABELS[29])
+                .on(F30.class, x -> LABELS[30])
+                .on(F31.class, x -> LABELS[31])
+                .on(F32.class, x -> LABELS[32])
+                .on(F33.class, x -> LABELS[33])
+                .on(F34.class, x -> LABELS[34])
+                .on(F35.class, x -> LABELS[35])
+                .on(F36.class, x -> LABELS[36])
+                .on(F37.class, x -> LABELS[37])
+                .on(F38.class, x -> LABELS[38])
+                .on(F39.class, x -> LABELS[39])
+                .on(F40.class, x -> LABELS[40])
+                .on(F41.class, x -> LABELS[41])
+                .on(F42.class, x -> LABELS[42])
+                .on(F43.class, x -> LABELS[43])
+                .on(F44.class, x -> LABELS[44])
+                .on(F45.class, x -> LABELS[45])
+                .on(F46.class, x -> LABELS[46])
+                .on(F47.class, x -> LABELS[47])
+                .on(F48.class, x -> LABELS[48])
+                .on(F49.class, x -> LABELS[49])
+                .build();
+    }
+
+    private static String indexSwitch50(TypeDispatcher<Fifty, String> dispatcher, Fifty x) {
+        return switch (dispatcher.indexOf(x)) {
+            case 0 -> LABELS[0];
+            case 1 -> LABELS[1];
+            case 2 -> LABELS[2];
+            case 3 -> LABELS[3];
+            case 4 -> LABELS[4];
+            case 5 -> LABELS[5];
+            case 6 -> LABELS[6];
+            case 7 -> LABELS[7];
+            case 8 -> LABELS[8];
+            case 9 -> LABELS[9];
+            case 10 -> LABELS[10];
+            case 11 -> LABELS[11];
+            case 12 -> LABELS[12];
+            case 13 -> LABELS[13];
+            case 14 -> LABELS[14];
+            case 15 -> LABELS[15];
+            case 16 -> LABELS[16];
+            case 17 -> LABELS[17];
+            case 18 -> LABELS[18];
+            case 19 -> LABELS[19];
+            case 20 -> LABELS[20];
+            case 21 -> LABELS[21];
+            case 22 -> LABELS[22];
+            case 23 -> LABELS[23];
+            case 24 -> LABELS[24];
+            case 25 -> LABELS[25];
+            case 26 -> LABELS[26];
+            case 27 -> LABELS[27];
+            case 28 -> LABELS[28];
+            case 29 -> LABELS[29];
+            case 30 -> LABELS[30];
+            case 31 -> LABELS[31];
+            case 32 -> LABELS[32];
+            case 33 -> LABELS[33];
+            case 34 -> LABELS[34];
+            case 35 -> LABELS[35];
+            case 36 -> LABELS[36];
+            case 37 -> LABELS[37];
+            case 38 -> LABELS[38];
+            case 39 -> LABELS[39];
+            case 40 -> LABELS[40];
+            case 41 -> LABELS[41];
+            case 42 -> LABELS[42];
+            case 43 -> LABELS[43];
+            case 44 -> LABELS[44];
+            case 45 -> LABELS[45];
+            case 46 -> LABELS[46];
+            case 47 -> LABELS[47];
+            case 48 -> LABELS[48];
+            case 49 -> LABELS[49];
+            default -> throw new IllegalArgumentException();
+        };
+    }
+}
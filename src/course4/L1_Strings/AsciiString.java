@@ -0,0 +1,188 @@
+package course4.L1_Strings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*
+ 👉 Compact immutable string for short ASCII / Latin-1 codes ("IN", "US", "Apple" ...)
+    - A java.lang.String is two objects: the String (24 bytes) + its byte[] (16 bytes header + data)
+    - AsciiString keeps up to 15 bytes INLINE in two longs: one object, no array
+      word0 = bytes 0-7, word1 = bytes 8-14 + the length in the top byte
+    - Longer text falls back to a byte[] (still one byte per char)
+    - Hash is computed once, with the same formula as String.hashCode()
+    - equals() of two inline strings = two long comparisons; compareTo() compares 8 bytes at a time
+    - Implements CharSequence and Comparable, so it works in HashMap, TreeSet, ... and AsciiStringMap
+*/
+public final class AsciiString implements CharSequence, Comparable<AsciiString> {
+
+    public static final int INLINE_LIMIT = 15;
+
+    private final long word0;
+    private final long word1;
+    private final byte[] bytes; // only for strings longer than INLINE_LIMIT
+    private final int length;
+    private final int hash;
+
+    private AsciiString(long word0, long word1, byte[] bytes, int length, int hash) {
+        this.word0 = word0;
+        this.word1 = word1;
+        this.bytes = bytes;
+        this.length = length;
+        this.hash = hash;
+    }
+
+    // Characters above 0xFF do not fit in one byte and are rejected
+    public static AsciiString of(CharSequence text) {
+        int length = text.length();
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c > 0xFF) {
+                throw new IllegalArgumentException("Not a Latin-1 character at index " + i + ": " + text);
+            }
+            data[i] = (byte) c;
+        }
+        return of(data, 0, length);
+    }
+
+    // Straight from an input buffer: bytes are taken as Latin-1, nothing is decoded
+    public static AsciiString of(byte[] data, int from, int to) {
+        int length = to - from;
+        int hash = hash(data, from, to);
+        if (length <= INLINE_LIMIT) {
+            return new AsciiString(word0(data, from, to), word1(data, from, to), null, length, hash);
+        }
+        return new AsciiString(0, 0, Arrays.copyOfRange(data, from, to), length, hash);
+    }
+
+    // ---------------- Packing (shared with AsciiStringMap) ----------------
+
+    static long word0(byte[] data, int from, int to) {
+        long word = 0;
+        for (int i = Math.min(to - from, 8) - 1; i >= 0; i--) {
+            word = word << 8 | (data[from + i] & 0xFF);
+        }
+        return word;
+    }
+
+    static long word1(byte[] data, int from, int to) {
+        int length = to - from;
+        long word = (long) length << 56;
+        for (int i = 8; i < length; i++) {
+            word |= (long) (data[from + i] & 0xFF) << (8 * (i - 8));
+        }
+        return word;
+    }
+
+    // Same value as new String(data, from, to - from, ISO_8859_1).hashCode()
+    static int hash(byte[] data, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + (data[i] & 0xFF);
+        }
+        return h;
+    }
+
+    boolean isInline() {
+        return bytes == null;
+    }
+
+    long word0() {
+        return word0;
+    }
+
+    long word1() {
+        return word1;
+    }
+
+    // ---------------- CharSequence ----------------
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        if (bytes != null) {
+            return (char) (bytes[index] & 0xFF);
+        }
+        long word = index < 8 ? word0 >>> (8 * index) : word1 >>> (8 * (index - 8));
+        return (char) (word & 0xFF);
+    }
+
+    @Override
+    public AsciiString subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + length);
+        }
+        byte[] data = toBytes();
+        return of(data, start, end);
+    }
+
+    public byte[] toBytes() {
+        if (bytes != null) {
+            return bytes.clone();
+        }
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) charAt(i);
+        }
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return new String(toBytes(), StandardCharsets.ISO_8859_1);
+    }
+
+    // ---------------- equals / hashCode / compareTo ----------------
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof AsciiString other) || hash != other.hash || length != other.length) return false;
+        if (bytes == null) {
+            return word0 == other.word0 && word1 == other.word1;
+        }
+        return Arrays.equals(bytes, other.bytes);
+    }
+
+    // Unsigned byte order, i.e. the same order as comparing the Strings
+    @Override
+    public int compareTo(AsciiString other) {
+        if (bytes == null && other.bytes == null) {
+            // Reversing the bytes puts the first char in the highest position: one compare = 8 chars
+            int c = Long.compareUnsigned(Long.reverseBytes(word0), Long.reverseBytes(other.word0));
+            if (c != 0) {
+                return c;
+            }
+            long data = 0x00FF_FFFF_FFFF_FFFFL;
+            c = Long.compareUnsigned(Long.reverseBytes(word1 & data), Long.reverseBytes(other.word1 & data));
+            return c != 0 ? c : Integer.compare(length, other.length);
+        }
+        int common = Math.min(length, other.length);
+        for (int i = 0; i < common; i++) {
+            int c = Character.compare(charAt(i), other.charAt(i));
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(length, other.length);
+    }
+
+    // Rough heap footprint, for comparing with a String of the same text
+    public long estimatedSize() {
+        long object = 12 + 8 + 8 + 4 + 4 + 4; // header + word0 + word1 + bytes + length + hash
+        long size = (object + 7) & ~7;
+        return bytes == null ? size : size + ((16 + bytes.length + 7) & ~7);
+    }
+}
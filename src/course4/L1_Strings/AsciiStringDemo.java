@@ -0,0 +1,158 @@
+package course4.L1_Strings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import benchmark.Bench;
+
+/*
+ 👉 AsciiString and AsciiStringMap
+    1. The country codes from course5 L8_Map and the fruits from L10_Set with AsciiString keys
+    2. Same ordering as String
+    3. Benchmark: memory and lookup speed of 1M short keys against HashMap<String, V>
+*/
+public class AsciiStringDemo {
+
+    public static void main(String[] args) {
+        // 1. Country codes, looked up by AsciiString, by String and straight from bytes
+        AsciiStringMap<String> countries = new AsciiStringMap<>();
+        countries.put("IN", "India");
+        countries.put("US", "United States");
+        countries.put("UK", "United Kingdom");
+        countries.put("CN", "China");
+        System.out.println("Country with code 'IN': " + countries.get(AsciiString.of("IN")));
+        byte[] request = "GET /country/US".getBytes(StandardCharsets.US_ASCII);
+        System.out.println("Country from request bytes: " + countries.get(request, 13, 15));
+        countries.remove(AsciiString.of("CN"));
+        System.out.println("Map: " + countries + ", size " + countries.size());
+
+        // Fruits in standard sets: equals/hashCode/compareTo behave like String
+        String[] fruits = {"Grape", "Apple", "Orange", "Banana", "Apple", "Grape"};
+        Set<AsciiString> hashSet = new HashSet<>();
+        Set<AsciiString> treeSet = new TreeSet<>();
+        for (String fruit : fruits) {
+            hashSet.add(AsciiString.of(fruit));
+            treeSet.add(AsciiString.of(fruit));
+        }
+        System.out.println("HashSet size: " + hashSet.size() + ", TreeSet (sorted): " + treeSet);
+        AsciiString apple = AsciiString.of("Apple");
+        System.out.println("\"Apple\": hash same as String? " + (apple.hashCode() == "Apple".hashCode())
+                + ", ~" + apple.estimatedSize() + " bytes vs ~" + InternPool.estimatedSize("Apple") + " bytes as String");
+
+        // 2. Ordering matches String.compareTo, also across the inline/array boundary
+        Random random = new Random(3);
+        int mismatches = 0;
+        for (int i = 0; i < 100_000; i++) {
+            String a = randomKey(random, 20);
+            String b = random.nextBoolean() ? a.substring(0, random.nextInt(a.length() + 1)) : randomKey(random, 20);
+            if (Integer.signum(a.compareTo(b)) != Integer.signum(AsciiString.of(a).compareTo(AsciiString.of(b)))) {
+                mismatches++;
+            }
+        }
+        System.out.println("compareTo mismatches with String in 100,000 pairs: " + mismatches);
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        benchmark(size);
+    }
+
+    private static void benchmark(int size) {
+        String[] keys = new String[size];
+        byte[][] keyBytes = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            keys[i] = "K" + Integer.toString(i * 31 + 7, 36).toUpperCase(); // short codes, up to 8 chars
+            keyBytes[i] = keys[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        int[] probes = new int[10 * size];
+        Random random = new Random(5);
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = random.nextInt(size);
+        }
+
+        long before = Bench.usedHeap();
+        Map<String, Integer> stringMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            stringMap.put(new String(keyBytes[i], StandardCharsets.US_ASCII), i);
+        }
+        long stringMapBytes = Bench.usedHeap() - before;
+
+        before = Bench.usedHeap();
+        Map<AsciiString, Integer> asciiHashMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            asciiHashMap.put(AsciiString.of(keyBytes[i], 0, keyBytes[i].length), i);
+        }
+        long asciiHashMapBytes = Bench.usedHeap() - before;
+
+        before = Bench.usedHeap();
+        AsciiStringMap<Integer> asciiMap = new AsciiStringMap<>();
+        for (int i = 0; i < size; i++) {
+            asciiMap.put(AsciiString.of(keyBytes[i], 0, keyBytes[i].length), i);
+        }
+        long asciiMapBytes = Bench.usedHeap() - before;
+
+        // Lookups with key objects that are equal but not identical (as when keys come from input)
+        String[] stringProbes = new String[size];
+        AsciiString[] asciiProbes = new AsciiString[size];
+        for (int i = 0; i < size; i++) {
+            stringProbes[i] = new String(keyBytes[i], StandardCharsets.US_ASCII);
+            asciiProbes[i] = AsciiString.of(keyBytes[i], 0, keyBytes[i].length);
+        }
+        long stringLookup = Bench.best(() -> {
+            long sum = 0;
+            for (int p : probes) {
+                sum += stringMap.get(stringProbes[p]);
+            }
+            return sum;
+        });
+        long asciiHashLookup = Bench.best(() -> {
+            long sum = 0;
+            for (int p : probes) {
+                sum += asciiHashMap.get(asciiProbes[p]);
+            }
+            return sum;
+        });
+        long asciiLookup = Bench.best(() -> {
+            long sum = 0;
+            for (int p : probes) {
+                sum += asciiMap.get(asciiProbes[p]);
+            }
+            return sum;
+        });
+        // From raw bytes: HashMap needs a new String per lookup, AsciiStringMap does not
+        long stringFromBytes = Bench.best(() -> {
+            long sum = 0;
+            for (int p : probes) {
+                sum += stringMap.get(new String(keyBytes[p], StandardCharsets.US_ASCII));
+            }
+            return sum;
+        });
+        long asciiFromBytes = Bench.best(() -> {
+            long sum = 0;
+            for (int p : probes) {
+                sum += asciiMap.get(keyBytes[p], 0, keyBytes[p].length);
+            }
+            return sum;
+        });
+
+        System.out.printf("%,d short keys (values are Integers in all maps), %,d lookups%n", size, probes.length);
+        System.out.printf("HashMap<String, V>      : %4d MB, lookup %4d ms, from bytes %4d ms%n",
+                stringMapBytes >> 20, stringLookup, stringFromBytes);
+        System.out.printf("HashMap<AsciiString, V> : %4d MB, lookup %4d ms%n", asciiHashMapBytes >> 20, asciiHashLookup);
+        System.out.printf("AsciiStringMap<V>       : %4d MB, lookup %4d ms, from bytes %4d ms%n",
+                asciiMapBytes >> 20, asciiLookup, asciiFromBytes);
+    }
+
+    private static String randomKey(Random random, int maxLength) {
+        char[] chars = new char[random.nextInt(maxLength + 1)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (random.nextInt(4) == 0 ? 0x80 + random.nextInt(0x80) : 'A' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
+}
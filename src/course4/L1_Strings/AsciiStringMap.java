@@ -0,0 +1,248 @@
+package course4.L1_Strings;
+
+import java.util.function.BiConsumer;
+
+/*
+ 👉 Hash map specialized for AsciiString keys
+    - Keys of up to 15 bytes are stored as two longs in primitive arrays: no key objects at all
+      (a HashMap<String, V> entry costs a Node (32 bytes) + a String (48+ bytes) per key)
+    - Open addressing with linear probing, table kept at most half full
+    - get(byte[], from, to) looks up raw input bytes without creating a key object
+    - Longer keys are kept as AsciiString objects in a side array
+*/
+public final class AsciiStringMap<V> {
+
+    // word1 of every occupied inline slot has this bit set, so an all-zero slot means "empty"
+    private static final long OCCUPIED = 1L << 63;
+    private static final long LONG_KEY = -1L; // word1 marker: key is in longKeys[slot]
+
+    private long[] word0;
+    private long[] word1;
+    private AsciiString[] longKeys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public AsciiStringMap() {
+        this(16);
+    }
+
+    public AsciiStringMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public V put(AsciiString key, V value) {
+        if ((size + 1) * 2 > values.length) {
+            resize();
+        }
+        int slot = find(key);
+        if (slot >= 0) {
+            @SuppressWarnings("unchecked")
+            V old = (V) values[slot];
+            values[slot] = value;
+            return old;
+        }
+        slot = -slot - 1;
+        store(slot, key, value);
+        size++;
+        return null;
+    }
+
+    public V put(CharSequence key, V value) {
+        return put(key instanceof AsciiString a ? a : AsciiString.of(key), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(AsciiString key) {
+        int slot = find(key);
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    public V get(CharSequence key) {
+        if (key instanceof AsciiString a) {
+            return get(a);
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) > 0xFF) {
+                return null; // cannot be a key of this map
+            }
+        }
+        return get(AsciiString.of(key));
+    }
+
+    // Lookup straight from input bytes (Latin-1), no key object is created for short keys
+    @SuppressWarnings("unchecked")
+    public V get(byte[] data, int from, int to) {
+        if (to - from > AsciiString.INLINE_LIMIT) {
+            return get(AsciiString.of(data, from, to));
+        }
+        long w0 = AsciiString.word0(data, from, to);
+        long w1 = AsciiString.word1(data, from, to) | OCCUPIED;
+        for (int slot = spread(AsciiString.hash(data, from, to)) & mask; word1[slot] != 0; slot = (slot + 1) & mask) {
+            if (word1[slot] == w1 && word0[slot] == w0) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    public boolean containsKey(AsciiString key) {
+        return find(key) >= 0;
+    }
+
+    public V remove(AsciiString key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        V old = (V) values[slot];
+        deleteSlot(slot);
+        size--;
+        return old;
+    }
+
+    // Keys are rebuilt from the packed words, so this allocates one AsciiString per entry
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super AsciiString, ? super V> action) {
+        for (int slot = 0; slot < values.length; slot++) {
+            if (word1[slot] != 0) {
+                action.accept(keyAt(slot), (V) values[slot]);
+            }
+        }
+    }
+
+    // ---------------- Internals ----------------
+
+    // Slot of the key if present, otherwise -(free slot) - 1
+    private int find(AsciiString key) {
+        boolean inline = key.isInline();
+        long w0 = inline ? key.word0() : 0;
+        long w1 = inline ? key.word1() | OCCUPIED : LONG_KEY;
+        int slot = spread(key.hashCode()) & mask;
+        while (word1[slot] != 0) {
+            if (word1[slot] == w1 && (inline ? word0[slot] == w0 : longKeys[slot].equals(key))) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    private void store(int slot, AsciiString key, Object value) {
+        if (key.isInline()) {
+            word0[slot] = key.word0();
+            word1[slot] = key.word1() | OCCUPIED;
+        } else {
+            word0[slot] = 0;
+            word1[slot] = LONG_KEY;
+            longKeys[slot] = key;
+        }
+        values[slot] = value;
+    }
+
+    private AsciiString keyAt(int slot) {
+        if (word1[slot] == LONG_KEY) {
+            return longKeys[slot];
+        }
+        long w0 = word0[slot];
+        long w1 = word1[slot] & ~OCCUPIED;
+        int length = (int) (w1 >>> 56);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i < 8 ? w0 >>> (8 * i) : w1 >>> (8 * (i - 8)));
+        }
+        return AsciiString.of(data, 0, length);
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void deleteSlot(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (word1[next] != 0) {
+            int home = spread(hashAt(next)) & mask;
+            // Move the entry into the gap if its home slot is not between the gap and its position
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                word0[gap] = word0[next];
+                word1[gap] = word1[next];
+                longKeys[gap] = longKeys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        word0[gap] = 0;
+        word1[gap] = 0;
+        longKeys[gap] = null;
+        values[gap] = null;
+    }
+
+    private void resize() {
+        long[] oldWord0 = word0;
+        long[] oldWord1 = word1;
+        AsciiString[] oldLongKeys = longKeys;
+        Object[] oldValues = values;
+        allocate(oldValues.length * 2);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldWord1[i] == 0) {
+                continue;
+            }
+            int hash = oldWord1[i] == LONG_KEY ? oldLongKeys[i].hashCode() : hashOf(oldWord0[i], oldWord1[i] & ~OCCUPIED);
+            int slot = spread(hash) & mask;
+            while (word1[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            word0[slot] = oldWord0[i];
+            word1[slot] = oldWord1[i];
+            longKeys[slot] = oldLongKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        word0 = new long[capacity];
+        word1 = new long[capacity];
+        longKeys = new AsciiString[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private int hashAt(int slot) {
+        return word1[slot] == LONG_KEY ? longKeys[slot].hashCode() : hashOf(word0[slot], word1[slot] & ~OCCUPIED);
+    }
+
+    // String.hashCode() of a packed inline key
+    private static int hashOf(long w0, long w1) {
+        int length = (int) (w1 >>> 56);
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + (int) ((i < 8 ? w0 >>> (8 * i) : w1 >>> (8 * (i - 8))) & 0xFF);
+        }
+        return h;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> sb.append(sb.length() > 1 ? ", " : "").append(k).append('=').append(v));
+        return sb.append('}').toString();
+    }
+
+    // Number of table slots, to estimate memory use
+    int capacity() {
+        return values.length;
+    }
+}
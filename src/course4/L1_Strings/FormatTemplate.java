@@ -0,0 +1,278 @@
+package course4.L1_Strings;
+
+import course4.L3_ReferenceMethod.NumberCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ 👉 Format string compiled once, rendered many times
+    - String.format / formatted() parse the format string on EVERY call and box every int and boolean
+    - compile() splits the format into literal text and placeholders once; rendering only appends
+    - Supported: %s, %d, %b, %n and %% (same output as String.format for these), text blocks included
+    - Arguments: reusable Arguments object with int/long/boolean overloads, so primitives are never boxed
+    - Output to StringBuilder, any Appendable, or UTF-8 bytes in a ByteBuffer
+*/
+public final class FormatTemplate {
+
+    private static final byte STRING = 's', DECIMAL = 'd', BOOLEAN = 'b';
+
+    private final String format;
+    private final String[] literals;       // literals[i] comes before placeholder i; one extra at the end
+    private final byte[][] literalBytes;   // the same text, UTF-8 encoded once for byte output
+    private final byte[] kinds;            // 's', 'd' or 'b' per placeholder
+    private final int literalLength;
+
+    private FormatTemplate(String format, List<String> literals, byte[] kinds) {
+        this.format = format;
+        this.literals = literals.toArray(new String[0]);
+        this.literalBytes = new byte[this.literals.length][];
+        int length = 0;
+        for (int i = 0; i < this.literals.length; i++) {
+            literalBytes[i] = this.literals[i].getBytes(StandardCharsets.UTF_8);
+            length += this.literals[i].length();
+        }
+        this.kinds = kinds;
+        this.literalLength = length;
+    }
+
+    // Parses the format once; unsupported conversions fail here instead of on first use
+    public static FormatTemplate compile(String format) {
+        List<String> literals = new ArrayList<>();
+        byte[] kinds = new byte[8];
+        int count = 0;
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (++i == format.length()) {
+                throw new IllegalArgumentException("Format ends with '%': " + format);
+            }
+            char conversion = format.charAt(i);
+            switch (conversion) {
+                case '%' -> literal.append('%');
+                case 'n' -> literal.append(System.lineSeparator());
+                case 's', 'd', 'b' -> {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    if (count == kinds.length) {
+                        kinds = Arrays.copyOf(kinds, count * 2);
+                    }
+                    kinds[count++] = (byte) conversion;
+                }
+                default -> throw new IllegalArgumentException(
+                        "Unsupported conversion '%" + conversion + "' (only %s, %d, %b, %n, %%): " + format);
+            }
+        }
+        literals.add(literal.toString());
+        return new FormatTemplate(format, literals, Arrays.copyOf(kinds, count));
+    }
+
+    public int placeholderCount() {
+        return kinds.length;
+    }
+
+    // A reusable argument holder for this template (one per thread, reset before each message)
+    public Arguments arguments() {
+        return new Arguments(this);
+    }
+
+    // Convenience form like String.format: boxes primitives, but still skips re-parsing the format
+    public String render(Object... args) {
+        StringBuilder sb = new StringBuilder(literalLength + 16 * kinds.length);
+        appendTo(sb, args);
+        return sb.toString();
+    }
+
+    public StringBuilder appendTo(StringBuilder sb, Object... args) {
+        if (args.length != kinds.length) {
+            throw new IllegalArgumentException("Expected " + kinds.length + " arguments but got " + args.length);
+        }
+        for (int i = 0; i < kinds.length; i++) {
+            sb.append(literals[i]);
+            Object arg = args[i];
+            switch (kinds[i]) {
+                case DECIMAL -> {
+                    if (arg != null && !(arg instanceof Integer || arg instanceof Long
+                            || arg instanceof Short || arg instanceof Byte)) {
+                        throw new IllegalArgumentException("%d needs an integer but got " + arg.getClass().getSimpleName());
+                    }
+                    sb.append(arg);
+                }
+                case BOOLEAN -> sb.append(asBoolean(arg));
+                default -> sb.append(arg);
+            }
+        }
+        return sb.append(literals[kinds.length]);
+    }
+
+    /*
+     👉 Argument values for one rendering, stored without boxing
+        - add(int) / add(long) / add(boolean) keep the primitive in a long[] slot
+        - add(Object) keeps the reference, for %s (and %b / %d with objects)
+        - reset() before each message; the arrays are reused
+    */
+    public static final class Arguments {
+        private final FormatTemplate template;
+        private final long[] primitives;
+        private final Object[] objects;
+        private final byte[] types;      // 'i' int/long, 'z' boolean, 'o' object
+        private int count;
+
+        private Arguments(FormatTemplate template) {
+            this.template = template;
+            int n = template.kinds.length;
+            this.primitives = new long[n];
+            this.objects = new Object[n];
+            this.types = new byte[n];
+        }
+
+        public Arguments reset() {
+            Arrays.fill(objects, 0, count, null); // do not keep old arguments reachable
+            count = 0;
+            return this;
+        }
+
+        public Arguments add(long value) {
+            check(DECIMAL, STRING);
+            primitives[count] = value;
+            types[count++] = 'i';
+            return this;
+        }
+
+        public Arguments add(int value) {
+            return add((long) value);
+        }
+
+        public Arguments add(boolean value) {
+            check(BOOLEAN, STRING);
+            primitives[count] = value ? 1 : 0;
+            types[count++] = 'z';
+            return this;
+        }
+
+        public Arguments add(Object value) {
+            if (count == types.length) {
+                throw new IllegalStateException("Template has only " + types.length + " placeholders");
+            }
+            if (template.kinds[count] == DECIMAL && value != null && !(value instanceof Integer
+                    || value instanceof Long || value instanceof Short || value instanceof Byte)) {
+                throw new IllegalArgumentException("%d needs an integer but got " + value.getClass().getSimpleName());
+            }
+            objects[count] = value;
+            types[count++] = 'o';
+            return this;
+        }
+
+        private void check(byte allowed, byte alsoAllowed) {
+            if (count == types.length) {
+                throw new IllegalStateException("Template has only " + types.length + " placeholders");
+            }
+            byte kind = template.kinds[count];
+            if (kind != allowed && kind != alsoAllowed) {
+                throw new IllegalArgumentException("Placeholder " + (count + 1) + " is %" + (char) kind);
+            }
+        }
+
+        private void checkComplete() {
+            if (count != types.length) {
+                throw new IllegalStateException("Expected " + types.length + " arguments but got " + count);
+            }
+        }
+
+        public StringBuilder appendTo(StringBuilder sb) {
+            checkComplete();
+            String[] literals = template.literals;
+            for (int i = 0; i < count; i++) {
+                sb.append(literals[i]);
+                switch (types[i]) {
+                    case 'i' -> sb.append(primitives[i]);
+                    case 'z' -> sb.append(primitives[i] != 0);
+                    default -> {
+                        Object value = objects[i];
+                        if (template.kinds[i] == BOOLEAN) {
+                            sb.append(asBoolean(value));
+                        } else {
+                            sb.append(value);
+                        }
+                    }
+                }
+            }
+            return sb.append(literals[count]);
+        }
+
+        public <A extends Appendable> A appendTo(A out) {
+            if (out instanceof StringBuilder sb) {
+                appendTo(sb);
+                return out;
+            }
+            try {
+                // Render into a small buffer first: Appendables like Writers are slow per call
+                out.append(appendTo(new StringBuilder(template.literalLength + 16 * count)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out;
+        }
+
+        // Writes UTF-8 bytes; literals are encoded once at compile time
+        public ByteBuffer writeTo(ByteBuffer out) {
+            checkComplete();
+            byte[][] literalBytes = template.literalBytes;
+            for (int i = 0; i < count; i++) {
+                out.put(literalBytes[i]);
+                switch (types[i]) {
+                    case 'i' -> NumberCodec.formatLong(primitives[i], out);
+                    case 'z' -> putAscii(out, primitives[i] != 0 ? "true" : "false");
+                    default -> {
+                        Object value = objects[i];
+                        String text = template.kinds[i] == BOOLEAN
+                                ? String.valueOf(asBoolean(value))
+                                : String.valueOf(value);
+                        putUtf8(out, text);
+                    }
+                }
+            }
+            return out.put(literalBytes[count]);
+        }
+
+        @Override
+        public String toString() {
+            return appendTo(new StringBuilder(template.literalLength + 16 * count)).toString();
+        }
+    }
+
+    // %b rules of String.format: null -> false, Boolean -> its value, anything else -> true
+    private static boolean asBoolean(Object value) {
+        return value instanceof Boolean b ? b : value != null;
+    }
+
+    private static void putAscii(ByteBuffer out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            out.put((byte) text.charAt(i));
+        }
+    }
+
+    private static void putUtf8(ByteBuffer out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                out.put(text.getBytes(StandardCharsets.UTF_8)); // rare: non-ASCII text
+                return;
+            }
+        }
+        putAscii(out, text);
+    }
+
+    @Override
+    public String toString() {
+        return format;
+    }
+}
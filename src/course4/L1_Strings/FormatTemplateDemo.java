@@ -0,0 +1,128 @@
+package course4.L1_Strings;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import benchmark.Bench;
+
+/*
+ 👉 FormatTemplate vs String.format
+    1. The Person.sleep() message from course1 and the text block template from MultiLineStrings
+    2. Rendering to StringBuilder, Appendable and a ByteBuffer
+    3. Benchmark against String.format / formatted()
+*/
+public class FormatTemplateDemo {
+
+    enum Gender {MALE, FEMALE, nonBinary}
+
+    // Same format as course1 Person.sleep(), compiled once
+    private static final String SLEEP_FORMAT =
+            "My name is %s, I am %d years old, I live in %s, course1.Gender: %s, Is child: %b";
+    private static final FormatTemplate SLEEP = FormatTemplate.compile(SLEEP_FORMAT);
+
+    // Text block templates work the same way
+    private static final FormatTemplate WELCOME = FormatTemplate.compile("""
+            Hello, %s!
+            Welcome to the %s course.
+            """);
+
+    public static void main(String[] args) {
+        // 1. Same output as String.format
+        String expected = String.format(SLEEP_FORMAT, "Mia", 62, "Toronto", Gender.FEMALE, false);
+        String rendered = SLEEP.render("Mia", 62, "Toronto", Gender.FEMALE, false);
+        System.out.println(rendered);
+        System.out.println("Same as String.format: " + expected.equals(rendered));
+        System.out.print(WELCOME.render("Vinoth", "Java"));
+
+        // 2. Reusable arguments: the int and boolean are not boxed
+        FormatTemplate.Arguments arguments = SLEEP.arguments();
+        StringBuilder sb = new StringBuilder();
+        arguments.reset().add("Alex").add(8).add("Chennai").add(Gender.MALE).add(true).appendTo(sb);
+        System.out.println(sb);
+
+        arguments.reset().add("X").add(30).add("Delhi").add(Gender.nonBinary).add(false).appendTo(System.out);
+        System.out.println();
+
+        ByteBuffer bytes = ByteBuffer.allocate(256);
+        WELCOME.arguments().add("Asha").add("Streams").writeTo(bytes);
+        System.out.print("ByteBuffer (" + bytes.position() + " bytes): "
+                + new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8));
+        try {
+            // "My name is Mia, I am " fills all but 2 bytes: the 7 digits of the int do not fit
+            arguments.reset().add("Mia").add(1_000_000).add("Toronto").add(Gender.FEMALE).add(false)
+                    .writeTo(ByteBuffer.allocate(SLEEP_FORMAT.indexOf("%d") + 3));
+        } catch (BufferOverflowException e) {
+            System.out.println("Buffer too small: BufferOverflowException");
+        }
+
+        // Mistakes show up at compile() or add() time
+        try {
+            FormatTemplate.compile("Price: %.2f");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+        try {
+            SLEEP.arguments().add("Y").add("not a number");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        benchmark(size);
+    }
+
+    private static void benchmark(int size) {
+        String[] names = {"Alex", "Mia", "X", "Priya", "Tom"};
+        String[] cities = {"Toronto", "Chennai", "Delhi", "Berlin"};
+        Gender[] genders = Gender.values();
+
+        Bench.Measurement format = Bench.measure(() -> {
+            long length = 0;
+            for (int i = 0; i < size; i++) {
+                length += String.format(SLEEP_FORMAT, names[i % 5], i % 90, cities[i % 4], genders[i % 3], i % 90 < 10).length();
+            }
+            return length;
+        });
+        Bench.Measurement render = Bench.measure(() -> {
+            long length = 0;
+            for (int i = 0; i < size; i++) {
+                length += SLEEP.render(names[i % 5], i % 90, cities[i % 4], genders[i % 3], i % 90 < 10).length();
+            }
+            return length;
+        });
+        FormatTemplate.Arguments arguments = SLEEP.arguments();
+        StringBuilder sb = new StringBuilder(128);
+        Bench.Measurement reused = Bench.measure(() -> {
+            long length = 0;
+            for (int i = 0; i < size; i++) {
+                sb.setLength(0);
+                arguments.reset().add(names[i % 5]).add(i % 90).add(cities[i % 4]).add(genders[i % 3]).add(i % 90 < 10);
+                length += arguments.appendTo(sb).length();
+            }
+            return length;
+        });
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        Bench.Measurement toBytes = Bench.measure(() -> {
+            long length = 0;
+            for (int i = 0; i < size; i++) {
+                buffer.clear();
+                arguments.reset().add(names[i % 5]).add(i % 90).add(cities[i % 4]).add(genders[i % 3]).add(i % 90 < 10);
+                length += arguments.writeTo(buffer).position();
+            }
+            return length;
+        });
+
+        System.out.printf("%,d messages%n", size);
+        print("String.format                  ", format, size);
+        print("FormatTemplate.render(...)     ", render, size);
+        print("Arguments -> reused builder    ", reused, size);
+        print("Arguments -> ByteBuffer (UTF-8)", toBytes, size);
+    }
+
+    private static void print(String label, Bench.Measurement m, int size) {
+        System.out.printf("%s: %5d ms, %,6d bytes allocated per message%n", label, m.millis(), m.bytes() / size);
+    }
+}
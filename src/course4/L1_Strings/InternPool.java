@@ -0,0 +1,176 @@
+package course4.L1_Strings;
+
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ 👉 Application-level String pool (like the literal pool from StringClass, but for runtime data)
+    - String.intern() uses one global JVM table that never forgets a value; this pool is
+      per use case and bounded: at most `capacity` strings are kept
+    - Set-associative table: a value can only live in one small set of 4 slots, chosen by its hash.
+      A full set evicts a random slot, so rare values cannot push out the whole pool.
+    - Concurrent without locks: slots are read/written atomically. Two threads interning the same new
+      value at once may briefly keep two copies - the price for never blocking.
+    - Weak mode: slots hold WeakReferences, so values nobody uses any more are also freed by the GC
+    - intern(byte[] ...) looks up UTF-8 input WITHOUT decoding it: a hit returns the pooled String
+      and no new String is created at all (only ASCII is compared in place, other text is decoded)
+    - stats(): hit rate and an estimate of the heap saved by the hits
+*/
+public final class InternPool {
+
+    private static final int WAYS = 4;
+
+    // Approximate heap size of a Latin-1 String: object header + fields + byte[] header, rounded to 8
+    private static final int STRING_OVERHEAD = 24 + 16;
+
+    private final AtomicReferenceArray<Object> slots; // String, or WeakReference<String> in weak mode
+    private final int setMask;
+    private final boolean weak;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    private InternPool(int capacity, boolean weak) {
+        if (capacity < WAYS) {
+            throw new IllegalArgumentException("Capacity must be at least " + WAYS);
+        }
+        int sets = Integer.highestOneBit(capacity / WAYS);
+        this.slots = new AtomicReferenceArray<>(sets * WAYS);
+        this.setMask = sets - 1;
+        this.weak = weak;
+    }
+
+    // Keeps up to `capacity` strings (rounded down to a power of two), evicting at random when full
+    public static InternPool bounded(int capacity) {
+        return new InternPool(capacity, false);
+    }
+
+    // Same bound, but unused strings can also be collected by the GC
+    public static InternPool weak(int capacity) {
+        return new InternPool(capacity, true);
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    // Returns the pooled instance equal to value, pooling value itself if there is none
+    public String intern(String value) {
+        lookups.increment();
+        int hash = value.hashCode();
+        int base = setIndex(hash);
+        for (int i = base; i < base + WAYS; i++) {
+            String pooled = get(i);
+            if (pooled != null && pooled.hashCode() == hash && pooled.equals(value)) {
+                hits.increment();
+                if (pooled != value) {
+                    bytesSaved.add(estimatedSize(pooled)); // the caller's copy can be dropped
+                }
+                return pooled;
+            }
+        }
+        insert(base, value);
+        return value;
+    }
+
+    // Looks up UTF-8 bytes; on a hit no String is created
+    public String intern(byte[] utf8, int from, int to) {
+        // String.hashCode() of ASCII text is the same 31*h + c over the bytes
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            byte b = utf8[i];
+            if (b < 0) {
+                return intern(new String(utf8, from, to - from, StandardCharsets.UTF_8)); // non-ASCII
+            }
+            hash = 31 * hash + b;
+        }
+        lookups.increment();
+        int length = to - from;
+        int base = setIndex(hash);
+        for (int i = base; i < base + WAYS; i++) {
+            String pooled = get(i);
+            if (pooled != null && pooled.hashCode() == hash && pooled.length() == length && sameAscii(pooled, utf8, from)) {
+                hits.increment();
+                bytesSaved.add(estimatedSize(pooled));
+                return pooled;
+            }
+        }
+        String value = new String(utf8, from, length, StandardCharsets.ISO_8859_1); // ASCII: no decoding needed
+        insert(base, value);
+        return value;
+    }
+
+    public String intern(byte[] utf8) {
+        return intern(utf8, 0, utf8.length);
+    }
+
+    public Stats stats() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (get(i) != null) {
+                size++;
+            }
+        }
+        return new Stats(size, lookups.sum(), hits.sum(), evictions.sum(), bytesSaved.sum());
+    }
+
+    public record Stats(int size, long lookups, long hits, long evictions, long bytesSaved) {
+        public double hitRate() {
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size=%,d lookups=%,d hitRate=%.1f%% evictions=%,d saved≈%,d KB",
+                    size, lookups, hitRate() * 100, evictions, bytesSaved / 1024);
+        }
+    }
+
+    // Rough heap footprint of a String with Latin-1 content
+    public static long estimatedSize(String value) {
+        return STRING_OVERHEAD + ((value.length() + 7) & ~7);
+    }
+
+    // ---------------- Internals ----------------
+
+    private int setIndex(int hash) {
+        int h = hash ^ (hash >>> 16); // short keys like "IN" differ only in the low bits
+        return (h & setMask) * WAYS;
+    }
+
+    private String get(int index) {
+        Object slot = slots.get(index);
+        if (slot instanceof WeakReference<?> reference) {
+            return (String) reference.get();
+        }
+        return (String) slot;
+    }
+
+    private void insert(int base, String value) {
+        Object entry = weak ? new WeakReference<>(value) : value;
+        for (int i = base; i < base + WAYS; i++) {
+            Object current = slots.get(i);
+            boolean free = current == null || (current instanceof WeakReference<?> r && r.get() == null);
+            if (free && slots.compareAndSet(i, current, entry)) {
+                return;
+            }
+        }
+        // Set is full: replace a random member
+        slots.set(base + ThreadLocalRandom.current().nextInt(WAYS), entry);
+        evictions.increment();
+    }
+
+    private static boolean sameAscii(String pooled, byte[] bytes, int from) {
+        for (int i = 0; i < pooled.length(); i++) {
+            if (pooled.charAt(i) != bytes[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
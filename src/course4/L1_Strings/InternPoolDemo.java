@@ -0,0 +1,111 @@
+package course4.L1_Strings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import benchmark.Bench;
+
+/*
+ 👉 InternPool vs new String and String.intern()
+    1. Pooling runtime strings, like the literal pool in StringClass
+    2. Looking up UTF-8 bytes without creating Strings
+    3. Benchmark: ingesting records with a skewed (Zipf) key distribution and measuring the retained heap
+*/
+public class InternPoolDemo {
+
+    public static void main(String[] args) {
+        // 1. Equal strings built at runtime are different objects, the pool makes them one
+        InternPool pool = InternPool.bounded(1024);
+        String s1 = new String("IN");
+        String s2 = new String("IN");
+        System.out.println("s1 == s2 ? " + (s1 == s2));                                       // false
+        System.out.println("pool(s1) == pool(s2) ? " + (pool.intern(s1) == pool.intern(s2)));  // true
+
+        // 2. From bytes (e.g. a network buffer): the second lookup returns the pooled "US"
+        byte[] line = "US,United States".getBytes(StandardCharsets.UTF_8);
+        String first = pool.intern(line, 0, 2);
+        String second = pool.intern(line, 0, 2);
+        System.out.println("Same instance from bytes ? " + (first == second));
+        System.out.println(pool.stats());
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        benchmark(records);
+    }
+
+    private interface Strategy {
+        String read(byte[] data, int from, int to);
+    }
+
+    private static void benchmark(int records) {
+        // Realistic skew: a few country codes and names are very common, most are rare
+        String[] countries = new String[250];
+        for (int i = 0; i < countries.length; i++) {
+            countries[i] = "" + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26);
+        }
+        String[] names = new String[50_000];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "Person-" + Integer.toString(i * 7919, 36);
+        }
+        Random random = new Random(1);
+        double[] countryCdf = zipf(countries.length);
+        double[] nameCdf = zipf(names.length);
+
+        // Input as bytes, the way ingestion receives it: "code,name" per record
+        byte[][] input = new byte[records][];
+        for (int i = 0; i < records; i++) {
+            input[i] = (countries[sample(countryCdf, random)] + "," + names[sample(nameCdf, random)])
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+
+        System.out.printf("%,d records (%d country codes, %,d names, Zipf distributed)%n",
+                records, countries.length, names.length);
+        run("new String per field   ", input, (d, f, t) -> new String(d, f, t - f, StandardCharsets.UTF_8), null);
+        run("String.intern()        ", input, (d, f, t) -> new String(d, f, t - f, StandardCharsets.UTF_8).intern(), null);
+        InternPool bounded = InternPool.bounded(16_384);
+        run("InternPool.bounded(16K)", input, bounded::intern, bounded);
+        InternPool weak = InternPool.weak(65_536);
+        run("InternPool.weak(64K)   ", input, weak::intern, weak);
+    }
+
+    private static void run(String label, byte[][] input, Strategy strategy, InternPool pool) {
+        String[][] rows = new String[input.length][];
+        long heapBefore = Bench.usedHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < input.length; i++) {
+            byte[] line = input[i];
+            int comma = 0;
+            while (line[comma] != ',') {
+                comma++;
+            }
+            rows[i] = new String[]{strategy.read(line, 0, comma), strategy.read(line, comma + 1, line.length)};
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long retained = Bench.usedHeap() - heapBefore;
+        System.out.printf("%s: %5d ms, retained %,5d MB%s%n", label, millis, retained >> 20,
+                pool == null ? "" : "  " + pool.stats());
+        if (rows[rows.length - 1] == null) {
+            System.out.println(); // keeps rows reachable until after the measurement
+        }
+    }
+
+    private static double[] zipf(int n) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / (i + 1);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(cdf.length - 1, index >= 0 ? index : -index - 1);
+    }
+}
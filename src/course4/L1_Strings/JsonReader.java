@@ -0,0 +1,388 @@
+package course4.L1_Strings;
+
+import course4.L3_ReferenceMethod.NumberCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*
+ 👉 Pull parser for JSON in a byte[] (UTF-8)
+    - next() moves to the next token; no tree of maps and lists is built
+    - Names and strings stay in the input until asked for: nameEquals() compares without creating a String
+    - Numbers are parsed from the bytes with NumberCodec (no substring, no exception on the happy path)
+    - Malformed input throws IllegalArgumentException with the byte offset: bad numbers (01, 1-2),
+      unknown escapes, raw control characters in strings and anything after the root value
+*/
+public final class JsonReader {
+
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, TRUE, FALSE, NULL, END_DOCUMENT
+    }
+
+    private byte[] input;
+    private int pos;
+    private int end;
+
+    // Current token and its bytes (for NAME/STRING: between the quotes, for NUMBER: the digits)
+    private Token token;
+    private int valueStart;
+    private int valueEnd;
+    private boolean escaped;
+
+    // Is the current container an object (expects names) and has it seen an element yet?
+    private boolean[] inObject = new boolean[16];
+    private boolean[] hasElement = new boolean[16];
+    private int depth;
+    private boolean expectValue;
+
+    private final NumberCodec.ParsedNumber number = new NumberCodec.ParsedNumber();
+
+    public JsonReader() {
+    }
+
+    public JsonReader(byte[] input) {
+        reset(input, 0, input.length);
+    }
+
+    // Reuse the reader for another document
+    public JsonReader reset(byte[] input, int from, int to) {
+        this.input = input;
+        this.pos = from;
+        this.end = to;
+        this.token = null;
+        this.depth = 0;
+        this.expectValue = false;
+        return this;
+    }
+
+    public Token token() {
+        return token;
+    }
+
+    public Token next() {
+        skipWhitespace();
+        if (depth == 0 && token != null) {
+            // The root value is complete, only whitespace may follow
+            if (pos < end) {
+                throw error("Unexpected content after the root value");
+            }
+            return token = Token.END_DOCUMENT;
+        }
+        if (depth > 0 && !expectValue) {
+            // Between elements of a container: a closing bracket or a comma
+            if (pos >= end) {
+                throw error("Unexpected end of input");
+            }
+            byte b = input[pos];
+            if (b == (inObject[depth - 1] ? '}' : ']')) {
+                pos++;
+                depth--;
+                return token = inObject[depth] ? Token.END_OBJECT : Token.END_ARRAY;
+            }
+            if (hasElement[depth - 1]) {
+                if (b != ',') {
+                    throw error("Expected ',' or closing bracket");
+                }
+                pos++;
+                skipWhitespace();
+            }
+            hasElement[depth - 1] = true;
+            if (inObject[depth - 1]) {
+                readString();
+                skipWhitespace();
+                if (pos >= end || input[pos] != ':') {
+                    throw error("Expected ':'");
+                }
+                pos++;
+                expectValue = true;
+                return token = Token.NAME;
+            }
+        }
+        expectValue = false;
+        if (pos >= end) {
+            if (depth > 0) {
+                throw error("Unexpected end of input");
+            }
+            return token = Token.END_DOCUMENT;
+        }
+        byte b = input[pos];
+        switch (b) {
+            case '{' -> {
+                pos++;
+                push(true);
+                return token = Token.BEGIN_OBJECT;
+            }
+            case '[' -> {
+                pos++;
+                push(false);
+                return token = Token.BEGIN_ARRAY;
+            }
+            case '"' -> {
+                readString();
+                return token = Token.STRING;
+            }
+            case 't' -> {
+                literal("true");
+                return token = Token.TRUE;
+            }
+            case 'f' -> {
+                literal("false");
+                return token = Token.FALSE;
+            }
+            case 'n' -> {
+                literal("null");
+                return token = Token.NULL;
+            }
+            default -> {
+                if (b == '-' || isDigit(b)) {
+                    readNumber();
+                    return token = Token.NUMBER;
+                }
+                throw error("Unexpected character '" + (char) b + "'");
+            }
+        }
+    }
+
+    // ---------------- Values of the current token ----------------
+
+    // Compares the current NAME/STRING with an ASCII key, allocation free
+    public boolean nameEquals(String name) {
+        if (escaped) {
+            return stringValue().equals(name);
+        }
+        int length = valueEnd - valueStart;
+        if (length != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (input[valueStart + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String stringValue() {
+        if (token != Token.NAME && token != Token.STRING) {
+            throw error("Not a string: " + token);
+        }
+        return escaped ? unescape() : new String(input, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+    }
+
+    public long longValue() {
+        if (token != Token.NUMBER || !NumberCodec.parseLong(input, valueStart, valueEnd, number)) {
+            throw error("Not an integer");
+        }
+        return number.longValue();
+    }
+
+    public int intValue() {
+        long value = longValue();
+        if (value != (int) value) {
+            throw error("Integer out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    public double doubleValue() {
+        if (token != Token.NUMBER || !NumberCodec.parseDouble(input, valueStart, valueEnd, number)) {
+            throw error("Not a number");
+        }
+        return number.doubleValue();
+    }
+
+    public boolean booleanValue() {
+        if (token != Token.TRUE && token != Token.FALSE) {
+            throw error("Not a boolean: " + token);
+        }
+        return token == Token.TRUE;
+    }
+
+    // Call after a NAME (or at any value) to skip the whole value, including nested objects/arrays
+    public void skipValue() {
+        Token t = token == Token.NAME ? next() : token;
+        if (t == Token.BEGIN_OBJECT || t == Token.BEGIN_ARRAY) {
+            int target = depth - 1;
+            while (depth > target) {
+                next();
+            }
+        }
+    }
+
+    // ---------------- Internals ----------------
+
+    private void push(boolean object) {
+        if (depth == inObject.length) {
+            inObject = Arrays.copyOf(inObject, depth * 2);
+            hasElement = Arrays.copyOf(hasElement, depth * 2);
+        }
+        inObject[depth] = object;
+        hasElement[depth] = false;
+        depth++;
+    }
+
+    private void readString() {
+        if (pos >= end || input[pos] != '"') {
+            throw error("Expected '\"'");
+        }
+        int i = ++pos;
+        escaped = false;
+        while (i < end) {
+            byte b = input[i];
+            if (b == '"') {
+                valueStart = pos;
+                valueEnd = i;
+                pos = i + 1;
+                return;
+            }
+            if (b == '\\') {
+                escaped = true;
+                i = checkEscape(i);
+                continue;
+            }
+            if (b >= 0 && b < 0x20) {
+                pos = i;
+                throw error("Control character in string");
+            }
+            i++;
+        }
+        throw error("Unterminated string");
+    }
+
+    // Validates the escape starting at the backslash at i and returns the index after it
+    private int checkEscape(int i) {
+        if (i + 1 >= end) {
+            throw error("Unterminated string");
+        }
+        switch (input[i + 1]) {
+            case '"', '\\', '/', 'b', 'f', 'n', 'r', 't' -> {
+                return i + 2;
+            }
+            case 'u' -> {
+                for (int k = i + 2; k < i + 6; k++) {
+                    if (k >= end || Character.digit(input[k], 16) < 0) {
+                        pos = i;
+                        throw error("Bad \\u escape");
+                    }
+                }
+                return i + 6;
+            }
+            default -> {
+                pos = i;
+                throw error("Bad escape '\\" + (char) input[i + 1] + "'");
+            }
+        }
+    }
+
+    // -?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)?
+    private void readNumber() {
+        valueStart = pos;
+        if (input[pos] == '-') {
+            pos++;
+        }
+        if (pos < end && input[pos] == '0') {
+            pos++;
+        } else if (!digits()) {
+            throw error("Bad number");
+        }
+        if (pos < end && input[pos] == '.') {
+            pos++;
+            if (!digits()) {
+                throw error("Bad number");
+            }
+        }
+        if (pos < end && (input[pos] == 'e' || input[pos] == 'E')) {
+            pos++;
+            if (pos < end && (input[pos] == '+' || input[pos] == '-')) {
+                pos++;
+            }
+            if (!digits()) {
+                throw error("Bad number");
+            }
+        }
+        if (pos < end && isNumberByte(input[pos])) {
+            throw error("Bad number"); // e.g. a leading zero (01) or 1-2
+        }
+        valueEnd = pos;
+    }
+
+    private boolean digits() {
+        int start = pos;
+        while (pos < end && isDigit(input[pos])) {
+            pos++;
+        }
+        return pos > start;
+    }
+
+    private String unescape() {
+        StringBuilder sb = new StringBuilder(valueEnd - valueStart);
+        int i = valueStart;
+        int chunk = i;
+        while (i < valueEnd) {
+            if (input[i] != '\\') {
+                i++;
+                continue;
+            }
+            sb.append(new String(input, chunk, i - chunk, StandardCharsets.UTF_8));
+            byte e = input[i + 1];
+            switch (e) {
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'u' -> {
+                    if (i + 6 > valueEnd) {
+                        throw error("Bad \\u escape");
+                    }
+                    int code = 0;
+                    for (int k = i + 2; k < i + 6; k++) {
+                        int digit = Character.digit(input[k], 16);
+                        if (digit < 0) {
+                            throw error("Bad \\u escape");
+                        }
+                        code = code << 4 | digit;
+                    }
+                    sb.append((char) code);
+                    i += 4;
+                }
+                default -> sb.append((char) e); // \" \\ \/, the others are rejected by readString
+            }
+            i += 2;
+            chunk = i;
+        }
+        sb.append(new String(input, chunk, valueEnd - chunk, StandardCharsets.UTF_8));
+        return sb.toString();
+    }
+
+    private void literal(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (pos + i >= end || input[pos + i] != word.charAt(i)) {
+                throw error("Expected " + word);
+            }
+        }
+        pos += word.length();
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isNumberByte(byte b) {
+        return isDigit(b) || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+    }
+
+    private void skipWhitespace() {
+        while (pos < end) {
+            byte b = input[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + pos);
+    }
+}
@@ -0,0 +1,145 @@
+package course4.L1_Strings;
+
+import course3.L6_Records.RecordSchema;
+import course3.L6_Records.RecordSchema.Component;
+
+/*
+ 👉 Record <-> JSON object binding on top of JsonWriter / JsonReader
+    - Field names and types come from the record's RecordSchema, looked up once per record class
+    - Writing goes straight into the writer's byte buffer; reading pulls tokens, nothing in between
+    - Unknown JSON fields are skipped, missing ones get the default value (0, false, null)
+    - Supported component types: primitives and their wrappers (a char is a one-character string),
+      String, enums (by name) and nested records
+*/
+public final class JsonRecordBinding<R extends Record> {
+
+    private static final ClassValue<JsonRecordBinding<?>> BINDINGS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected JsonRecordBinding<?> computeValue(Class<?> type) {
+            return new JsonRecordBinding(type.asSubclass(Record.class));
+        }
+    };
+
+    private final Class<R> type;
+    private final RecordSchema<R> schema;
+    private final Component[] fields;
+
+    @SuppressWarnings("unchecked")
+    public static <R extends Record> JsonRecordBinding<R> of(Class<R> type) {
+        return (JsonRecordBinding<R>) BINDINGS.get(type);
+    }
+
+    private JsonRecordBinding(Class<R> type) {
+        this.type = type;
+        this.schema = RecordSchema.of(type);
+        this.fields = new Component[schema.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = schema.component(i);
+        }
+    }
+
+    // Writes the record as one JSON object at the writer's current position
+    public JsonWriter write(R record, JsonWriter out) {
+        out.beginObject();
+        for (Component field : fields) {
+            out.name(field.name());
+            Object value = field.get(record);
+            if (value == null) {
+                out.nullValue();
+                continue;
+            }
+            switch (field.kind()) {
+                case BOOLEAN -> out.value((Boolean) value);
+                case BYTE -> out.value((long) (Byte) value);
+                case SHORT -> out.value((long) (Short) value);
+                case CHAR -> out.value(String.valueOf((char) (Character) value));
+                case INT -> out.value((long) (Integer) value);
+                case LONG -> out.value((long) (Long) value);
+                case FLOAT -> out.value((double) (Float) value);
+                case DOUBLE -> out.value((double) (Double) value);
+                case STRING -> out.value((String) value);
+                case ENUM -> out.value(((Enum<?>) value).name());
+                case RECORD -> nested(field).write((Record) value, out);
+            }
+        }
+        return out.endObject();
+    }
+
+    // Reads the next JSON object from the reader; the reader ends on its END_OBJECT
+    public R read(JsonReader in) {
+        if (in.next() != JsonReader.Token.BEGIN_OBJECT) {
+            throw new IllegalArgumentException("Expected an object for " + type.getSimpleName() + " but got " + in.token());
+        }
+        return readObject(in);
+    }
+
+    private R readObject(JsonReader in) {
+        Object[] args = schema.newArguments();
+        while (in.next() == JsonReader.Token.NAME) {
+            int index = indexOf(in);
+            if (index < 0) {
+                in.skipValue(); // unknown field
+                continue;
+            }
+            Component field = fields[index];
+            JsonReader.Token token = in.next();
+            if (token == JsonReader.Token.NULL) {
+                continue; // keep the default
+            }
+            args[index] = switch (field.kind()) {
+                case BOOLEAN -> in.booleanValue();
+                case BYTE -> (byte) checkRange(field, in.longValue(), Byte.MIN_VALUE, Byte.MAX_VALUE);
+                case SHORT -> (short) checkRange(field, in.longValue(), Short.MIN_VALUE, Short.MAX_VALUE);
+                case CHAR -> charValue(field, in.stringValue());
+                case INT -> in.intValue();
+                case LONG -> in.longValue();
+                case FLOAT -> (float) in.doubleValue();
+                case DOUBLE -> in.doubleValue();
+                case STRING -> in.stringValue();
+                case ENUM -> enumValue(field, in.stringValue());
+                case RECORD -> {
+                    if (token != JsonReader.Token.BEGIN_OBJECT) {
+                        throw new IllegalArgumentException("Expected an object for " + field.name());
+                    }
+                    yield nested(field).readObject(in);
+                }
+            };
+        }
+        return schema.construct(args); // runs the validation of a compact constructor
+    }
+
+    // Records have few components: a linear scan with nameEquals is cheaper than hashing a new String
+    private int indexOf(JsonReader in) {
+        for (int i = 0; i < fields.length; i++) {
+            if (in.nameEquals(fields[i].name())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long checkRange(Component field, long value, long min, long max) {
+        if (value < min || value > max) {
+            throw new IllegalArgumentException(field.name() + " out of range: " + value);
+        }
+        return value;
+    }
+
+    private static char charValue(Component field, String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException(field.name() + " must be a single character: \"" + value + "\"");
+        }
+        return value.charAt(0);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumValue(Component field, String name) {
+        return Enum.valueOf((Class) field.type(), name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JsonRecordBinding<Record> nested(Component field) {
+        return (JsonRecordBinding<Record>) of(field.type().asSubclass(Record.class));
+    }
+}
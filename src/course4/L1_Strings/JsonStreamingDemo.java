@@ -0,0 +1,141 @@
+package course4.L1_Strings;
+
+import course3.L6_Records.Product;
+
+import java.nio.charset.StandardCharsets;
+
+import benchmark.Bench;
+
+/*
+ 👉 Streaming JSON instead of text block + formatted()
+    1. Writing a Product and the course payload from MultiLineStrings into a reusable buffer
+    2. Pulling tokens from the text block JSON, no tree and no substring
+    3. Record binding: Course record <-> JSON object, and a record of char / short / byte
+    4. Benchmark: formatted() + String parsing vs. JsonWriter/JsonReader with a record binding
+*/
+public class JsonStreamingDemo {
+
+    record Course(int id, String name, double price) {
+    }
+
+    record Seat(char row, short number, byte floor) {
+    }
+
+    // Same shape as the JSON text block in MultiLineStrings
+    private static final String TEMPLATE = """
+            {
+              "id": %d,
+              "name": "%s",
+              "price": %s
+            }
+            """;
+
+    public static void main(String[] args) {
+        // 1. Writing
+        JsonWriter writer = new JsonWriter();
+        Product laptop = new Product("Laptop", 1200.50);
+        writer.beginObject().name("name").value(laptop.name()).name("price").value(laptop.price(), 2).endObject();
+        System.out.println("Product: " + writer);
+
+        writer.reset().beginObject()
+                .name("id").value(101)
+                .name("name").value("Java \"Streams\" Course")
+                .name("price").value(499.0)
+                .name("tags").beginArray().value("java").value("json").endArray()
+                .endObject();
+        System.out.println("Course : " + writer + " (" + writer.size() + " bytes, buffer reused)");
+
+        // 2. Pull parsing of the text block JSON
+        String json = """
+                {
+                  "id": 101,
+                  "name": "Java Course",
+                  "price": 499,
+                  "meta": { "level": "beginner", "chapters": [1, 2, 3] }
+                }
+                """;
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        JsonReader reader = new JsonReader(jsonBytes);
+        JsonReader.Token token;
+        while ((token = reader.next()) != JsonReader.Token.END_DOCUMENT) {
+            if (token == JsonReader.Token.NAME && reader.nameEquals("meta")) {
+                reader.skipValue(); // not interested: skipped without building anything
+                System.out.println("  skipped meta");
+                continue;
+            }
+            switch (token) {
+                case NAME -> System.out.print("  " + reader.stringValue() + " = ");
+                case STRING -> System.out.println(reader.stringValue());
+                case NUMBER -> System.out.println(reader.longValue());
+                default -> {
+                }
+            }
+        }
+
+        // 3. Record binding
+        JsonRecordBinding<Course> courses = JsonRecordBinding.of(Course.class);
+        Course course = courses.read(reader.reset(jsonBytes, 0, jsonBytes.length)); // a byte range, not json.length()
+        System.out.println("Bound  : " + course);
+        System.out.println("Written: " + courses.write(course, writer.reset()));
+        System.out.println("Product: " + JsonRecordBinding.of(Product.class).write(laptop, writer.reset()));
+        JsonRecordBinding<Seat> seats = JsonRecordBinding.of(Seat.class);
+        seats.write(new Seat('B', (short) 12, (byte) 2), writer.reset());
+        System.out.println("Seat   : " + writer + " -> " + seats.read(reader.reset(writer.buffer(), 0, writer.size())));
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        benchmark(size);
+    }
+
+    private static void benchmark(int size) {
+        Course[] input = new Course[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = new Course(i, "Course " + (i % 1000), (i % 10_000) / 4.0);
+        }
+
+        // formatted() to produce, String operations to consume
+        Bench.Measurement formatted = Bench.measure(() -> {
+            long checksum = 0;
+            for (Course c : input) {
+                byte[] bytes = TEMPLATE.formatted(c.id(), c.name(), c.price()).getBytes(StandardCharsets.UTF_8);
+                checksum += parseWithStrings(new String(bytes, StandardCharsets.UTF_8)).id();
+            }
+            return checksum;
+        });
+
+        // Streaming writer into one buffer, pull reader with the record binding
+        JsonRecordBinding<Course> binding = JsonRecordBinding.of(Course.class);
+        JsonWriter writer = new JsonWriter();
+        JsonReader reader = new JsonReader();
+        Bench.Measurement streaming = Bench.measure(() -> {
+            long checksum = 0;
+            for (Course c : input) {
+                binding.write(c, writer.reset());
+                checksum += binding.read(reader.reset(writer.buffer(), 0, writer.size())).id();
+            }
+            return checksum;
+        });
+
+        System.out.printf("%,d documents written and parsed again%n", size);
+        System.out.printf("formatted() + String parsing : %5d ms, %,6d bytes allocated per document%n",
+                formatted.millis(), formatted.bytes() / size);
+        System.out.printf("JsonWriter + JsonReader      : %5d ms, %,6d bytes allocated per document%n",
+                streaming.millis(), streaming.bytes() / size);
+    }
+
+    // The usual hand-written parsing: indexOf + substring + parse per field
+    private static Course parseWithStrings(String json) {
+        int id = Integer.parseInt(field(json, "id"));
+        String name = field(json, "name");
+        double price = Double.parseDouble(field(json, "price"));
+        return new Course(id, name.substring(1, name.length() - 1), price);
+    }
+
+    private static String field(String json, String name) {
+        int start = json.indexOf("\"" + name + "\":") + name.length() + 3;
+        int end = json.indexOf('\n', start);
+        String value = json.substring(start, end).trim();
+        return value.endsWith(",") ? value.substring(0, value.length() - 1) : value;
+    }
+}
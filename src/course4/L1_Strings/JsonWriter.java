@@ -0,0 +1,269 @@
+package course4.L1_Strings;
+
+import course4.L3_ReferenceMethod.NumberCodec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*
+ 👉 Streaming JSON writer: UTF-8 bytes go straight into one reusable byte[]
+    - No intermediate String per document, per number or per field
+    - Commas and nesting are tracked by the writer, the caller only says what comes next
+    - reset() keeps the buffer, so a writer per thread can produce millions of documents
+*/
+public final class JsonWriter {
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.ISO_8859_1);
+
+    private byte[] buffer;
+    private int size;
+
+    // One entry per open object/array: does the next value need a comma in front?
+    private boolean[] needsComma = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter() {
+        this(256);
+    }
+
+    public JsonWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    // Starts a new document, keeping the allocated buffer
+    public JsonWriter reset() {
+        size = 0;
+        depth = 0;
+        afterName = false;
+        return this;
+    }
+
+    // ---------------- Structure ----------------
+
+    public JsonWriter beginObject() {
+        return open('{');
+    }
+
+    public JsonWriter endObject() {
+        return close('}');
+    }
+
+    public JsonWriter beginArray() {
+        return open('[');
+    }
+
+    public JsonWriter endArray() {
+        return close(']');
+    }
+
+    public JsonWriter name(String name) {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("Name outside of an object: " + name);
+        }
+        separator();
+        writeQuoted(name);
+        put((byte) ':');
+        afterName = true;
+        return this;
+    }
+
+    // ---------------- Values ----------------
+
+    public JsonWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeQuoted(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        beforeValue();
+        ensure(20);
+        size = NumberCodec.formatLong(value, buffer, size);
+        return this;
+    }
+
+    public JsonWriter value(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("JSON has no " + value);
+        }
+        if (value == (long) value && Math.abs(value) < 0x1p53) {
+            return value((long) value); // 499.0 -> 499, like the text block example
+        }
+        beforeValue();
+        byte[] text = Double.toString(value).getBytes(StandardCharsets.ISO_8859_1);
+        ensure(text.length);
+        System.arraycopy(text, 0, buffer, size, text.length);
+        size += text.length;
+        return this;
+    }
+
+    // Fixed decimals without creating a String, e.g. prices with 2 decimals
+    public JsonWriter value(double value, int decimals) {
+        beforeValue();
+        ensure(40);
+        size = NumberCodec.formatFixed(value, decimals, buffer, size);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        beforeValue();
+        putAll(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        beforeValue();
+        putAll(NULL);
+        return this;
+    }
+
+    // ---------------- Output ----------------
+
+    public int size() {
+        return size;
+    }
+
+    // Backing array, valid from 0 to size(): no copy
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    public void writeTo(ByteBuffer out) {
+        out.put(buffer, 0, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    // ---------------- Internals ----------------
+
+    private JsonWriter open(char bracket) {
+        beforeValue();
+        put((byte) bracket);
+        if (depth == needsComma.length) {
+            needsComma = Arrays.copyOf(needsComma, depth * 2);
+        }
+        needsComma[depth++] = false;
+        return this;
+    }
+
+    private JsonWriter close(char bracket) {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("Unbalanced '" + bracket + "'");
+        }
+        depth--;
+        put((byte) bracket);
+        return this;
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false; // value of a name: the comma was written before the name
+        } else {
+            separator();
+        }
+    }
+
+    private void separator() {
+        if (depth > 0) {
+            if (needsComma[depth - 1]) {
+                put((byte) ',');
+            }
+            needsComma[depth - 1] = true;
+        }
+    }
+
+    // Escapes and encodes to UTF-8 in one pass
+    private void writeQuoted(String value) {
+        ensure(value.length() * 3 + 2);
+        byte[] b = buffer;
+        int pos = size;
+        b[pos++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                b[pos++] = (byte) c;
+            } else if (c == '"' || c == '\\') {
+                b[pos++] = '\\';
+                b[pos++] = (byte) c;
+            } else if (c < 0x20) {
+                size = pos;
+                ensure((value.length() - i) * 6 + 1);
+                b = buffer;
+                pos = escapeControl(c, b, pos);
+            } else if (c < 0x800) {
+                b[pos++] = (byte) (0xC0 | c >> 6);
+                b[pos++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                b[pos++] = (byte) (0xF0 | cp >> 18);
+                b[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                b[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                b[pos++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                b[pos++] = '?'; // lone surrogate, like String.getBytes
+            } else {
+                b[pos++] = (byte) (0xE0 | c >> 12);
+                b[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                b[pos++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        b[pos++] = '"';
+        size = pos;
+    }
+
+    private static int escapeControl(char c, byte[] b, int pos) {
+        b[pos++] = '\\';
+        switch (c) {
+            case '\n' -> b[pos++] = 'n';
+            case '\r' -> b[pos++] = 'r';
+            case '\t' -> b[pos++] = 't';
+            case '\b' -> b[pos++] = 'b';
+            case '\f' -> b[pos++] = 'f';
+            default -> {
+                b[pos++] = 'u';
+                b[pos++] = '0';
+                b[pos++] = '0';
+                b[pos++] = HEX[c >> 4];
+                b[pos++] = HEX[c & 0xF];
+            }
+        }
+        return pos;
+    }
+
+    private void put(byte b) {
+        ensure(1);
+        buffer[size++] = b;
+    }
+
+    private void putAll(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package course4.L1_Strings;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+
+/*
+ 👉 Rope: immutable text stored as a balanced tree of string pieces
+    - StringBuilder.insert()/delete() in the middle move every character after the edit: O(n)
+    - A rope splits and joins trees instead: insert, delete, substring and concat are O(log n)
+      and share the untouched pieces, nothing is copied
+    - Leaves are views (offset + length) into immutable Strings, so substring() of a 100MB text is cheap
+    - Tiny pieces are merged into one leaf, so many small appends do not create a deep tree
+    - Implements CharSequence; writeTo() streams the pieces to a Writer or as UTF-8 into a ByteBuffer
+    - Immutable: every edit returns a new Rope, old versions stay valid (undo for free)
+*/
+public final class Rope implements CharSequence {
+
+    // Leaves up to this size are merged when joined
+    private static final int MERGE_LIMIT = 256;
+
+    private static final Rope EMPTY = new Rope(new Leaf("", 0, 0));
+
+    private final Node root;
+
+    private Rope(Node root) {
+        this.root = root;
+    }
+
+    public static Rope empty() {
+        return EMPTY;
+    }
+
+    // The text is copied once if it is mutable (e.g. a StringBuilder), Strings are shared
+    public static Rope of(CharSequence text) {
+        String s = text.toString();
+        return s.isEmpty() ? EMPTY : new Rope(new Leaf(s, 0, s.length()));
+    }
+
+    // ---------------- Edits (all O(log n)) ----------------
+
+    public Rope concat(Rope other) {
+        return new Rope(join(root, other.root));
+    }
+
+    public Rope append(CharSequence text) {
+        return concat(of(text));
+    }
+
+    public Rope insert(int index, CharSequence text) {
+        checkIndex(index, length());
+        Split parts = split(root, index);
+        return new Rope(join(join(parts.left, of(text).root), parts.right));
+    }
+
+    public Rope delete(int start, int end) {
+        checkRange(start, end);
+        Node left = split(root, start).left;
+        Node right = split(root, end).right;
+        return new Rope(join(left, right));
+    }
+
+    public Rope replace(int start, int end, CharSequence text) {
+        checkRange(start, end);
+        Node left = split(root, start).left;
+        Node right = split(root, end).right;
+        return new Rope(join(join(left, of(text).root), right));
+    }
+
+    public Rope substring(int start, int end) {
+        checkRange(start, end);
+        if (start == 0 && end == length()) {
+            return this;
+        }
+        Node tail = split(root, start).right;
+        return new Rope(split(tail, end - start).left);
+    }
+
+    // ---------------- CharSequence ----------------
+
+    @Override
+    public int length() {
+        return root.length();
+    }
+
+    // O(log n): walks down the tree
+    @Override
+    public char charAt(int index) {
+        checkIndex(index, length() - 1);
+        Node node = root;
+        while (node instanceof Concat c) {
+            if (index < c.left.length()) {
+                node = c.left;
+            } else {
+                index -= c.left.length();
+                node = c.right;
+            }
+        }
+        Leaf leaf = (Leaf) node;
+        return leaf.text.charAt(leaf.offset + index);
+    }
+
+    @Override
+    public Rope subSequence(int start, int end) {
+        return substring(start, end);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length() == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(length());
+        forEachPiece(sb::append); // append(CharSequence, start, end) copies a String range once
+        return sb.toString();
+    }
+
+    // Tree height, for checking the balance
+    public int depth() {
+        return root.height();
+    }
+
+    // ---------------- Streaming output ----------------
+
+    // Receives a piece as a range of a String, so no substring is created for it
+    @FunctionalInterface
+    public interface PieceVisitor {
+        void accept(String text, int start, int end);
+    }
+
+    // Visits the leaves in order as (text, start, end) ranges of the shared Strings
+    public void forEachPiece(PieceVisitor action) {
+        visit(root, action);
+    }
+
+    private static void visit(Node node, PieceVisitor action) {
+        while (node instanceof Concat c) {
+            visit(c.left, action);
+            node = c.right; // loop on the right side keeps recursion shallow
+        }
+        Leaf leaf = (Leaf) node;
+        if (leaf.length > 0) {
+            action.accept(leaf.text, leaf.offset, leaf.offset + leaf.length);
+        }
+    }
+
+    public void writeTo(Writer out) throws IOException {
+        writeTo(root, out);
+    }
+
+    private static void writeTo(Node node, Writer out) throws IOException {
+        while (node instanceof Concat c) {
+            writeTo(c.left, out);
+            node = c.right;
+        }
+        Leaf leaf = (Leaf) node;
+        out.write(leaf.text, leaf.offset, leaf.length);
+    }
+
+    // Encodes the text as UTF-8 into the buffer (BufferOverflowException if it does not fit)
+    public ByteBuffer writeTo(ByteBuffer out) {
+        Utf8Encoder encoder = new Utf8Encoder(out);
+        encode(root, encoder);
+        encoder.finish();
+        return out;
+    }
+
+    private static void encode(Node node, Utf8Encoder encoder) {
+        while (node instanceof Concat c) {
+            encode(c.left, encoder);
+            node = c.right;
+        }
+        Leaf leaf = (Leaf) node;
+        for (int i = leaf.offset, end = leaf.offset + leaf.length; i < end; i++) {
+            encoder.put(leaf.text.charAt(i));
+        }
+    }
+
+    // ---------------- Tree ----------------
+
+    private sealed interface Node permits Leaf, Concat {
+        int length();
+
+        int height();
+    }
+
+    private record Leaf(String text, int offset, int length) implements Node {
+        @Override
+        public int height() {
+            return 0;
+        }
+
+        Leaf slice(int from, int to) {
+            return new Leaf(text, offset + from, to - from);
+        }
+    }
+
+    private record Concat(Node left, Node right, int length, int height) implements Node {
+        Concat(Node left, Node right) {
+            this(left, right, Math.addExact(left.length(), right.length()), Math.max(left.height(), right.height()) + 1);
+        }
+    }
+
+    private record Split(Node left, Node right) {
+    }
+
+    // Joins two trees keeping them AVL-balanced: walks down the taller side, O(height difference)
+    private static Node join(Node a, Node b) {
+        if (a.length() == 0) {
+            return b;
+        }
+        if (b.length() == 0) {
+            return a;
+        }
+        if (a instanceof Leaf x && b instanceof Leaf y && x.length + y.length <= MERGE_LIMIT) {
+            String merged = x.text.substring(x.offset, x.offset + x.length) + y.text.substring(y.offset, y.offset + y.length);
+            return new Leaf(merged, 0, merged.length());
+        }
+        int ha = a.height();
+        int hb = b.height();
+        if (ha > hb + 1) {
+            Concat c = (Concat) a;
+            return balance(c.left, join(c.right, b));
+        }
+        if (hb > ha + 1) {
+            Concat c = (Concat) b;
+            return balance(join(a, c.left), c.right);
+        }
+        return new Concat(a, b);
+    }
+
+    // One AVL rotation (single or double) when the two sides differ by 2
+    private static Node balance(Node left, Node right) {
+        int hl = left.height();
+        int hr = right.height();
+        if (hl > hr + 1) {
+            Concat l = (Concat) left;
+            if (l.left.height() >= l.right.height()) {
+                return new Concat(l.left, new Concat(l.right, right));
+            }
+            Concat lr = (Concat) l.right;
+            return new Concat(new Concat(l.left, lr.left), new Concat(lr.right, right));
+        }
+        if (hr > hl + 1) {
+            Concat r = (Concat) right;
+            if (r.right.height() >= r.left.height()) {
+                return new Concat(new Concat(left, r.left), r.right);
+            }
+            Concat rl = (Concat) r.left;
+            return new Concat(new Concat(left, rl.left), new Concat(rl.right, r.right));
+        }
+        return new Concat(left, right);
+    }
+
+    // Splits into [0, index) and [index, length)
+    private static Split split(Node node, int index) {
+        if (node instanceof Leaf leaf) {
+            return new Split(leaf.slice(0, index), leaf.slice(index, leaf.length));
+        }
+        Concat c = (Concat) node;
+        int leftLength = c.left.length();
+        if (index == leftLength) {
+            return new Split(c.left, c.right);
+        }
+        if (index < leftLength) {
+            Split parts = split(c.left, index);
+            return new Split(parts.left, join(parts.right, c.right));
+        }
+        Split parts = split(c.right, index - leftLength);
+        return new Split(join(c.left, parts.left), parts.right);
+    }
+
+    private void checkIndex(int index, int max) {
+        if (index < 0 || index > max) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length());
+        }
+    }
+
+    private void checkRange(int start, int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + length());
+        }
+    }
+
+    // Char by char UTF-8, keeping a high surrogate when a pair is split across two leaves
+    private static final class Utf8Encoder {
+        private final ByteBuffer out;
+        private char pendingHigh;
+
+        Utf8Encoder(ByteBuffer out) {
+            this.out = out;
+        }
+
+        void put(char c) {
+            if (pendingHigh != 0) {
+                char high = pendingHigh;
+                pendingHigh = 0;
+                if (Character.isLowSurrogate(c)) {
+                    int cp = Character.toCodePoint(high, c);
+                    out.put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+                            .put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+                    return;
+                }
+                out.put((byte) '?'); // lone high surrogate, like String.getBytes
+            }
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c)) {
+                pendingHigh = c;
+            } else if (Character.isLowSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+
+        void finish() {
+            if (pendingHigh != 0) {
+                out.put((byte) '?');
+                pendingHigh = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package course4.L1_Strings;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/*
+ 👉 Rope vs StringBuilder
+    1. The StringBufferBuilder edits (append, delete, insert) done with a Rope
+    2. Random edits checked against StringBuilder
+    3. Benchmark: edits in the middle of a large text (100M chars by default)
+*/
+public class RopeDemo {
+
+    public static void main(String[] args) throws Exception {
+        // 1. Same steps as StringBufferBuilder
+        Rope rope = Rope.of("Welcome to Java").append("!");
+        System.out.println("Rope append: " + rope);          // Welcome to Java!
+        Rope deleted = rope.delete(6, 10);
+        System.out.println("After delete: " + deleted);      // Welcom Java!
+        Rope inserted = deleted.insert(7, "Amazing ");
+        System.out.println("After insert: " + inserted);     // Welcom Amazing Java!
+        System.out.println("Old version unchanged: " + rope);
+        System.out.println("substring(7, 14): " + inserted.substring(7, 14));
+
+        StringWriter writer = new StringWriter();
+        inserted.writeTo(writer);
+        ByteBuffer bytes = inserted.append(" ☕").writeTo(ByteBuffer.allocate(64));
+        System.out.println("Writer: " + writer + ", UTF-8 bytes: " + bytes.position());
+
+        // 2. Random edits give the same text as StringBuilder
+        Random random = new Random(42);
+        StringBuilder expected = new StringBuilder("The quick brown fox jumps over the lazy dog");
+        Rope actual = Rope.of(expected);
+        for (int i = 0; i < 10_000; i++) {
+            int at = random.nextInt(expected.length() + 1);
+            if (random.nextInt(3) == 0 && expected.length() > 10) {
+                int end = Math.min(expected.length(), at + random.nextInt(10));
+                expected.delete(at, end);
+                actual = actual.delete(at, end);
+            } else {
+                String text = "#" + i;
+                expected.insert(at, text);
+                actual = actual.insert(at, text);
+            }
+        }
+        System.out.println("10,000 random edits, same text: " + expected.toString().equals(actual.toString())
+                + " (length " + actual.length() + ", depth " + actual.depth() + ")");
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000_000;
+        int edits = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        benchmark(size, edits);
+    }
+
+    private static void benchmark(int size, int edits) throws Exception {
+        String text = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(size / 57 + 1).substring(0, size);
+        int[] positions = new int[edits];
+        Random random = new Random(7);
+        for (int i = 0; i < edits; i++) {
+            positions[i] = size / 4 + random.nextInt(size / 2); // middle of the text
+        }
+
+        long start = System.nanoTime();
+        StringBuilder sb = new StringBuilder(size + edits * 16);
+        sb.append(text);
+        long sbLoad = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < edits; i++) {
+            sb.insert(positions[i], "[edit]");
+            sb.delete(positions[i] / 2, positions[i] / 2 + 3);
+        }
+        long sbEdits = System.nanoTime() - start;
+        start = System.nanoTime();
+        long sbChecksum = 0;
+        for (int i = 0; i < edits; i++) {
+            sbChecksum += sb.substring(positions[i], positions[i] + 1000).hashCode();
+        }
+        long sbSubstrings = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Rope rope = Rope.of(text);
+        long ropeLoad = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < edits; i++) {
+            rope = rope.insert(positions[i], "[edit]");
+            rope = rope.delete(positions[i] / 2, positions[i] / 2 + 3);
+        }
+        long ropeEdits = System.nanoTime() - start;
+        start = System.nanoTime();
+        long ropeChecksum = 0;
+        for (int i = 0; i < edits; i++) {
+            ropeChecksum += rope.substring(positions[i], positions[i] + 1000).toString().hashCode();
+        }
+        long ropeSubstrings = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long[] written = new long[1];
+        rope.writeTo(new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                written[0] += length;
+            }
+
+            @Override
+            public void write(String str, int offset, int length) {
+                written[0] += length; // no copy: pieces are written straight from the leaves
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        long ropeWrite = System.nanoTime() - start;
+
+        boolean same = sbChecksum == ropeChecksum && sb.length() == rope.length()
+                && sb.charAt(size / 2) == rope.charAt(size / 2);
+        System.out.printf("%,d chars, %,d inserts + %,d deletes in the middle (same result: %b)%n", size, edits, edits, same);
+        System.out.printf("StringBuilder : load %,10d µs, edits %,10d µs, %,d substrings %,8d µs%n",
+                sbLoad / 1_000, sbEdits / 1_000, edits, sbSubstrings / 1_000);
+        System.out.printf("Rope          : load %,10d µs, edits %,10d µs, %,d substrings %,8d µs (depth %d)%n",
+                ropeLoad / 1_000, ropeEdits / 1_000, edits, ropeSubstrings / 1_000, rope.depth());
+        System.out.printf("Rope streamed %,d chars to a Writer in %,d µs%n", written[0], ropeWrite / 1_000);
+        System.out.println("UTF-8 of the first 40 chars: "
+                + StandardCharsets.UTF_8.decode(rope.substring(0, 40).writeTo(ByteBuffer.allocate(40)).flip()));
+    }
+}
@@ -0,0 +1,82 @@
+package course4.L2_Exceptions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/*
+ Validates a whole batch and collects every failure instead of stopping at the first exception.
+ Rules are checked in the order they were added; the first failing rule is reported for a row.
+ Failures are stored in two parallel arrays (row index + error), so nothing is allocated per row.
+*/
+public class BatchValidator<T> {
+    private final List<Predicate<? super T>> checks = new ArrayList<>();
+    private final List<ValidationError> errors = new ArrayList<>();
+
+    // Adds a rule: `check` must be true, otherwise `error` is reported
+    public BatchValidator<T> rule(Predicate<? super T> check, ValidationError error) {
+        checks.add(check);
+        errors.add(error);
+        return this;
+    }
+
+    public Result<T> validate(T value) {
+        for (int r = 0; r < checks.size(); r++) {
+            if (!checks.get(r).test(value)) {
+                return Result.failure(errors.get(r));
+            }
+        }
+        return Result.success(value);
+    }
+
+    public Report validateAll(List<? extends T> items) {
+        int[] failedRows = new int[16];
+        ValidationError[] failedErrors = new ValidationError[16];
+        int failures = 0;
+        for (int row = 0; row < items.size(); row++) {
+            T item = items.get(row);
+            for (int r = 0; r < checks.size(); r++) {
+                if (!checks.get(r).test(item)) {
+                    if (failures == failedRows.length) {
+                        failedRows = Arrays.copyOf(failedRows, failures * 2);
+                        failedErrors = Arrays.copyOf(failedErrors, failures * 2);
+                    }
+                    failedRows[failures] = row;
+                    failedErrors[failures] = errors.get(r);
+                    failures++;
+                    break;
+                }
+            }
+        }
+        return new Report(items.size(), failures, failedRows, failedErrors);
+    }
+
+    // Outcome of validateAll: which rows failed and why
+    public record Report(int total, int failureCount, int[] failedRows, ValidationError[] errors) {
+        public boolean isValid() {
+            return failureCount == 0;
+        }
+
+        public int validCount() {
+            return total - failureCount;
+        }
+
+        public int failedRow(int i) {
+            return failedRows[i];
+        }
+
+        public ValidationError error(int i) {
+            return errors[i];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Report{total=" + total + ", failures=" + failureCount);
+            for (int i = 0; i < failureCount; i++) {
+                sb.append(", row ").append(failedRows[i]).append(": ").append(errors[i].code());
+            }
+            return sb.append('}').toString();
+        }
+    }
+}
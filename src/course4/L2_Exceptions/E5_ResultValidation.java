@@ -0,0 +1,125 @@
+package course4.L2_Exceptions;
+
+import course4.L3_ReferenceMethod.NumberCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import benchmark.Bench;
+
+public class E5_ResultValidation {
+
+    // Same check as E4_CustomException.checkValue, but the failure is returned, not thrown
+    static Result<Integer> checkValue(int num) {
+        if (num == 0) {
+            return Result.failure(ValidationError.ZERO_NOT_ALLOWED);
+        }
+        return Result.success(num);
+    }
+
+    // Same input handling as E1_Exception, without a NumberFormatException
+    static Result<Integer> parseUserInput(String input) {
+        NumberCodec.ParsedNumber parsed = new NumberCodec.ParsedNumber();
+        if (!NumberCodec.parseInt(input, parsed)) {
+            return Result.failure(ValidationError.NOT_A_NUMBER);
+        }
+        return Result.success(parsed.intValue());
+    }
+
+    public static void main(String[] args) {
+        String[] fruits = {"Banana", "Watermelon", "Apple", "Orange"};
+
+        // 1. Pattern matching over the sealed Result (no default branch needed)
+        for (String input : new String[]{"2", "ABC", "7"}) {
+            Result<String> pick = parseUserInput(input)
+                    .flatMap(n -> n >= 1 && n <= fruits.length
+                            ? Result.success(fruits[n - 1])
+                            : Result.failure(ValidationError.OUT_OF_RANGE));
+            String message = switch (pick) {
+                case Result.Success<String> s -> "User picked: " + s.value();
+                case Result.Failure<String> f -> f.error().message();
+            };
+            System.out.println(input + " -> " + message);
+        }
+
+        // 2. Chaining checks
+        System.out.println("checkValue(5): " + checkValue(5).map(n -> "Valid number: " + n).orElse("invalid"));
+        System.out.println("checkValue(0): " + checkValue(0).map(n -> "Valid number: " + n).orElse("invalid"));
+
+        // 3. When a throw is unavoidable, use the stackless exception
+        try {
+            checkValue(0).orElseThrow();
+        } catch (StacklessException e) {
+            System.out.println("Caught stackless exception: " + e.getMessage()
+                    + " (stack frames: " + e.getStackTrace().length + ")");
+        }
+
+        // 4. Bulk validation: all errors of a batch, nothing thrown
+        BatchValidator<String> validator = new BatchValidator<String>()
+                .rule(s -> parseUserInput(s).isSuccess(), ValidationError.NOT_A_NUMBER)
+                .rule(s -> !s.equals("0"), ValidationError.ZERO_NOT_ALLOWED);
+        System.out.println(validator.validateAll(List.of("1", "0", "x", "5", "")));
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        demonstratePerformance(size);
+    }
+
+    // Failure-path throughput with 1%, 10% and 50% invalid input
+    static void demonstratePerformance(int size) {
+        System.out.println("Performance Test (" + size + " values, best of 5):");
+        for (int invalidPercent : new int[]{1, 10, 50}) {
+            List<Integer> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add((i % 100) < invalidPercent ? 0 : i + 1);
+            }
+
+            long checked = Bench.best(() -> {
+                long valid = 0;
+                for (int v : values) {
+                    try {
+                        valid += checkValueThrowing(v);
+                    } catch (MyException e) {
+                        valid--;
+                    }
+                }
+                return valid;
+            });
+            long stackless = Bench.best(() -> {
+                long valid = 0;
+                for (int v : values) {
+                    try {
+                        valid += checkValueStackless(v);
+                    } catch (StacklessException e) {
+                        valid--;
+                    }
+                }
+                return valid;
+            });
+            long result = Bench.best(() -> {
+                long valid = 0;
+                for (int v : values) {
+                    valid += checkValue(v) instanceof Result.Success<Integer> s ? s.value() : -1;
+                }
+                return valid;
+            });
+            System.out.printf("%2d%% invalid -> MyException: %5d ms, StacklessException: %5d ms, Result: %5d ms%n",
+                    invalidPercent, checked, stackless, result);
+        }
+    }
+
+    // Original style: a new exception with a full stack trace for every invalid value
+    private static int checkValueThrowing(int num) throws MyException {
+        if (num == 0) {
+            throw new MyException("Zero is not allowed!");
+        }
+        return num;
+    }
+
+    private static int checkValueStackless(int num) {
+        if (num == 0) {
+            throw new StacklessException(ValidationError.ZERO_NOT_ALLOWED);
+        }
+        return num;
+    }
+}
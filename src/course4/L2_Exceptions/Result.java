@@ -0,0 +1,62 @@
+package course4.L2_Exceptions;
+
+import java.util.function.Function;
+
+/*
+ 👉 Result: the outcome of an operation that can fail in an expected way
+    - Success holds the value, Failure holds a ValidationError
+    - Sealed, so a switch over Result needs no default branch
+    - No exception is created on the failure path, so no stack trace is captured
+*/
+public sealed interface Result<T> permits Result.Success, Result.Failure {
+
+    record Success<T>(T value) implements Result<T> {
+    }
+
+    record Failure<T>(ValidationError error) implements Result<T> {
+    }
+
+    static <T> Result<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    // The predeclared errors of ValidationError share one Failure each (a Failure holds no value,
+    // so it is safe for any T); errors built on the fly get a new Failure
+    @SuppressWarnings("unchecked")
+    static <T> Result<T> failure(ValidationError error) {
+        Result<?> shared = ValidationError.sharedFailure(error);
+        return shared != null ? (Result<T>) shared : new Failure<>(error);
+    }
+
+    default boolean isSuccess() {
+        return this instanceof Success<T>;
+    }
+
+    @SuppressWarnings("unchecked") // a Failure holds no T, so it is a Result<R> too
+    default <R> Result<R> map(Function<? super T, ? extends R> mapper) {
+        return switch (this) {
+            case Success<T> s -> success(mapper.apply(s.value()));
+            case Failure<T> f -> (Result<R>) f;
+        };
+    }
+
+    @SuppressWarnings("unchecked") // a Failure holds no T, so it is a Result<R> too
+    default <R> Result<R> flatMap(Function<? super T, Result<R>> mapper) {
+        return switch (this) {
+            case Success<T> s -> mapper.apply(s.value());
+            case Failure<T> f -> (Result<R>) f;
+        };
+    }
+
+    default T orElse(T other) {
+        return this instanceof Success<T> s ? s.value() : other;
+    }
+
+    // For callers that must throw: the exception is stackless, so throwing stays cheap
+    default T orElseThrow() {
+        return switch (this) {
+            case Success<T> s -> s.value();
+            case Failure<T> f -> throw new StacklessException(f.error());
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package course4.L2_Exceptions;
+
+/*
+ A RuntimeException that skips the expensive parts of Throwable:
+ - writableStackTrace = false -> fillInStackTrace() does not walk the stack
+ - enableSuppression  = false -> no suppressed-exception list
+ Use it when throwing is unavoidable for an expected failure.
+ Because it carries no stack, a single instance can even be created once and rethrown.
+*/
+public class StacklessException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient ValidationError error; // not Serializable: null after deserialization
+
+    public StacklessException(ValidationError error) {
+        super(error.message(), null, false, false);
+        this.error = error;
+    }
+
+    public ValidationError getError() {
+        return error;
+    }
+}
@@ -0,0 +1,25 @@
+package course4.L2_Exceptions;
+
+// An expected validation failure described as plain data (no stack trace)
+// Common errors are created once and shared, so reporting them allocates nothing
+public record ValidationError(String code, String message) {
+    public static final ValidationError NOT_A_NUMBER = new ValidationError("NOT_A_NUMBER", "Invalid input! Please enter numbers only.");
+    public static final ValidationError OUT_OF_RANGE = new ValidationError("OUT_OF_RANGE", "Value is out of the allowed range.");
+    public static final ValidationError ZERO_NOT_ALLOWED = new ValidationError("ZERO_NOT_ALLOWED", "Zero is not allowed!");
+    public static final ValidationError NOT_FOUND = new ValidationError("NOT_FOUND", "Not found.");
+
+    // One Failure per constant above, so Result.failure(CONSTANT) allocates nothing
+    private static final Result<?> NOT_A_NUMBER_FAILURE = new Result.Failure<>(NOT_A_NUMBER);
+    private static final Result<?> OUT_OF_RANGE_FAILURE = new Result.Failure<>(OUT_OF_RANGE);
+    private static final Result<?> ZERO_NOT_ALLOWED_FAILURE = new Result.Failure<>(ZERO_NOT_ALLOWED);
+    private static final Result<?> NOT_FOUND_FAILURE = new Result.Failure<>(NOT_FOUND);
+
+    // The shared Failure of a predeclared error (compared by identity), null for any other error
+    static Result<?> sharedFailure(ValidationError error) {
+        if (error == NOT_A_NUMBER) return NOT_A_NUMBER_FAILURE;
+        if (error == OUT_OF_RANGE) return OUT_OF_RANGE_FAILURE;
+        if (error == ZERO_NOT_ALLOWED) return ZERO_NOT_ALLOWED_FAILURE;
+        if (error == NOT_FOUND) return NOT_FOUND_FAILURE;
+        return null;
+    }
+}
@@ -0,0 +1,115 @@
+package course4.L3_ReferenceMethod;
+
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+// Primitive int specialization of Pipeline: values travel as int from stage to stage, never as Integer
+public final class IntPipeline {
+    private final PipelineSource source;
+    private final IntSinkChain chain;
+    private final boolean parallel;
+
+    IntPipeline(PipelineSource source, IntSinkChain chain, boolean parallel) {
+        this.source = source;
+        this.chain = chain;
+        this.parallel = parallel;
+    }
+
+    public IntPipeline map(IntUnaryOperator mapper) {
+        if (chain instanceof IntMapChain previous) {
+            return new IntPipeline(source, previous.andThen(mapper), parallel);   // fused
+        }
+        return new IntPipeline(source, new IntMapChain(chain, mapper), parallel);
+    }
+
+    public IntPipeline filter(IntPredicate predicate) {
+        return new IntPipeline(source, down -> chain.link(new IntSink() {
+            @Override
+            public void accept(int value) {
+                if (predicate.test(value)) {
+                    down.accept(value);
+                }
+            }
+
+            @Override
+            public void end() {
+                down.end();
+            }
+        }), parallel);
+    }
+
+    public <R> Pipeline<R> mapToObj(IntFunction<? extends R> mapper) {
+        return new Pipeline<>(source, down -> chain.link(new IntSink() {
+            @Override
+            public void accept(int value) {
+                down.accept(mapper.apply(value));
+            }
+
+            @Override
+            public void end() {
+                down.end();
+            }
+        }), parallel);
+    }
+
+    public IntPipeline parallel() {
+        return new IntPipeline(source, chain, true);
+    }
+
+    public IntPipeline sequential() {
+        return new IntPipeline(source, chain, false);
+    }
+
+    // In parallel mode the action is called from several threads and must be thread-safe
+    public void forEach(IntConsumer action) {
+        source.evaluate(parallel, () -> null, ignored -> chain.link(action::accept), (a, b) -> null);
+    }
+
+    public <A> A collect(Supplier<A> supplier, ObjIntConsumer<A> accumulator, BinaryOperator<A> combiner) {
+        return source.evaluate(parallel, supplier,
+                container -> chain.link(value -> accumulator.accept(container, value)), combiner);
+    }
+
+    // Sum as long, so large ranges do not overflow
+    public long sum() {
+        return collect(() -> new long[1], (total, value) -> total[0] += value, (left, right) -> {
+            left[0] += right[0];
+            return left;
+        })[0];
+    }
+}
+
+interface IntSink extends IntConsumer {
+    default void end() {
+    }
+}
+
+interface IntSinkChain {
+    Sink<Object> link(IntSink downstream);
+}
+
+record IntMapChain(IntSinkChain upstream, IntUnaryOperator mapper) implements IntSinkChain {
+    IntMapChain andThen(IntUnaryOperator next) {
+        return new IntMapChain(upstream, mapper.andThen(next));
+    }
+
+    @Override
+    public Sink<Object> link(IntSink downstream) {
+        return upstream.link(new IntSink() {
+            @Override
+            public void accept(int value) {
+                downstream.accept(mapper.applyAsInt(value));
+            }
+
+            @Override
+            public void end() {
+                downstream.end();
+            }
+        });
+    }
+}
@@ -0,0 +1,449 @@
+package course4.L3_ReferenceMethod;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ 👉 Allocation-free number parsing and formatting for string <-> number pipelines
+    - Parsing never throws: invalid input returns false instead of a NumberFormatException
+      (creating an exception captures a stack trace, which is expensive on a hot path)
+    - Results go into a reusable ParsedNumber, so a successful parse allocates nothing
+    - Works directly on CharSequence, byte[] (ASCII / UTF-8) and ByteBuffer ranges, no substring needed
+    - Formatting writes digits into caller-owned buffers instead of creating a new String per number
+    - parseIntColumn()/parseFixedWidthInts() parse whole columns with a branch-free inner digit loop
+*/
+public final class NumberCodec {
+
+    // Utility class: no instances
+    private NumberCodec() {
+    }
+
+    // Reusable, mutable parse result (one per thread / per loop, not per number)
+    public static final class ParsedNumber {
+        long longValue;
+        double doubleValue;
+
+        public long longValue() {
+            return longValue;
+        }
+
+        public int intValue() {
+            return (int) longValue;
+        }
+
+        public double doubleValue() {
+            return doubleValue;
+        }
+    }
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Scratch space for direct ByteBuffers, so the byte[] parser can be reused without allocating
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[64]);
+
+    // ---------------- int / long ----------------
+
+    public static boolean parseInt(CharSequence s, ParsedNumber out) {
+        return parseInt(s, 0, s.length(), out);
+    }
+
+    public static boolean parseInt(CharSequence s, int from, int to, ParsedNumber out) {
+        return parseLong(s, from, to, out) && fitsInt(out.longValue);
+    }
+
+    public static boolean parseInt(byte[] bytes, int from, int to, ParsedNumber out) {
+        return parseLong(bytes, from, to, out) && fitsInt(out.longValue);
+    }
+
+    public static boolean parseInt(ByteBuffer buffer, int from, int to, ParsedNumber out) {
+        return parseLong(buffer, from, to, out) && fitsInt(out.longValue);
+    }
+
+    // Returns the parsed int, or defaultValue if the input is not a valid int
+    public static int parseIntOrDefault(CharSequence s, int defaultValue) {
+        ParsedNumber out = new ParsedNumber(); // scalar-replaced by the JIT after inlining
+        return parseInt(s, 0, s.length(), out) ? out.intValue() : defaultValue;
+    }
+
+    // Same rules as Long.parseLong (optional sign, decimal digits only), but never throws
+    public static boolean parseLong(CharSequence s, int from, int to, ParsedNumber out) {
+        if (from >= to) {
+            return false;
+        }
+        boolean negative = false;
+        int i = from;
+        char first = s.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == to) {
+                return false;
+            }
+        }
+        // Accumulate negatively so Long.MIN_VALUE does not overflow
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyMin = limit / 10;
+        long result = 0;
+        for (; i < to; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyMin) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+        out.longValue = negative ? result : -result;
+        return true;
+    }
+
+    public static boolean parseLong(byte[] bytes, int from, int to, ParsedNumber out) {
+        if (from >= to) {
+            return false;
+        }
+        boolean negative = false;
+        int i = from;
+        byte first = bytes[i];
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == to) {
+                return false;
+            }
+        }
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyMin = limit / 10;
+        long result = 0;
+        for (; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9 || result < multiplyMin) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+        out.longValue = negative ? result : -result;
+        return true;
+    }
+
+    // Absolute positions, the buffer's position and limit are not changed; a range past the limit is invalid
+    public static boolean parseLong(ByteBuffer buffer, int from, int to, ParsedNumber out) {
+        if (!inLimit(buffer, from, to)) {
+            return false;
+        }
+        if (buffer.hasArray()) {
+            int base = buffer.arrayOffset();
+            return parseLong(buffer.array(), base + from, base + to, out);
+        }
+        byte[] scratch = scratch(to - from);
+        if (scratch == null) {
+            return false; // far longer than any valid number
+        }
+        buffer.get(from, scratch, 0, to - from);
+        return parseLong(scratch, 0, to - from, out);
+    }
+
+    // ---------------- double ----------------
+
+    public static boolean parseDouble(CharSequence s, int from, int to, ParsedNumber out) {
+        if (from >= to || to - from > 64) {
+            return false;
+        }
+        byte[] scratch = SCRATCH.get();
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c > 0x7F) {
+                return false;
+            }
+            scratch[i - from] = (byte) c;
+        }
+        return parseDouble(scratch, 0, to - from, out);
+    }
+
+    /*
+     Decimal syntax: [sign] digits [. digits] [(e|E) [sign] digits]
+     Fast path (no allocation): up to 15 significant digits and a power of ten up to 22,
+     which is exact because both values are exactly representable as doubles.
+     Anything longer falls back to Double.parseDouble on the already validated text.
+     NaN, Infinity and hex floats are rejected.
+    */
+    public static boolean parseDouble(byte[] bytes, int from, int to, ParsedNumber out) {
+        if (from >= to) {
+            return false;
+        }
+        int i = from;
+        boolean negative = false;
+        if (bytes[i] == '-' || bytes[i] == '+') {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significantDigits = 0;
+        int digits = 0;
+        int exponent = 0;
+        for (; i < to && isDigit(bytes[i]); i++, digits++) {
+            if (significantDigits < 19) {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                if (mantissa != 0) {
+                    significantDigits++;
+                }
+            } else {
+                exponent++; // digit dropped from the mantissa
+                significantDigits++;
+            }
+        }
+        if (i < to && bytes[i] == '.') {
+            for (i++; i < to && isDigit(bytes[i]); i++, digits++) {
+                if (significantDigits < 19) {
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    if (mantissa != 0) {
+                        significantDigits++;
+                    }
+                    exponent--;
+                } else {
+                    significantDigits++;
+                }
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            if (i == to) {
+                return false;
+            }
+            int explicit = 0;
+            for (; i < to && isDigit(bytes[i]); i++) {
+                if (explicit < 100_000) {
+                    explicit = explicit * 10 + (bytes[i] - '0');
+                }
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (i != to) {
+            return false;
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0.0;
+        } else if (significantDigits <= 15 && exponent >= -22 && exponent <= 22) {
+            value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        } else {
+            // Rare slow path: syntax is already validated, so this cannot throw
+            value = Math.abs(Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.ISO_8859_1)));
+        }
+        out.doubleValue = negative ? -value : value;
+        return true;
+    }
+
+    public static boolean parseDouble(ByteBuffer buffer, int from, int to, ParsedNumber out) {
+        if (!inLimit(buffer, from, to)) {
+            return false;
+        }
+        if (buffer.hasArray()) {
+            int base = buffer.arrayOffset();
+            return parseDouble(buffer.array(), base + from, base + to, out);
+        }
+        byte[] scratch = scratch(to - from);
+        if (scratch == null) {
+            return false;
+        }
+        buffer.get(from, scratch, 0, to - from);
+        return parseDouble(scratch, 0, to - from, out);
+    }
+
+    // ---------------- formatting ----------------
+
+    // Writes the ASCII digits of value at offset and returns the offset after the last digit
+    public static int formatLong(long value, byte[] dst, int offset) {
+        int end = offset + stringSize(value);
+        int pos = end;
+        // Work with negative numbers so Long.MIN_VALUE needs no special case
+        long v = value < 0 ? value : -value;
+        do {
+            long q = v / 10;
+            dst[--pos] = (byte) ('0' + (q * 10 - v));
+            v = q;
+        } while (v != 0);
+        if (value < 0) {
+            dst[--pos] = '-';
+        }
+        return end;
+    }
+
+    public static int formatLong(long value, char[] dst, int offset) {
+        int end = offset + stringSize(value);
+        int pos = end;
+        long v = value < 0 ? value : -value;
+        do {
+            long q = v / 10;
+            dst[--pos] = (char) ('0' + (q * 10 - v));
+            v = q;
+        } while (v != 0);
+        if (value < 0) {
+            dst[--pos] = '-';
+        }
+        return end;
+    }
+
+    // Relative put at the buffer's position; BufferOverflowException (nothing written) when it does not fit
+    public static void formatLong(long value, ByteBuffer dst) {
+        if (dst.remaining() < stringSize(value)) {
+            throw new BufferOverflowException();
+        }
+        if (dst.hasArray()) {
+            int start = dst.arrayOffset() + dst.position();
+            int end = formatLong(value, dst.array(), start);
+            dst.position(dst.position() + end - start);
+            return;
+        }
+        byte[] scratch = SCRATCH.get();
+        int length = formatLong(value, scratch, 0);
+        dst.put(scratch, 0, length);
+    }
+
+    // Fixed number of decimals, e.g. prices: formatFixed(499.5, 2, ...) -> "499.50"
+    public static int formatFixed(double value, int decimals, byte[] dst, int offset) {
+        if (decimals < 0 || decimals > 9) {
+            throw new IllegalArgumentException("decimals must be between 0 and 9");
+        }
+        double scaled = value * POWERS_OF_TEN[decimals];
+        if (Double.isNaN(scaled) || Math.abs(scaled) >= 0x1p53) {
+            // Out of the exact long range: fall back to the JDK formatting
+            byte[] text = Double.toString(value).getBytes(StandardCharsets.ISO_8859_1);
+            System.arraycopy(text, 0, dst, offset, text.length);
+            return offset + text.length;
+        }
+        long units = Math.round(scaled);
+        int pos = offset;
+        if (units < 0) {
+            dst[pos++] = '-';
+            units = -units;
+        }
+        long whole = units / (long) POWERS_OF_TEN[decimals];
+        long fraction = units % (long) POWERS_OF_TEN[decimals];
+        pos = formatLong(whole, dst, pos);
+        if (decimals > 0) {
+            dst[pos++] = '.';
+            for (int d = decimals - 1; d >= 0; d--) {
+                dst[pos + d] = (byte) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            pos += decimals;
+        }
+        return pos;
+    }
+
+    // Number of characters needed to print value in decimal
+    public static int stringSize(long value) {
+        int sign = value < 0 ? 1 : 0;
+        long v = value < 0 ? value : -value;
+        long p = -10;
+        for (int i = 1; i < 19; i++) {
+            if (v > p) {
+                return i + sign;
+            }
+            p = 10 * p;
+        }
+        return 19 + sign;
+    }
+
+    // ---------------- column (bulk) parsing ----------------
+
+    /*
+     Parses delimiter-separated ints from data[from, to) into values[].
+     Invalid fields never throw: they are stored as 0 and flagged false in valid[].
+     The inner digit loop has no data-dependent branches - every byte is checked by
+     OR-ing (digit | 9 - digit), which is negative only when the byte is not a digit.
+     Returns the number of fields parsed.
+    */
+    public static int parseIntColumn(byte[] data, int from, int to, byte delimiter, int[] values, boolean[] valid) {
+        if (valid.length < values.length) {
+            throw new IllegalArgumentException("valid[] is shorter than values[]");
+        }
+        int row = 0;
+        int start = from;
+        while (start < to && row < values.length) {
+            int end = start;
+            while (end < to && data[end] != delimiter) {
+                end++;
+            }
+            boolean ok = parseDigits(data, start, end, values, row);
+            valid[row++] = ok;
+            start = end + 1;
+        }
+        return row;
+    }
+
+    // Fixed-width fields (e.g. zero-padded "000123") with a constant trip count per row
+    public static int parseFixedWidthInts(byte[] data, int offset, int width, int count, int[] values, boolean[] valid) {
+        if (values.length < count || valid.length < count) {
+            throw new IllegalArgumentException("values[] and valid[] need room for " + count + " rows");
+        }
+        int invalid = 0;
+        for (int row = 0; row < count; row++) {
+            int start = offset + row * width;
+            boolean ok = parseDigits(data, start, start + width, values, row);
+            valid[row] = ok;
+            invalid += ok ? 0 : 1;
+        }
+        return invalid;
+    }
+
+    private static boolean parseDigits(byte[] data, int start, int end, int[] values, int row) {
+        // An optional sign, like parseLong
+        boolean negative = start < end && data[start] == '-';
+        boolean signed = negative || start < end && data[start] == '+';
+        int i = signed ? start + 1 : start;
+        int length = end - i;
+        if (length <= 0 || length > 10) {
+            values[row] = 0;
+            return false;
+        }
+        long acc = 0;
+        int bad = 0;
+        for (; i < end; i++) {
+            int digit = data[i] - '0';
+            bad |= digit | (9 - digit);
+            acc = acc * 10 + digit;
+        }
+        long result = negative ? -acc : acc;
+        if (bad < 0 || !fitsInt(result)) {
+            values[row] = 0;
+            return false;
+        }
+        values[row] = (int) result;
+        return true;
+    }
+
+    private static boolean fitsInt(long value) {
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    // [from, to) must be a non-empty range below the limit: the array behind a heap buffer goes further
+    private static boolean inLimit(ByteBuffer buffer, int from, int to) {
+        return from >= 0 && from < to && to <= buffer.limit();
+    }
+
+    private static byte[] scratch(int length) {
+        return length <= 64 ? SCRATCH.get() : null;
+    }
+}
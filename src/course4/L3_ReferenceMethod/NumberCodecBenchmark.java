@@ -0,0 +1,127 @@
+package course4.L3_ReferenceMethod;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import benchmark.Bench;
+
+public class NumberCodecBenchmark {
+    public static void main(String[] args) {
+        NumberCodec.ParsedNumber parsed = new NumberCodec.ParsedNumber(); // reused for every parse
+
+        // 1. Invalid input without a NumberFormatException (compare with E1_Exception)
+        for (String input : List.of("42", "-17", "ABC", "2147483648", "")) {
+            if (NumberCodec.parseInt(input, parsed)) {
+                System.out.println("'" + input + "' -> " + parsed.intValue());
+            } else {
+                System.out.println("'" + input + "' -> invalid, no exception thrown");
+            }
+        }
+
+        // 2. Parsing a range inside a larger text, a byte[] and a ByteBuffer (no substring)
+        String line = "id=101;price=499.95";
+        NumberCodec.parseInt(line, 3, 6, parsed);
+        System.out.println("id: " + parsed.intValue());
+        NumberCodec.parseDouble(line, 13, line.length(), parsed);
+        System.out.println("price: " + parsed.doubleValue());
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16).put("  -9001".getBytes(StandardCharsets.US_ASCII));
+        NumberCodec.parseLong(buffer, 2, 7, parsed);
+        System.out.println("from ByteBuffer: " + parsed.longValue());
+
+        // 3. Formatting into a reusable buffer instead of String.valueOf
+        byte[] out = new byte[32];
+        int end = NumberCodec.formatLong(Long.MIN_VALUE, out, 0);
+        System.out.println("formatted: " + new String(out, 0, end, StandardCharsets.US_ASCII));
+        end = NumberCodec.formatFixed(499.5, 2, out, 0);
+        System.out.println("formatted price: " + new String(out, 0, end, StandardCharsets.US_ASCII));
+
+        // 4. Column parsing
+        byte[] column = "12,7,x9,-3,100".getBytes(StandardCharsets.US_ASCII);
+        int[] values = new int[8];
+        boolean[] valid = new boolean[8];
+        int rows = NumberCodec.parseIntColumn(column, 0, column.length, (byte) ',', values, valid);
+        System.out.println("column: " + Arrays.toString(Arrays.copyOf(values, rows))
+                + " valid: " + Arrays.toString(Arrays.copyOf(valid, rows)));
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        demonstratePerformance(size);
+    }
+
+    static void demonstratePerformance(int size) {
+        System.out.println("Performance Test (" + size + " numbers, best of 5):");
+        for (int invalidPercent : new int[]{0, 10, 50}) {
+            String[] inputs = new String[size];
+            for (int i = 0; i < size; i++) {
+                inputs[i] = (i % 100) < invalidPercent ? "N/A" + i : String.valueOf(i * 7);
+            }
+            long exceptions = Bench.best(() -> {
+                long sum = 0;
+                for (String s : inputs) {
+                    try {
+                        sum += Integer.parseInt(s);
+                    } catch (NumberFormatException e) {
+                        sum--;
+                    }
+                }
+                return sum;
+            });
+            long codec = Bench.best(() -> {
+                NumberCodec.ParsedNumber p = new NumberCodec.ParsedNumber();
+                long sum = 0;
+                for (String s : inputs) {
+                    sum += NumberCodec.parseInt(s, p) ? p.intValue() : -1;
+                }
+                return sum;
+            });
+            System.out.printf("%2d%% invalid -> Integer.parseInt + catch: %5d ms, NumberCodec.parseInt: %5d ms%n",
+                    invalidPercent, exceptions, codec);
+        }
+
+        // Formatting: String.valueOf allocates a String per number
+        long valueOf = Bench.best(() -> {
+            long length = 0;
+            for (int i = 0; i < size; i++) {
+                length += String.valueOf(i).length();
+            }
+            return length;
+        });
+        long format = Bench.best(() -> {
+            byte[] buffer = new byte[20];
+            long length = 0;
+            for (int i = 0; i < size; i++) {
+                length += NumberCodec.formatLong(i, buffer, 0);
+            }
+            return length;
+        });
+        System.out.println("String.valueOf: " + valueOf + " ms, NumberCodec.formatLong into byte[]: " + format + " ms");
+
+        // Column of comma separated numbers: split + parseInt vs parseIntColumn
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            csv.append(i).append(',');
+        }
+        String text = csv.toString();
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        long split = Bench.best(() -> {
+            long sum = 0;
+            for (String field : text.split(",")) {
+                sum += Integer.parseInt(field);
+            }
+            return sum;
+        });
+        int[] values = new int[size];
+        boolean[] valid = new boolean[size];
+        long column = Bench.best(() -> {
+            int rows = NumberCodec.parseIntColumn(bytes, 0, bytes.length, (byte) ',', values, valid);
+            long sum = 0;
+            for (int i = 0; i < rows; i++) {
+                sum += values[i];
+            }
+            return sum;
+        });
+        System.out.println("split + parseInt: " + split + " ms, parseIntColumn: " + column + " ms");
+    }
+}
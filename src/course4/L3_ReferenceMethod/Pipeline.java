@@ -0,0 +1,275 @@
+package course4.L3_ReferenceMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/*
+ 👉 A small lazy, push-based pipeline (a lightweight alternative to java.util.stream for hot paths)
+    - Nothing runs until a terminal operation (forEach, toList, count, reduce, collect)
+    - Every element is pushed through the whole chain of sinks in ONE loop over the source
+    - Adjacent map stages are fused into one function, adjacent filters into one predicate,
+      so map(a).map(b).map(c) costs one sink instead of three
+    - mapToInt() switches to IntPipeline, so int stages never box
+    - parallel() runs the same sink chain on fork/join leaves over index ranges of the source
+*/
+public final class Pipeline<T> {
+    private final PipelineSource source;
+    private final SinkChain<T> chain;
+    private final boolean parallel;
+
+    Pipeline(PipelineSource source, SinkChain<T> chain, boolean parallel) {
+        this.source = source;
+        this.chain = chain;
+        this.parallel = parallel;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Pipeline<T> of(List<? extends T> list) {
+        // Index access is needed to split the source for fork/join
+        List<?> indexed = list instanceof RandomAccess ? list : new ArrayList<>(list);
+        return new Pipeline<>(new PipelineSource(indexed.size(), indexed::get),
+                down -> (Sink<Object>) down, false);
+    }
+
+    // Reads the array in place: no copy, and null elements are allowed
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    public static <T> Pipeline<T> of(T... items) {
+        return new Pipeline<>(new PipelineSource(items.length, i -> items[i]),
+                down -> (Sink<Object>) down, false);
+    }
+
+    // ---------------- Intermediate (lazy) operations ----------------
+
+    public <R> Pipeline<R> map(Function<? super T, ? extends R> mapper) {
+        if (chain instanceof MapChain<?, T> previous) {
+            return new Pipeline<>(source, previous.andThen(mapper), parallel);   // fused
+        }
+        return new Pipeline<>(source, new MapChain<>(chain, mapper), parallel);
+    }
+
+    public Pipeline<T> filter(Predicate<? super T> predicate) {
+        if (chain instanceof FilterChain<T> previous) {
+            return new Pipeline<>(source, previous.and(predicate), parallel);      // fused
+        }
+        return new Pipeline<>(source, new FilterChain<>(chain, predicate), parallel);
+    }
+
+    public IntPipeline mapToInt(ToIntFunction<? super T> mapper) {
+        return new IntPipeline(source, down -> chain.link(new Sink<T>() {
+            @Override
+            public void accept(T value) {
+                down.accept(mapper.applyAsInt(value));
+            }
+
+            @Override
+            public void end() {
+                down.end();
+            }
+        }), parallel);
+    }
+
+    // Push-based batching: downstream receives lists of up to `size` elements
+    // In parallel mode every fork/join leaf batches its own range
+    public Pipeline<List<T>> batched(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        return new Pipeline<>(source, down -> chain.link(new Sink<T>() {
+            private List<T> batch = new ArrayList<>(size);
+
+            @Override
+            public void accept(T value) {
+                batch.add(value);
+                if (batch.size() == size) {
+                    down.accept(batch);
+                    batch = new ArrayList<>(size);
+                }
+            }
+
+            @Override
+            public void end() {
+                if (!batch.isEmpty()) {
+                    down.accept(batch);
+                }
+                down.end();
+            }
+        }), parallel);
+    }
+
+    public Pipeline<T> parallel() {
+        return new Pipeline<>(source, chain, true);
+    }
+
+    public Pipeline<T> sequential() {
+        return new Pipeline<>(source, chain, false);
+    }
+
+    // ---------------- Terminal operations ----------------
+
+    // In parallel mode the action is called from several threads and must be thread-safe
+    public void forEach(Consumer<? super T> action) {
+        source.evaluate(parallel, () -> null, ignored -> chain.link(action::accept), (a, b) -> null);
+    }
+
+    public <A> A collect(Supplier<A> supplier, BiConsumer<A, ? super T> accumulator, BinaryOperator<A> combiner) {
+        return source.evaluate(parallel, supplier,
+                container -> chain.link(value -> accumulator.accept(container, value)), combiner);
+    }
+
+    public List<T> toList() {
+        return collect(ArrayList::new, ArrayList::add, (left, right) -> {
+            left.addAll(right);
+            return left;
+        });
+    }
+
+    public long count() {
+        return collect(() -> new long[1], (counter, value) -> counter[0]++, (left, right) -> {
+            left[0] += right[0];
+            return left;
+        })[0];
+    }
+
+    public T reduce(T identity, BinaryOperator<T> operator) {
+        List<T> holder = collect(() -> {
+            List<T> h = new ArrayList<>(1);
+            h.add(identity);
+            return h;
+        }, (h, value) -> h.set(0, operator.apply(h.get(0), value)), (left, right) -> {
+            left.set(0, operator.apply(left.get(0), right.get(0)));
+            return left;
+        });
+        return holder.get(0);
+    }
+}
+
+// Receives pushed elements; end() is called once after the last element of a (sub)range
+interface Sink<T> extends Consumer<T> {
+    default void end() {
+    }
+}
+
+// Turns the downstream sink for T into the sink that receives raw source elements
+interface SinkChain<T> {
+    Sink<Object> link(Sink<? super T> downstream);
+}
+
+// map stage; a following map is composed into the same stage
+record MapChain<U, T>(SinkChain<U> upstream, Function<? super U, ? extends T> mapper) implements SinkChain<T> {
+    <R> MapChain<U, R> andThen(Function<? super T, ? extends R> next) {
+        Function<? super U, ? extends T> first = mapper;
+        return new MapChain<>(upstream, value -> next.apply(first.apply(value)));
+    }
+
+    @Override
+    public Sink<Object> link(Sink<? super T> downstream) {
+        return upstream.link(new Sink<U>() {
+            @Override
+            public void accept(U value) {
+                downstream.accept(mapper.apply(value));
+            }
+
+            @Override
+            public void end() {
+                downstream.end();
+            }
+        });
+    }
+}
+
+// filter stage; a following filter is and-ed into the same stage
+record FilterChain<T>(SinkChain<T> upstream, Predicate<? super T> predicate) implements SinkChain<T> {
+    FilterChain<T> and(Predicate<? super T> next) {
+        Predicate<? super T> first = predicate;
+        return new FilterChain<>(upstream, value -> first.test(value) && next.test(value));
+    }
+
+    @Override
+    public Sink<Object> link(Sink<? super T> downstream) {
+        return upstream.link(new Sink<T>() {
+            @Override
+            public void accept(T value) {
+                if (predicate.test(value)) {
+                    downstream.accept(value);
+                }
+            }
+
+            @Override
+            public void end() {
+                downstream.end();
+            }
+        });
+    }
+}
+
+// Index-backed source shared by Pipeline and IntPipeline, runs sequentially or on fork/join
+record PipelineSource(int size, IntFunction<?> getter) {
+    // Below this many elements a fork/join leaf stops splitting
+    static final int MIN_LEAF = 1024;
+
+    <A> A evaluate(boolean parallel, Supplier<A> supplier, Function<A, Sink<Object>> headFactory, BinaryOperator<A> combiner) {
+        if (!parallel || size <= MIN_LEAF) {
+            return run(0, size, supplier, headFactory);
+        }
+        int leaf = Math.max(MIN_LEAF, size / (ForkJoinPool.getCommonPoolParallelism() * 4));
+        return ForkJoinPool.commonPool().invoke(new RangeTask<>(this, 0, size, leaf, supplier, headFactory, combiner));
+    }
+
+    <A> A run(int from, int to, Supplier<A> supplier, Function<A, Sink<Object>> headFactory) {
+        A container = supplier.get();
+        Sink<Object> head = headFactory.apply(container);
+        for (int i = from; i < to; i++) {
+            head.accept(getter.apply(i));
+        }
+        head.end();
+        return container;
+    }
+}
+
+// Splits the index range in halves; results are combined left-to-right to keep encounter order
+class RangeTask<A> extends RecursiveTask<A> {
+    private static final long serialVersionUID = 1L;
+
+    // Tasks only live inside one pool run, they are never serialized
+    private final transient PipelineSource source;
+    private final int from, to, leaf;
+    private final transient Supplier<A> supplier;
+    private final transient Function<A, Sink<Object>> headFactory;
+    private final transient BinaryOperator<A> combiner;
+
+    RangeTask(PipelineSource source, int from, int to, int leaf, Supplier<A> supplier,
+              Function<A, Sink<Object>> headFactory, BinaryOperator<A> combiner) {
+        this.source = source;
+        this.from = from;
+        this.to = to;
+        this.leaf = leaf;
+        this.supplier = supplier;
+        this.headFactory = headFactory;
+        this.combiner = combiner;
+    }
+
+    @Override
+    protected A compute() {
+        if (to - from <= leaf) {
+            return source.run(from, to, supplier, headFactory);
+        }
+        int mid = (from + to) >>> 1;
+        RangeTask<A> left = new RangeTask<>(source, from, mid, leaf, supplier, headFactory, combiner);
+        RangeTask<A> right = new RangeTask<>(source, mid, to, leaf, supplier, headFactory, combiner);
+        left.fork();
+        A rightResult = right.compute();
+        return combiner.apply(left.join(), rightResult);
+    }
+}
@@ -0,0 +1,75 @@
+package course4.L3_ReferenceMethod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import benchmark.Bench;
+
+public class PipelineBenchmark {
+    public static void main(String[] args) {
+        List<String> numbers = Arrays.asList("1", "2", "3", "4", "5");
+        String prefix = "Reference method: ";
+
+        // Same chain as ReferenceMethod, on the lazy fused pipeline
+        Pipeline.of(numbers)
+                .map(Integer::parseInt)     // fused with the next three maps into one stage
+                .map(String::valueOf)
+                .map(prefix::concat)
+                .map(String::toUpperCase)
+                .forEach(System.out::println);
+
+        // Primitive stages: parseInt -> int -> valueOf without an Integer in between
+        List<String> doubled = Pipeline.of(numbers)
+                .mapToInt(Integer::parseInt)
+                .map(n -> n * 2)
+                .filter(n -> n > 4)
+                .mapToObj(String::valueOf)
+                .toList();
+        System.out.println("Doubled above 4: " + doubled);
+
+        // Push-based batching
+        Pipeline.of(numbers).batched(2).forEach(batch -> System.out.println("Batch: " + batch));
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        demonstratePerformance(size, prefix);
+    }
+
+    static void demonstratePerformance(int size, String prefix) {
+        System.out.println("Performance Test (" + size + " strings, 5 rounds, best time):");
+        List<String> input = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            input.add(String.valueOf(i));
+        }
+
+        // Chain 1: map(Integer::parseInt) then consume
+        report("Stream   parseInt sum", () -> input.stream().map(Integer::parseInt).mapToLong(Integer::longValue).sum());
+        report("Stream   mapToInt sum", () -> input.stream().mapToInt(Integer::parseInt).asLongStream().sum());
+        report("Pipeline mapToInt sum", () -> Pipeline.of(input).mapToInt(Integer::parseInt).sum());
+
+        // Chain 2: parseInt -> valueOf -> concat -> toUpperCase
+        report("Stream   4 maps", () -> input.stream()
+                .map(Integer::parseInt).map(String::valueOf).map(prefix::concat).map(String::toUpperCase)
+                .mapToLong(String::length).sum());
+        report("Pipeline 4 maps", () -> Pipeline.of(input)
+                .map(Integer::parseInt).map(String::valueOf).map(prefix::concat).map(String::toUpperCase)
+                .mapToInt(String::length).sum());
+        report("Pipeline int stages", () -> Pipeline.of(input)
+                .mapToInt(Integer::parseInt).mapToObj(String::valueOf).map(prefix::concat).map(String::toUpperCase)
+                .mapToInt(String::length).sum());
+
+        // Same chain on fork/join
+        report("Stream   4 maps parallel", () -> input.parallelStream()
+                .map(Integer::parseInt).map(String::valueOf).map(prefix::concat).map(String::toUpperCase)
+                .mapToLong(String::length).sum());
+        report("Pipeline 4 maps parallel", () -> Pipeline.of(input).parallel()
+                .map(Integer::parseInt).map(String::valueOf).map(prefix::concat).map(String::toUpperCase)
+                .mapToInt(String::length).sum());
+    }
+
+    private static void report(String name, Bench.Task task) {
+        long result = task.run(); // also a warm-up round
+        System.out.printf("%-26s %6d ms (result %d)%n", name, Bench.best(task), result);
+    }
+}
@@ -0,0 +1,215 @@
+package course4.L4_Optional;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ 👉 Async lookup layer in front of a slow user store
+    - Coalescing: concurrent requests for the same id share ONE load (no thundering herd on hot ids)
+    - Micro-batching: distinct ids requested within a short window are loaded with one batch call
+    - Backpressure: at most maxPending distinct ids may be waiting; beyond that new ids are
+      rejected immediately (failed future) instead of queueing without limit
+    - close() loads what is pending one last time; requests after that fail with RejectedExecutionException
+*/
+public class AsyncUserLoader implements AutoCloseable {
+
+    // The slow data source: loads many ids in one call, missing ids are simply absent from the map
+    @FunctionalInterface
+    public interface BatchLoader {
+        Map<Integer, User> load(int[] ids) throws Exception;
+    }
+
+    private final BatchLoader loader;
+    private final int maxBatchSize;
+    private final Semaphore pendingPermits;
+    private final ConcurrentHashMap<Integer, CompletableFuture<Optional<User>>> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+    private final ExecutorService loaderPool;
+
+    // Ids waiting for the next batch, guarded by `this`
+    private int[] pending;
+    private int pendingCount;
+    private volatile boolean closed; // written under `this`
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder loadCalls = new LongAdder();
+
+    public AsyncUserLoader(BatchLoader loader, long windowMicros, int maxBatchSize, int maxPending, int loaderThreads) {
+        if (maxBatchSize < 1 || maxPending < 1 || loaderThreads < 1 || windowMicros < 1) {
+            throw new IllegalArgumentException("Batch size, pending limit, threads and window must be positive");
+        }
+        this.loader = loader;
+        this.maxBatchSize = maxBatchSize;
+        this.pendingPermits = new Semaphore(maxPending);
+        this.pending = new int[maxBatchSize];
+        this.loaderPool = Executors.newFixedThreadPool(loaderThreads, daemon("user-loader"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemon("user-loader-timer"));
+        timer.scheduleAtFixedRate(this::flush, windowMicros, windowMicros, TimeUnit.MICROSECONDS);
+    }
+
+    // Adapter so the in-memory repository can act as the backing store
+    public static BatchLoader from(UserRepository repository) {
+        return repository::findUsersByIdsAsMap;
+    }
+
+    public CompletableFuture<Optional<User>> findUserById(int id) {
+        requests.increment();
+        if (closed) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("User loader is closed"));
+        }
+        CompletableFuture<Optional<User>> existing = inFlight.get(id);
+        if (existing != null) {
+            coalesced.increment();
+            return existing.copy(); // callers cannot complete the shared future
+        }
+        if (!pendingPermits.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many pending user loads"));
+        }
+        CompletableFuture<Optional<User>> created = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(id, created);
+        if (existing != null) {
+            // Another thread registered the same id first
+            pendingPermits.release();
+            coalesced.increment();
+            return existing.copy();
+        }
+        enqueue(id);
+        return created.copy();
+    }
+
+    private void enqueue(int id) {
+        int[] fullBatch = null;
+        boolean accepted;
+        synchronized (this) {
+            accepted = !closed; // checked under the lock, so close() cannot miss this id
+            if (accepted) {
+                pending[pendingCount++] = id;
+                if (pendingCount == maxBatchSize) {
+                    fullBatch = drain();
+                }
+            }
+        }
+        if (!accepted) {
+            rejected.increment();
+            fail(new int[]{id}, new RejectedExecutionException("User loader is closed"));
+        } else if (fullBatch != null) {
+            dispatch(fullBatch); // full batches do not wait for the timer
+        }
+    }
+
+    private void flush() {
+        int[] batch;
+        synchronized (this) {
+            batch = pendingCount == 0 ? null : drain();
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    // Caller holds the lock
+    private int[] drain() {
+        int[] batch = Arrays.copyOf(pending, pendingCount);
+        pendingCount = 0;
+        return batch;
+    }
+
+    private void dispatch(int[] ids) {
+        try {
+            loaderPool.execute(() -> load(ids));
+        } catch (RejectedExecutionException e) {
+            fail(ids, e); // loader already closed
+        }
+    }
+
+    private void load(int[] ids) {
+        loadCalls.increment();
+        Map<Integer, User> users;
+        try {
+            users = loader.load(ids);
+        } catch (Throwable t) {
+            fail(ids, t);
+            return;
+        }
+        for (int id : ids) {
+            CompletableFuture<Optional<User>> future = finish(id);
+            if (future != null) {
+                future.complete(Optional.ofNullable(users.get(id)));
+            }
+        }
+    }
+
+    private void fail(int[] ids, Throwable error) {
+        for (int id : ids) {
+            CompletableFuture<Optional<User>> future = finish(id);
+            if (future != null) {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+
+    // Removed before completing, so a request arriving afterwards triggers a fresh load
+    private CompletableFuture<Optional<User>> finish(int id) {
+        CompletableFuture<Optional<User>> future = inFlight.remove(id);
+        if (future != null) {
+            pendingPermits.release();
+        }
+        return future;
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long loadCallCount() {
+        return loadCalls.sum();
+    }
+
+    @Override
+    public void close() {
+        int[] batch;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            batch = pendingCount == 0 ? null : drain();
+        }
+        timer.shutdown();
+        if (batch != null) {
+            dispatch(batch);
+        }
+        loaderPool.shutdown();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package course4.L4_Optional;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AsyncUserLoaderDemo {
+    public static void main(String[] args) throws Exception {
+        int threads = 32;
+        int callsPerThread = 100;
+        UserRepository store = UserRepository.of(List.of(
+                new User(1, "Alice", true), new User(2, "Bob", false), new User(3, "Charlie", true)));
+
+        // 1. Basic usage
+        try (AsyncUserLoader users = new AsyncUserLoader(AsyncUserLoader.from(store), 1_000, 64, 10_000, 4)) {
+            Optional<User> alice = users.findUserById(1).join();
+            System.out.println("Async findUserById(1): " + alice.map(User::name).orElse("Guest User"));
+        }
+
+        // 2. Many threads hammering a few hot ids, against a slow store (5 ms per call)
+        System.out.println("\nSlow store, " + threads + " threads x " + callsPerThread + " lookups (90% on 3 hot ids):");
+
+        SlowLoader direct = new SlowLoader(store);
+        long[] directLatencies = run(threads, callsPerThread, id -> {
+            Map<Integer, User> result = direct.load(new int[]{id});
+            return Optional.ofNullable(result.get(id));
+        });
+        report("Direct load per call", direct.calls.get(), directLatencies);
+
+        SlowLoader batched = new SlowLoader(store);
+        try (AsyncUserLoader users = new AsyncUserLoader(batched, 1_000, 256, 10_000, 4)) {
+            long[] coalescedLatencies = run(threads, callsPerThread, id -> users.findUserById(id).join());
+            report("Coalesced + batched  ", batched.calls.get(), coalescedLatencies);
+            System.out.println("Requests: " + users.requestCount() + ", joined an in-flight load: "
+                    + users.coalescedCount() + ", rejected: " + users.rejectedCount());
+        }
+
+        // 3. Backpressure: only 2 distinct ids may be pending, the third is rejected immediately
+        SlowLoader slow = new SlowLoader(store);
+        try (AsyncUserLoader users = new AsyncUserLoader(slow, 1_000, 64, 2, 1)) {
+            users.findUserById(1);
+            users.findUserById(2);
+            users.findUserById(3).whenComplete((user, error) ->
+                    System.out.println("\nThird pending id: " + (error != null ? "rejected (" + error.getMessage() + ")" : user)));
+        }
+
+        // 4. A closed loader fails new lookups instead of leaving them pending forever
+        AsyncUserLoader closed = new AsyncUserLoader(AsyncUserLoader.from(store), 1_000, 64, 10_000, 4);
+        closed.close();
+        closed.findUserById(1).whenComplete((user, error) ->
+                System.out.println("After close(): " + (error != null ? "rejected (" + error.getMessage() + ")" : user)));
+    }
+
+    interface Lookup {
+        Optional<User> find(int id) throws Exception;
+    }
+
+    // Runs the lookup from many threads and returns every call's latency in nanoseconds
+    private static long[] run(int threads, int callsPerThread, Lookup lookup) throws InterruptedException {
+        long[] latencies = new long[threads * callsPerThread];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            new Thread(() -> {
+                Random random = new Random(seed);
+                try {
+                    for (int i = 0; i < callsPerThread; i++) {
+                        int id = random.nextInt(10) < 9 ? 1 + random.nextInt(3) : random.nextInt(1000);
+                        long start = System.nanoTime();
+                        lookup.find(id);
+                        latencies[next.getAndIncrement()] = System.nanoTime() - start;
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        return latencies;
+    }
+
+    private static void report(String name, long loads, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%s -> store calls: %5d, p50: %6.2f ms, p99: %6.2f ms, max: %6.2f ms%n", name, loads,
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+
+    // In-process fake of a slow store: 5 ms per call plus 10 µs per id, at most 4 calls at a time
+    static class SlowLoader implements AsyncUserLoader.BatchLoader {
+        private final UserRepository store;
+        final AtomicLong calls = new AtomicLong();
+        private final Semaphore connections = new Semaphore(4);
+
+        SlowLoader(UserRepository store) {
+            this.store = store;
+        }
+
+        @Override
+        public Map<Integer, User> load(int[] ids) throws InterruptedException {
+            calls.incrementAndGet();
+            connections.acquire();
+            try {
+                TimeUnit.NANOSECONDS.sleep(TimeUnit.MILLISECONDS.toNanos(5) + TimeUnit.MICROSECONDS.toNanos(10L * ids.length));
+                Map<Integer, User> result = new HashMap<>();
+                for (User user : store.findUsersByIds(ids)) {
+                    if (user != null) {
+                        result.put(user.id(), user);
+                    }
+                }
+                return result;
+            } finally {
+                connections.release();
+            }
+        }
+    }
+}
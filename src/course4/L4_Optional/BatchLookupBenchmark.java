@@ -0,0 +1,54 @@
+package course4.L4_Optional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import benchmark.Bench;
+
+public class BatchLookupBenchmark {
+    public static void main(String[] args) {
+        int userCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println("Performance Test (" + userCount + " users, ~1M lookups per row, best of 5):");
+
+        String[] names = {"Alice", "Bob", "Charlie", "Dana", "Eve"};
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new User(i, names[i % names.length], i % 3 != 0));
+        }
+        // Passed to the OptionalExample helpers; the lesson's own users stay as they are
+        UserRepository repository = UserRepository.of(users);
+
+        Random random = new Random(42);
+        for (int batchSize : new int[]{1, 100, 10_000}) {
+            int batches = Math.max(1, 1_000_000 / batchSize);
+            int[][] requests = new int[batches][batchSize];
+            for (int[] request : requests) {
+                for (int i = 0; i < batchSize; i++) {
+                    request[i] = random.nextInt(userCount + userCount / 10); // ~10% unknown ids
+                }
+            }
+
+            long perKey = Bench.best(() -> {
+                long checksum = 0;
+                for (int[] request : requests) {
+                    for (int id : request) {
+                        checksum += OptionalExample.getUserDisplayName(repository, id).length();
+                    }
+                }
+                return checksum;
+            });
+            long batch = Bench.best(() -> {
+                long checksum = 0;
+                for (int[] request : requests) {
+                    for (String name : OptionalExample.getUserDisplayNames(repository, request)) {
+                        checksum += name.length();
+                    }
+                }
+                return checksum;
+            });
+            System.out.printf("batch size %6d -> per-key getUserDisplayName: %5d ms, getUserDisplayNames: %5d ms%n",
+                    batchSize, perKey, batch);
+        }
+    }
+}
@@ -1,35 +1,66 @@
 package course4.L4_Optional;
 
 
+import course4.L2_Exceptions.Result;
+import course4.L2_Exceptions.ValidationError;
+
 import java.util.Optional;
 import java.util.List;
 import java.util.Arrays;
 
 public class OptionalExample {
 
-    static List<User> users = Arrays.asList(
+    // Immutable: the repository below is a snapshot of this list
+    private static final List<User> users = List.of(
             new User(1, "Alice", true),
             new User(2, "Bob", false)
     );
 
 
+    // Indexed by id, so lookups no longer scan the whole list
+    private static final UserRepository repository = UserRepository.of(users);
+
     // ✅ Good: Using Optional for return type that might be absent
     static Optional<User> findUserById(int id) {
-        // Simulate database lookup
-        return users.stream()
-                .filter(user -> user.id() == id)
-                .findFirst();
+        // Simulate database lookup (O(1) hash lookup instead of users.stream().filter(...).findFirst())
+        return repository.findById(id);
     }
 
     // ✅ Good: Method chaining with transformations
     static String getUserDisplayName(int id) {
-        return findUserById(id)
+        return getUserDisplayName(repository, id);
+    }
+
+    // Same, on another repository (BatchLookupBenchmark brings its own users)
+    static String getUserDisplayName(UserRepository repository, int id) {
+        return repository.findById(id)
                 .filter(User::active)           // Only active users .filter(User -> User.active() == true)
                 .map(User::name)               // Transform to name  .map(User -> User.name())
                 .map(name -> "User: " + name)     // Add prefix
                 .orElse("Guest User");            // Default value
     }
 
+    // ✅ Hot path: same result as getUserDisplayName, without allocating any Optional
+    static String getUserDisplayNameFast(int id) {
+        User user = repository.findByIdOrNull(id);
+        return user != null && user.active() ? "User: " + user.name() : "Guest User";
+    }
+
+    // ✅ Batch form of getUserDisplayName: one pass over all ids, no Optional per id
+    static String[] getUserDisplayNames(int[] ids) {
+        return getUserDisplayNames(repository, ids);
+    }
+
+    static String[] getUserDisplayNames(UserRepository repository, int[] ids) {
+        User[] found = repository.findUsersByIds(ids);
+        String[] names = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            User user = found[i];
+            names[i] = user != null && user.active() ? "User: " + user.name() : "Guest User";
+        }
+        return names;
+    }
+
     // ✅ Good: Using Optional with exception handling
     static User getActiveUserById(int id) {
         return findUserById(id)
@@ -37,6 +68,14 @@ public class OptionalExample {
                 .orElseThrow(() -> new UserNotFoundException("Active user not found with id: " + id));
     }
 
+    // ✅ Good: expected "not found" returned as a Result instead of thrown (no stack trace captured)
+    static Result<User> findActiveUser(int id) {
+        return findUserById(id)
+                .filter(User::active)
+                .<Result<User>>map(Result::success)
+                .orElseGet(() -> Result.failure(ValidationError.NOT_FOUND));
+    }
+
     public static void main(String[] args) {
         // Case 1: User exists and is active
         System.out.println(getUserDisplayName(1)); // "User: Alice"
@@ -54,6 +93,13 @@ public class OptionalExample {
         } catch (UserNotFoundException e) {
             System.out.println(e.getMessage()); // "Active user not found with id: 2"
         }
+
+        // Case 5: Many ids at once
+        System.out.println(Arrays.toString(getUserDisplayNames(new int[]{1, 2, 3}))); // [User: Alice, Guest User, Guest User]
+
+        // Case 6: Same lookup without an exception
+        Result<User> result = findActiveUser(2);
+        System.out.println(result.isSuccess() ? result : "No active user with id: 2");
     }
 }
 
@@ -0,0 +1,282 @@
+package course4.L4_Optional;
+
+import course4.L3_ReferenceMethod.NumberCodec;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/*
+ 👉 In-memory user repository with O(1) lookup by id
+    - Primary index: open-addressing hash table from id to position (int[] only, no Integer keys)
+    - Secondary index: positions of all active users
+    - Copy-on-write: every update builds a new immutable Snapshot and publishes it with one
+      volatile write, so readers never lock and always see a consistent version.
+      Writers should batch their changes (upsertAll/removeAll), because each write copies the data.
+    - findByIdOrNull() is the hot-path lookup: no Optional is allocated
+*/
+public class UserRepository {
+    private volatile Snapshot snapshot;
+
+    private UserRepository(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public static UserRepository of(Collection<User> users) {
+        return new UserRepository(Snapshot.build(users.toArray(new User[0]), users.size(), 0));
+    }
+
+    // Bulk load from a text file with one "id,name,active" line per user
+    public static UserRepository load(Path file) throws IOException {
+        List<User> users = new ArrayList<>();
+        NumberCodec.ParsedNumber id = new NumberCodec.ParsedNumber();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                int firstComma = line.indexOf(',');
+                int lastComma = line.lastIndexOf(',');
+                if (firstComma < 0 || lastComma == firstComma || !NumberCodec.parseInt(line, 0, firstComma, id)) {
+                    throw new IOException("Invalid user on line " + lineNumber + ": " + line);
+                }
+                String name = line.substring(firstComma + 1, lastComma);
+                boolean active = Boolean.parseBoolean(line.substring(lastComma + 1).trim());
+                users.add(new User(id.intValue(), name, active));
+            }
+        }
+        return of(users);
+    }
+
+    // ---------------- Reads (lock-free) ----------------
+
+    // Hot path: returns the user or null, nothing is allocated
+    public User findByIdOrNull(int id) {
+        return snapshot.find(id);
+    }
+
+    public Optional<User> findById(int id) {
+        return Optional.ofNullable(snapshot.find(id));
+    }
+
+    // ---------------- Batch reads ----------------
+
+    // Batches at least this large are resolved on the common fork/join pool
+    static final int PARALLEL_BATCH = 8192;
+
+    // Resolves all ids against ONE snapshot; result[i] is the user for ids[i], or null
+    public User[] findUsersByIds(int[] ids) {
+        User[] result = new User[ids.length];
+        findUsersByIds(ids, result);
+        return result;
+    }
+
+    // Same, writing into a caller-owned array (reusable between requests); returns the number found
+    public int findUsersByIds(int[] ids, User[] result) {
+        if (result.length < ids.length) {
+            throw new IllegalArgumentException("Result array is smaller than the id batch");
+        }
+        Snapshot s = snapshot;
+        if (ids.length >= PARALLEL_BATCH) {
+            IntStream.range(0, ids.length).parallel().forEach(i -> result[i] = s.find(ids[i]));
+        } else {
+            for (int i = 0; i < ids.length; i++) {
+                result[i] = s.find(ids[i]);
+            }
+        }
+        int found = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (result[i] != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    // Map form for callers that look results up by id; missing ids are left out
+    public Map<Integer, User> findUsersByIdsAsMap(int[] ids) {
+        Snapshot s = snapshot;
+        Map<Integer, User> result = new HashMap<>(Math.max(16, ids.length * 2));
+        for (int id : ids) {
+            User user = s.find(id);
+            if (user != null) {
+                result.put(id, user);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    // Version increases by one with every published update
+    public long version() {
+        return snapshot.version;
+    }
+
+    public int countActive() {
+        return snapshot.activePositions.length;
+    }
+
+    public void forEachActive(Consumer<? super User> action) {
+        Snapshot s = snapshot;
+        for (int position : s.activePositions) {
+            action.accept(s.users[position]);
+        }
+    }
+
+    public List<User> findByActive(boolean active) {
+        Snapshot s = snapshot;
+        List<User> result = new ArrayList<>();
+        if (active) {
+            for (int position : s.activePositions) {
+                result.add(s.users[position]);
+            }
+        } else {
+            for (int i = 0; i < s.size; i++) {
+                if (!s.users[i].active()) {
+                    result.add(s.users[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    // ---------------- Writes (copy-on-write) ----------------
+
+    public void upsert(User user) {
+        upsertAll(List.of(user));
+    }
+
+    // Inserts new users and replaces users with the same id, as one new version
+    public synchronized void upsertAll(Collection<User> changes) {
+        Snapshot current = snapshot;
+        User[] users = Arrays.copyOf(current.users, current.size + changes.size());
+        int size = current.size;
+        for (User user : changes) {
+            int position = current.positionOf(user.id());
+            if (position >= 0) {
+                users[position] = user;
+            } else {
+                users[size++] = user; // duplicates inside `changes` are resolved by Snapshot.build
+            }
+        }
+        snapshot = Snapshot.build(users, size, current.version + 1);
+    }
+
+    public synchronized void removeAll(int... ids) {
+        Snapshot current = snapshot;
+        boolean[] removed = new boolean[current.size];
+        for (int id : ids) {
+            int position = current.positionOf(id);
+            if (position >= 0) {
+                removed[position] = true;
+            }
+        }
+        User[] users = new User[current.size];
+        int size = 0;
+        for (int i = 0; i < current.size; i++) {
+            if (!removed[i]) {
+                users[size++] = current.users[i];
+            }
+        }
+        snapshot = Snapshot.build(users, size, current.version + 1);
+    }
+
+    // Immutable version of the data plus its indexes
+    private static final class Snapshot {
+        final User[] users;
+        final int size;
+        final long version;
+        final int[] keys;            // user id per hash slot
+        final int[] slots;           // position + 1 per hash slot, 0 = empty
+        final int mask;
+        final int[] activePositions; // secondary index on active
+
+        private Snapshot(User[] users, int size, long version, int[] keys, int[] slots, int[] activePositions) {
+            this.users = users;
+            this.size = size;
+            this.version = version;
+            this.keys = keys;
+            this.slots = slots;
+            this.mask = slots.length - 1;
+            this.activePositions = activePositions;
+        }
+
+        static Snapshot build(User[] source, int count, long version) {
+            // Table at most half full keeps linear probing chains short
+            int capacity = Integer.highestOneBit(Math.max(4, count) * 2 - 1) << 1;
+            int[] keys = new int[capacity];
+            int[] slots = new int[capacity];
+            User[] users = new User[count];
+            int size = 0;
+            int active = 0;
+            for (int i = 0; i < count; i++) {
+                User user = source[i];
+                int slot = hash(user.id()) & (capacity - 1);
+                while (slots[slot] != 0 && keys[slot] != user.id()) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                int position;
+                if (slots[slot] != 0) {
+                    position = slots[slot] - 1;      // later entry with the same id wins
+                    if (users[position].active()) {
+                        active--;
+                    }
+                } else {
+                    position = size++;
+                    keys[slot] = user.id();
+                    slots[slot] = position + 1;
+                }
+                users[position] = user;
+                if (user.active()) {
+                    active++;
+                }
+            }
+            int[] activePositions = new int[active];
+            for (int i = 0, a = 0; i < size; i++) {
+                if (users[i].active()) {
+                    activePositions[a++] = i;
+                }
+            }
+            return new Snapshot(users, size, version, keys, slots, activePositions);
+        }
+
+        int positionOf(int id) {
+            int slot = hash(id) & mask;
+            int s;
+            while ((s = slots[slot]) != 0) {
+                if (keys[slot] == id) {
+                    return s - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        User find(int id) {
+            int position = positionOf(id);
+            return position < 0 ? null : users[position];
+        }
+
+        // Spreads sequential ids over the table (Fibonacci hashing)
+        private static int hash(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
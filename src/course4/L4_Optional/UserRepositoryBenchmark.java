@@ -0,0 +1,78 @@
+package course4.L4_Optional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class UserRepositoryBenchmark {
+    public static void main(String[] args) throws IOException {
+        // 1. Bulk load from a file
+        Path file = Files.createTempFile("users", ".csv");
+        Files.write(file, List.of("1,Alice,true", "2,Bob,false", "3,Charlie,true"));
+        UserRepository repository = UserRepository.load(file);
+        Files.delete(file);
+        System.out.println("Loaded " + repository.size() + " users, active: " + repository.countActive());
+
+        // 2. Lookups
+        System.out.println("findByIdOrNull(3): " + repository.findByIdOrNull(3));
+        System.out.println("findByIdOrNull(9): " + repository.findByIdOrNull(9));
+        System.out.println("findById(2): " + repository.findById(2));
+
+        // 3. Copy-on-write updates: readers keep using the old version until the new one is published
+        repository.upsertAll(List.of(new User(2, "Bob", true), new User(4, "Dana", false)));
+        repository.removeAll(1);
+        System.out.println("Version " + repository.version() + ", active users: " + repository.findByActive(true));
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        demonstratePerformance(size);
+    }
+
+    static void demonstratePerformance(int size) {
+        System.out.println("Performance Test (" + size + " users):");
+        String[] names = {"Alice", "Bob", "Charlie", "Dana", "Eve"};
+        List<User> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(new User(i, names[i % names.length], i % 3 != 0));
+        }
+
+        long start = System.nanoTime();
+        UserRepository repository = UserRepository.of(users);
+        System.out.println("Index build: " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        // Linear scan is O(n) per lookup, so only a few lookups are timed
+        int scans = 20;
+        start = System.nanoTime();
+        long found = 0;
+        for (int i = 0; i < scans; i++) {
+            int id = (int) ((long) i * 7919 % size);
+            Optional<User> user = users.stream().filter(u -> u.id() == id).findFirst();
+            found += user.isPresent() ? 1 : 0;
+        }
+        double scanNanos = (double) (System.nanoTime() - start) / scans;
+
+        int lookups = 10_000_000;
+        for (int round = 0; round < 2; round++) { // first round warms up
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                found += repository.findById((i * 7919 & 0x7FFFFFFF) % size).isPresent() ? 1 : 0;
+            }
+            double optionalNanos = (double) (System.nanoTime() - start) / lookups;
+
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                found += repository.findByIdOrNull((i * 7919 & 0x7FFFFFFF) % size) != null ? 1 : 0;
+            }
+            double nullableNanos = (double) (System.nanoTime() - start) / lookups;
+
+            if (round == 1) {
+                System.out.printf("stream().filter().findFirst(): %,.0f ns per lookup%n", scanNanos);
+                System.out.printf("repository.findById (Optional): %,.1f ns per lookup%n", optionalNanos);
+                System.out.printf("repository.findByIdOrNull:      %,.1f ns per lookup (found %d)%n", nullableNanos, found);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package course5.L11_OffHeapList;
+
+import benchmark.Bench;
+import course5.L2L3L4_collectionSort.Person;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+public class L11_OffHeapList {
+    public static void main(String[] args) throws IOException {
+        // 1. Creating an off-heap list with a record codec
+        try (OffHeapList<Person, PersonCodec.PersonView> people = OffHeapList.allocate(new PersonCodec())) {
+
+            // 2. Adding elements (copied into native memory as flat structs)
+            people.add(new Person("Alice", 30, "Female"));
+            people.add(new Person("Bob", 25, "Male"));
+            people.add(new Person("Charlie", 35, "Male"));
+
+            // 3. Accessing elements
+            System.out.println("get(0) materialized: " + people.get(0));   // allocates a Person
+
+            PersonCodec.PersonView view = people.newView();                 // one reusable flyweight
+            System.out.println("get(1) through view: " + people.get(1, view));
+
+            // 4. Updating in place through the view (no new object)
+            people.get(2, view).setAge(36);
+            System.out.println("After birthday: " + people.get(2, view));
+
+            // 5. Replacing a whole record
+            people.set(0, new Person("Alice", 31, "Female"));
+            people.forEach(view, p -> System.out.print(p + " "));
+            System.out.println("\nList size: " + people.size());
+        }
+
+        // 6. Memory-mapped list: content survives closing and reopening
+        Path file = Files.createTempFile("people", ".bin");
+        try (OffHeapList<Person, PersonCodec.PersonView> stored = OffHeapList.mapped(file, new PersonCodec())) {
+            stored.add(new Person("Zia", 22, "Female"));
+            stored.add(new Person("Alex", 24, "Male"));
+        }
+        try (OffHeapList<Person, PersonCodec.PersonView> reopened = OffHeapList.mapped(file, new PersonCodec())) {
+            System.out.println("Reopened mapped list, size " + reopened.size() + ": " + reopened.get(1));
+        }
+        Files.delete(file);
+
+        System.out.println("\n" + "=".repeat(50) + "\n");
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        demonstratePerformance(size);
+    }
+
+    // Compares filling and scanning an ArrayList<Person> against the off-heap list
+    static void demonstratePerformance(int size) throws IOException {
+        System.out.println("Performance Test (" + size + " persons):");
+        String[] genders = {"Male", "Female"};
+
+        long heapBefore = Bench.usedHeap();
+        long start = System.nanoTime();
+        ArrayList<Person> heapList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            heapList.add(new Person("Person" + i, i % 100, genders[i & 1]));
+        }
+        long heapFill = System.nanoTime() - start;
+        long heapUsed = Bench.usedHeap() - heapBefore;
+
+        start = System.nanoTime();
+        long heapSum = 0;
+        for (Person p : heapList) {
+            heapSum += p.getAge();
+        }
+        long heapScan = System.nanoTime() - start;
+        heapList = null;
+
+        heapBefore = Bench.usedHeap();
+        try (OffHeapList<Person, PersonCodec.PersonView> offHeap = OffHeapList.allocate(new PersonCodec())) {
+            start = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                offHeap.add(new Person("Person" + i, i % 100, genders[i & 1]));
+            }
+            long offHeapFill = System.nanoTime() - start;
+            long offHeapUsed = Bench.usedHeap() - heapBefore;
+
+            start = System.nanoTime();
+            long offHeapSum = 0;
+            PersonCodec.PersonView view = offHeap.newView();
+            for (long i = 0; i < offHeap.size(); i++) {
+                offHeapSum += offHeap.get(i, view).getAge();
+            }
+            long offHeapScan = System.nanoTime() - start;
+
+            System.out.println("ArrayList   fill: " + heapFill / 1_000_000 + " ms, scan: " + heapScan / 1_000_000
+                    + " ms, heap used: " + heapUsed / (1024 * 1024) + " MB, sum = " + heapSum);
+            System.out.println("OffHeapList fill: " + offHeapFill / 1_000_000 + " ms, scan: " + offHeapScan / 1_000_000
+                    + " ms, heap used: " + offHeapUsed / (1024 * 1024) + " MB, native: "
+                    + offHeap.size() * PersonCodec.RECORD_SIZE / (1024 * 1024) + " MB, sum = " + offHeapSum);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package course5.L11_OffHeapList;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+ 👉 An ArrayList-like list whose elements live outside the Java heap.
+    - Records are stored as flat structs described by a RecordCodec (no object per element)
+    - Storage is split into fixed-size chunks, so growing never copies the existing data
+      (ArrayList grows by 50% and Vector by 100%, and both copy the whole backing array)
+    - get(index, view) re-points a reusable flyweight view instead of allocating
+    - Optionally the chunks can be memory-mapped from a file, so the list survives restarts
+*/
+public class OffHeapList<T, V extends RecordCodec.View> implements AutoCloseable {
+
+    // File header: magic, record size, chunk shift, size (4 longs)
+    private static final long MAGIC = 0x4F4648454150L; // "OFHEAP"
+    private static final long HEADER_BYTES = 32;
+    private static final int DEFAULT_CHUNK_SHIFT = 16;   // 65,536 records per chunk
+
+    private final RecordCodec<T, V> codec;
+    private final long recordSize;
+    private final int chunkShift;
+    private final int chunkMask;
+    private final long chunkBytes;
+    private final Arena arena;
+    private final List<MemorySegment> chunks = new ArrayList<>();
+
+    // Only set for file backed lists
+    private final FileChannel channel;
+    private final MemorySegment header;
+
+    private long size;
+
+    private OffHeapList(RecordCodec<T, V> codec, int chunkShift, FileChannel channel) throws IOException {
+        if (chunkShift < 1 || chunkShift > 30) {
+            throw new IllegalArgumentException("chunkShift must be between 1 and 30");
+        }
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1 << chunkShift) - 1;
+        this.chunkBytes = recordSize << chunkShift;
+        Arena arena = Arena.ofShared();
+        MemorySegment header;
+        try {
+            header = channel == null ? null : channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES, arena);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+        this.arena = arena;
+        this.channel = channel;
+        this.header = header;
+    }
+
+    // Heap-free list backed by native memory, freed on close()
+    public static <T, V extends RecordCodec.View> OffHeapList<T, V> allocate(RecordCodec<T, V> codec) {
+        return allocate(codec, DEFAULT_CHUNK_SHIFT);
+    }
+
+    public static <T, V extends RecordCodec.View> OffHeapList<T, V> allocate(RecordCodec<T, V> codec, int chunkShift) {
+        try {
+            return new OffHeapList<>(codec, chunkShift, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // cannot happen without a file
+        }
+    }
+
+    // List backed by a memory-mapped file. Existing content is picked up without reading it
+    public static <T, V extends RecordCodec.View> OffHeapList<T, V> mapped(Path file, RecordCodec<T, V> codec) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        OffHeapList<T, V> list = null;
+        try {
+            boolean existing = channel.size() >= HEADER_BYTES;
+            int chunkShift = DEFAULT_CHUNK_SHIFT;
+            if (existing) {
+                try (Arena temp = Arena.ofConfined()) {
+                    MemorySegment h = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES, temp);
+                    if (h.get(ValueLayout.JAVA_LONG, 0) != MAGIC || h.get(ValueLayout.JAVA_LONG, 8) != codec.recordSize()) {
+                        throw new IOException("File " + file + " was not written with this record codec");
+                    }
+                    chunkShift = (int) h.get(ValueLayout.JAVA_LONG, 16);
+                }
+            }
+            list = new OffHeapList<>(codec, chunkShift, channel);
+            if (existing) {
+                list.size = list.header.get(ValueLayout.JAVA_LONG, 24);
+                while ((long) list.chunks.size() << chunkShift < list.size) {
+                    list.addChunk();
+                }
+            } else {
+                list.header.set(ValueLayout.JAVA_LONG, 0, MAGIC);
+                list.header.set(ValueLayout.JAVA_LONG, 8, codec.recordSize());
+                list.header.set(ValueLayout.JAVA_LONG, 16, chunkShift);
+                list.header.set(ValueLayout.JAVA_LONG, 24, 0);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (list != null) {
+                list.arena.close(); // unmaps the header and the chunks mapped so far
+            }
+            channel.close();
+            throw e;
+        }
+        return list;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Appends at the end. Needs a new chunk only every 2^chunkShift records
+    public void add(T value) {
+        if (size == (long) chunks.size() << chunkShift) {
+            addChunk();
+        }
+        codec.write(chunkOf(size), offsetOf(size), value);
+        size++;
+        if (header != null) {
+            header.set(ValueLayout.JAVA_LONG, 24, size);
+        }
+    }
+
+    // Materializes a new heap object - convenient, but allocates
+    public T get(long index) {
+        checkIndex(index);
+        return codec.read(chunkOf(index), offsetOf(index));
+    }
+
+    // Points the reusable view at the record and returns it - no allocation
+    public V get(long index, V view) {
+        checkIndex(index);
+        view.wrap(chunkOf(index), offsetOf(index));
+        return view;
+    }
+
+    public void set(long index, T value) {
+        checkIndex(index);
+        codec.write(chunkOf(index), offsetOf(index), value);
+    }
+
+    public V newView() {
+        return codec.newView();
+    }
+
+    // Visits every record through one flyweight view
+    public void forEach(V view, Consumer<? super V> action) {
+        for (long i = 0; i < size; i++) {
+            view.wrap(chunkOf(i), offsetOf(i));
+            action.accept(view);
+        }
+    }
+
+    // Flushes mapped chunks (if any) and releases all native memory
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            header.force();
+            for (MemorySegment chunk : chunks) {
+                chunk.force();
+            }
+        }
+        arena.close();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void addChunk() {
+        MemorySegment chunk;
+        if (channel == null) {
+            chunk = arena.allocate(chunkBytes, 8);
+        } else {
+            try {
+                long position = HEADER_BYTES + chunks.size() * chunkBytes;
+                chunk = channel.map(FileChannel.MapMode.READ_WRITE, position, chunkBytes, arena);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not map chunk " + chunks.size(), e);
+            }
+        }
+        chunks.add(chunk);
+    }
+
+    private MemorySegment chunkOf(long index) {
+        return chunks.get((int) (index >>> chunkShift));
+    }
+
+    private long offsetOf(long index) {
+        return (index & chunkMask) * recordSize;
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package course5.L11_OffHeapList;
+
+import course5.L2L3L4_collectionSort.Person;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/*
+ Flat struct layout of one Person (48 bytes, no object headers, no pointers):
+
+   offset  0 : name   -> 1 byte length + up to 31 bytes UTF-8
+   offset 32 : age    -> int
+   offset 36 : gender -> 1 byte length + up to 7 bytes UTF-8
+   offset 44 : padding (keeps every record 8-byte aligned)
+*/
+public class PersonCodec implements RecordCodec<Person, PersonCodec.PersonView> {
+
+    static final int NAME_OFFSET = 0;
+    static final int NAME_BYTES = 32;
+    static final int AGE_OFFSET = 32;
+    static final int GENDER_OFFSET = 36;
+    static final int GENDER_BYTES = 8;
+    static final int RECORD_SIZE = 48;
+
+    @Override
+    public long recordSize() {
+        return RECORD_SIZE;
+    }
+
+    @Override
+    public void write(MemorySegment segment, long offset, Person person) {
+        writeString(segment, offset + NAME_OFFSET, NAME_BYTES, person.getName());
+        segment.set(ValueLayout.JAVA_INT, offset + AGE_OFFSET, person.getAge());
+        writeString(segment, offset + GENDER_OFFSET, GENDER_BYTES, person.getGender());
+    }
+
+    @Override
+    public Person read(MemorySegment segment, long offset) {
+        return new Person(
+                readString(segment, offset + NAME_OFFSET),
+                segment.get(ValueLayout.JAVA_INT, offset + AGE_OFFSET),
+                readString(segment, offset + GENDER_OFFSET));
+    }
+
+    @Override
+    public PersonView newView() {
+        return new PersonView();
+    }
+
+    // Fixed-width string field: length byte followed by the UTF-8 bytes
+    private static void writeString(MemorySegment segment, long offset, int width, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > width - 1) {
+            throw new IllegalArgumentException("Value '" + value + "' is longer than " + (width - 1) + " bytes");
+        }
+        segment.set(ValueLayout.JAVA_BYTE, offset, (byte) bytes.length);
+        MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, offset + 1, bytes.length);
+    }
+
+    private static String readString(MemorySegment segment, long offset) {
+        int length = segment.get(ValueLayout.JAVA_BYTE, offset);
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset + 1, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Flyweight: reads the fields on demand from wherever it currently points
+    public static class PersonView implements RecordCodec.View {
+        private MemorySegment segment;
+        private long offset;
+
+        @Override
+        public void wrap(MemorySegment segment, long offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+
+        // Primitive fields are read without any allocation
+        public int getAge() {
+            return segment.get(ValueLayout.JAVA_INT, offset + AGE_OFFSET);
+        }
+
+        public void setAge(int age) {
+            segment.set(ValueLayout.JAVA_INT, offset + AGE_OFFSET, age);
+        }
+
+        // String fields still have to be decoded into a new String
+        public String getName() {
+            return readString(segment, offset + NAME_OFFSET);
+        }
+
+        public String getGender() {
+            return readString(segment, offset + GENDER_OFFSET);
+        }
+
+        @Override
+        public String toString() {
+            return getName() + "(" + getAge() + ", " + getGender() + ")";
+        }
+    }
+}
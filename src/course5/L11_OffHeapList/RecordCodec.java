@@ -0,0 +1,25 @@
+package course5.L11_OffHeapList;
+
+import java.lang.foreign.MemorySegment;
+
+// Describes how one record is laid out as a fixed-size flat struct in off-heap memory
+// Every record takes exactly recordSize() bytes, so record i lives at offset i * recordSize()
+public interface RecordCodec<T, V extends RecordCodec.View> {
+
+    // Size of one encoded record in bytes (fixed for every record)
+    long recordSize();
+
+    // Copy the fields of value into the segment starting at offset
+    void write(MemorySegment segment, long offset, T value);
+
+    // Materialize a heap object from the struct at offset (allocates)
+    T read(MemorySegment segment, long offset);
+
+    // Create an empty flyweight view which can be re-pointed at any record
+    V newView();
+
+    // A flyweight: one reusable object that reads fields straight from off-heap memory
+    interface View {
+        void wrap(MemorySegment segment, long offset);
+    }
+}
@@ -0,0 +1,69 @@
+package course5.L12_EnumCollections;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ 👉 Count per enum constant, updated from many threads
+    - One LongAdder per constant: each is striped internally (one cell per contending thread),
+      so threads counting the same constant do not fight over one cache line
+    - ConcurrentHashMap<Day, LongAdder> does the same work plus a hash lookup per increment
+    - Reads (get, snapshot) sum the stripes; they are exact once the writers are done
+*/
+public final class ConcurrentEnumCounter<E extends Enum<E>> {
+    private final Class<E> type;
+    private final LongAdder[] counts;
+
+    public ConcurrentEnumCounter(Class<E> type) {
+        this.type = type;
+        this.counts = new LongAdder[EnumUniverse.of(type).length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void increment(E e) {
+        counts[e.ordinal()].increment();
+    }
+
+    public void add(E e, long delta) {
+        counts[e.ordinal()].add(delta);
+    }
+
+    public long get(E e) {
+        return counts[e.ordinal()].sum();
+    }
+
+    // Counts a chunk of an ordinal column locally first, then publishes one add per constant
+    public void addOrdinals(byte[] ordinals, int from, int to) {
+        long[] local = new long[counts.length];
+        for (int i = from; i < to; i++) {
+            local[ordinals[i] & 0xFF]++;
+        }
+        for (int i = 0; i < local.length; i++) {
+            if (local[i] != 0) {
+                counts[i].add(local[i]);
+            }
+        }
+    }
+
+    // Single-threaded copy of the current counts
+    public EnumCounter<E> snapshot() {
+        EnumCounter<E> snapshot = new EnumCounter<>(type);
+        E[] universe = EnumUniverse.of(type);
+        for (int i = 0; i < counts.length; i++) {
+            snapshot.add(universe[i], counts[i].sum());
+        }
+        return snapshot;
+    }
+
+    public void reset() {
+        for (LongAdder count : counts) {
+            count.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
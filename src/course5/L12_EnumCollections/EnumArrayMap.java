@@ -0,0 +1,125 @@
+package course5.L12_EnumCollections;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/*
+ 👉 Map keyed by an enum, stored as an array indexed by ordinal
+    - get/put: one array access, no hashCode(), no Node objects, no boxing of the key
+    - null means "absent", so null values are not allowed (like ConcurrentHashMap)
+    - getAll(ordinals, ...) maps a whole column of ordinals to values in one loop
+*/
+public final class EnumArrayMap<K extends Enum<K>, V> {
+    private final Class<K> keyType;
+    private final K[] universe;
+    private final Object[] values;
+    private int size;
+
+    public EnumArrayMap(Class<K> keyType) {
+        this.keyType = keyType;
+        this.universe = EnumUniverse.of(keyType);
+        this.values = new Object[universe.length];
+    }
+
+    // Lookup table with a value for every constant, e.g. EnumArrayMap.of(Day.class, day -> activity(day))
+    public static <K extends Enum<K>, V> EnumArrayMap<K, V> of(Class<K> keyType, Function<? super K, ? extends V> valueOf) {
+        EnumArrayMap<K, V> map = new EnumArrayMap<>(keyType);
+        for (K key : map.universe) {
+            map.put(key, valueOf.apply(key));
+        }
+        return map;
+    }
+
+    public V put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        V old = get(key);
+        values[key.ordinal()] = value;
+        if (old == null) {
+            size++;
+        }
+        return old;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        return (V) values[key.ordinal()];
+    }
+
+    public V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getByOrdinal(int ordinal) {
+        return (V) values[ordinal];
+    }
+
+    public boolean containsKey(K key) {
+        return values[key.ordinal()] != null;
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> valueOf) {
+        V value = get(key);
+        if (value == null) {
+            value = valueOf.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public V remove(K key) {
+        V old = get(key);
+        if (old != null) {
+            values[key.ordinal()] = null;
+            size--;
+        }
+        return old;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public EnumBitSet<K> keySet() {
+        EnumBitSet<K> keys = EnumBitSet.noneOf(keyType);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                keys.addOrdinal(i);
+            }
+        }
+        return keys;
+    }
+
+    // out[i] = value of the constant with ordinal ordinals[i] (null if absent)
+    @SuppressWarnings("unchecked")
+    public void getAll(byte[] ordinals, int from, int to, V[] out) {
+        for (int i = from; i < to; i++) {
+            out[i - from] = (V) values[ordinals[i] & 0xFF];
+        }
+    }
+
+    // In ordinal order
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(universe[i], (V) values[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> sb.append(sb.length() > 1 ? ", " : "").append(k).append('=').append(v));
+        return sb.append('}').toString();
+    }
+}
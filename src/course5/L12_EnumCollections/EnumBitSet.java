@@ -0,0 +1,217 @@
+package course5.L12_EnumCollections;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/*
+ 👉 Set of enum constants as a bit vector: bit i is set when the constant with ordinal i is present
+    - contains/add/remove: one shift and one AND / OR on a long, no hashing, no boxing
+    - union / intersection / difference: one OR / AND per 64 constants
+    - Any number of constants (EnumSet switches to a different class above 64)
+    - count(ordinals): how many values of an ordinal column are in the set, one bit test each
+*/
+public final class EnumBitSet<E extends Enum<E>> implements Iterable<E> {
+    private final Class<E> type;
+    private final E[] universe;
+    private final long[] words;
+
+    private EnumBitSet(Class<E> type) {
+        this.type = type;
+        this.universe = EnumUniverse.of(type);
+        this.words = new long[EnumUniverse.words(universe.length)];
+    }
+
+    public static <E extends Enum<E>> EnumBitSet<E> noneOf(Class<E> type) {
+        return new EnumBitSet<>(type);
+    }
+
+    public static <E extends Enum<E>> EnumBitSet<E> allOf(Class<E> type) {
+        EnumBitSet<E> set = new EnumBitSet<>(type);
+        set.complement();
+        return set;
+    }
+
+    @SafeVarargs
+    public static <E extends Enum<E>> EnumBitSet<E> of(E first, E... rest) {
+        EnumBitSet<E> set = new EnumBitSet<>(first.getDeclaringClass());
+        set.add(first);
+        for (E e : rest) {
+            set.add(e);
+        }
+        return set;
+    }
+
+    public boolean add(E e) {
+        return addOrdinal(e.ordinal());
+    }
+
+    public boolean addOrdinal(int ordinal) {
+        long before = words[ordinal >>> 6];
+        words[ordinal >>> 6] = before | (1L << ordinal);
+        return words[ordinal >>> 6] != before;
+    }
+
+    public boolean remove(E e) {
+        int ordinal = e.ordinal();
+        long before = words[ordinal >>> 6];
+        words[ordinal >>> 6] = before & ~(1L << ordinal);
+        return words[ordinal >>> 6] != before;
+    }
+
+    public boolean contains(E e) {
+        return containsOrdinal(e.ordinal());
+    }
+
+    public boolean containsOrdinal(int ordinal) {
+        return (words[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    public int size() {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0);
+    }
+
+    // ---------------- Bulk operations, one word at a time ----------------
+
+    public void addAll(EnumBitSet<E> other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    public void retainAll(EnumBitSet<E> other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= other.words[i];
+        }
+    }
+
+    public void removeAll(EnumBitSet<E> other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= ~other.words[i];
+        }
+    }
+
+    public boolean containsAll(EnumBitSet<E> other) {
+        for (int i = 0; i < words.length; i++) {
+            if ((other.words[i] & ~words[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean intersects(EnumBitSet<E> other) {
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Every constant not in the set (bits above the last constant stay clear)
+    public void complement() {
+        for (int i = 0; i < words.length; i++) {
+            words[i] = ~words[i];
+        }
+        int used = universe.length & 63;
+        if (used != 0) {
+            words[words.length - 1] &= (1L << used) - 1;
+        }
+    }
+
+    public EnumBitSet<E> copy() {
+        EnumBitSet<E> copy = new EnumBitSet<>(type);
+        System.arraycopy(words, 0, copy.words, 0, words.length);
+        return copy;
+    }
+
+    // Number of entries of an ordinal column (e.g. one byte per row) whose constant is in the set
+    public int count(byte[] ordinals, int from, int to) {
+        int count = 0;
+        if (words.length == 1) { // up to 64 constants: test against one register
+            long bits = words[0];
+            for (int i = from; i < to; i++) {
+                count += (int) (bits >>> ordinals[i]) & 1;
+            }
+            return count;
+        }
+        for (int i = from; i < to; i++) {
+            count += containsOrdinal(ordinals[i] & 0xFF) ? 1 : 0;
+        }
+        return count;
+    }
+
+    // ---------------- Iteration ----------------
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        for (int w = 0; w < words.length; w++) {
+            for (long word = words[w]; word != 0; word &= word - 1) {
+                action.accept(universe[(w << 6) + Long.numberOfTrailingZeros(word)]);
+            }
+        }
+    }
+
+    // Iterates over a snapshot of the bits, in ordinal order
+    @Override
+    public Iterator<E> iterator() {
+        long[] snapshot = words.clone();
+        return new Iterator<>() {
+            int w;
+
+            @Override
+            public boolean hasNext() {
+                while (w < snapshot.length && snapshot[w] == 0) {
+                    w++;
+                }
+                return w < snapshot.length;
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int bit = Long.numberOfTrailingZeros(snapshot[w]);
+                snapshot[w] &= snapshot[w] - 1;
+                return universe[(w << 6) + bit];
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EnumBitSet<?> other && type == other.type && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        forEach(e -> sb.append(sb.length() > 1 ? ", " : "").append(e));
+        return sb.append(']').toString();
+    }
+}
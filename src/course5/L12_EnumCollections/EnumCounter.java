@@ -0,0 +1,82 @@
+package course5.L12_EnumCollections;
+
+import java.util.Arrays;
+
+/*
+ 👉 Count per enum constant in a long[] indexed by ordinal (single thread)
+    - increment(key): one array increment; a HashMap<Day, Long> counter boxes a new Long on
+      almost every merge(key, 1L, Long::sum)
+    - addOrdinals(column): counts a whole column of ordinals in one tight loop
+*/
+public final class EnumCounter<E extends Enum<E>> {
+    private final E[] universe;
+    private final long[] counts;
+
+    public EnumCounter(Class<E> type) {
+        this.universe = EnumUniverse.of(type);
+        this.counts = new long[universe.length];
+    }
+
+    public void increment(E e) {
+        counts[e.ordinal()]++;
+    }
+
+    public void add(E e, long delta) {
+        counts[e.ordinal()] += delta;
+    }
+
+    public long get(E e) {
+        return counts[e.ordinal()];
+    }
+
+    public long total() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    // Constant with the highest count (the first one on a tie)
+    public E mostCommon() {
+        int best = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[best]) {
+                best = i;
+            }
+        }
+        return universe[best];
+    }
+
+    // Counts every entry of an ordinal column (e.g. one byte per row)
+    public void addOrdinals(byte[] ordinals, int from, int to) {
+        long[] c = counts;
+        for (int i = from; i < to; i++) {
+            c[ordinals[i] & 0xFF]++;
+        }
+    }
+
+    public void addAll(EnumCounter<E> other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    // Counts by ordinal
+    public long[] toArray() {
+        return counts.clone();
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < counts.length; i++) {
+            sb.append(i > 0 ? ", " : "").append(universe[i]).append('=').append(counts[i]);
+        }
+        return sb.append('}').toString();
+    }
+}
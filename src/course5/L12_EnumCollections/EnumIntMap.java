@@ -0,0 +1,109 @@
+package course5.L12_EnumCollections;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/*
+ 👉 Enum -> int map: an int[] indexed by ordinal plus one presence bit per constant
+    - No Integer boxing: EnumMap<Day, Integer> allocates an Integer for every value above 127
+    - add(key, delta) updates in place (a counter or a running total per constant)
+    - getAll(ordinals, ...) turns a column of ordinals into a column of ints (lookup table)
+*/
+public final class EnumIntMap<K extends Enum<K>> {
+    private final K[] universe;
+    private final int[] values;
+    private final long[] present;
+
+    public EnumIntMap(Class<K> keyType) {
+        this.universe = EnumUniverse.of(keyType);
+        this.values = new int[universe.length];
+        this.present = new long[EnumUniverse.words(universe.length)];
+    }
+
+    public void put(K key, int value) {
+        int ordinal = key.ordinal();
+        values[ordinal] = value;
+        present[ordinal >>> 6] |= 1L << ordinal;
+    }
+
+    // Value of the key; throws if absent, since no int can mean "absent"
+    public int get(K key) {
+        if (!containsKey(key)) {
+            throw new IllegalArgumentException("No value for " + key);
+        }
+        return values[key.ordinal()];
+    }
+
+    public int getOrDefault(K key, int defaultValue) {
+        return containsKey(key) ? values[key.ordinal()] : defaultValue;
+    }
+
+    public boolean containsKey(K key) {
+        int ordinal = key.ordinal();
+        return (present[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    // Adds delta to the value (an absent key starts at 0) and returns the new value
+    public int add(K key, int delta) {
+        int ordinal = key.ordinal();
+        present[ordinal >>> 6] |= 1L << ordinal;
+        return values[ordinal] += delta;
+    }
+
+    public void remove(K key) {
+        int ordinal = key.ordinal();
+        present[ordinal >>> 6] &= ~(1L << ordinal);
+        values[ordinal] = 0;
+    }
+
+    public int size() {
+        int size = 0;
+        for (long word : present) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    // Adds the values of another map, constant by constant
+    public void addAll(EnumIntMap<K> other) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] += other.values[i];
+        }
+        for (int i = 0; i < present.length; i++) {
+            present[i] |= other.present[i];
+        }
+    }
+
+    // out[i] = value of the constant with ordinal ordinals[i] (0 if absent)
+    public void getAll(byte[] ordinals, int from, int to, int[] out) {
+        int[] table = values;
+        for (int i = from; i < to; i++) {
+            out[i - from] = table[ordinals[i] & 0xFF];
+        }
+    }
+
+    // Values by ordinal (0 for absent keys)
+    public int[] toArray() {
+        return values.clone();
+    }
+
+    public void forEach(ObjIntConsumer<? super K> action) {
+        for (int i = 0; i < values.length; i++) {
+            if ((present[i >>> 6] & (1L << i)) != 0) {
+                action.accept(universe[i], values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0);
+        Arrays.fill(present, 0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> sb.append(sb.length() > 1 ? ", " : "").append(k).append('=').append(v));
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,31 @@
+package course5.L12_EnumCollections;
+
+/*
+ 👉 Shared, cached array of an enum's constants
+    - Class.getEnumConstants() / values() return a new copy on every call
+    - All structures in this lesson index by ordinal and keep a reference to this one array
+*/
+final class EnumUniverse {
+    private static final ClassValue<Enum<?>[]> CONSTANTS = new ClassValue<>() {
+        @Override
+        protected Enum<?>[] computeValue(Class<?> type) {
+            if (!type.isEnum()) {
+                throw new IllegalArgumentException(type.getName() + " is not an enum");
+            }
+            return (Enum<?>[]) type.getEnumConstants();
+        }
+    };
+
+    private EnumUniverse() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E extends Enum<E>> E[] of(Class<E> type) {
+        return (E[]) CONSTANTS.get(type);
+    }
+
+    // Number of longs needed for one bit per constant
+    static int words(int constants) {
+        return (constants + 63) >>> 6;
+    }
+}
@@ -0,0 +1,207 @@
+package course5.L7_Iterable;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ 👉 Spliterator for unsized sources (network cursors, file lines, custom Iterables).
+    trySplit() pulls the next elements from the iterator into an array and hands
+    the array out as a SIZED spliterator, so each parallel task gets a real batch.
+
+    Two batch policies:
+    - arithmetic(unit): batches grow unit, 2*unit, 3*unit ... (like the JDK's iterator spliterator)
+    - adaptive(targetNanos): batches are sized so one batch takes about targetNanos
+      of downstream work, using the per-element cost observed on earlier batches.
+      Cheap elements -> big batches (less overhead), expensive elements -> small batches (better balance)
+*/
+public class BatchSpliterator<T> implements Spliterator<T> {
+    static final int MAX_BATCH = 1 << 25;
+
+    private final Iterator<? extends T> iterator;
+    private final int characteristics;
+    private final BatchPolicy policy;
+    private long estimatedSize;
+    private int lastBatch;
+
+    private BatchSpliterator(Iterator<? extends T> iterator, long estimatedSize, int characteristics, BatchPolicy policy) {
+        this.iterator = iterator;
+        this.estimatedSize = estimatedSize;
+        // The source itself is never SIZED, only the array batches split from it are
+        this.characteristics = characteristics & ~(SIZED | SUBSIZED);
+        this.policy = policy;
+    }
+
+    public static <T> BatchSpliterator<T> arithmetic(Iterator<? extends T> iterator, int unit) {
+        return new BatchSpliterator<>(iterator, Long.MAX_VALUE, ORDERED, new ArithmeticBatchPolicy(unit));
+    }
+
+    public static <T> BatchSpliterator<T> adaptive(Iterator<? extends T> iterator, long targetBatchNanos) {
+        return new BatchSpliterator<>(iterator, Long.MAX_VALUE, ORDERED, new AdaptiveBatchPolicy(targetBatchNanos, 16, MAX_BATCH));
+    }
+
+    // Use when the caller has a rough idea of the element count (reported, but not trusted as SIZED)
+    public static <T> BatchSpliterator<T> adaptive(Iterator<? extends T> iterator, long estimatedSize, long targetBatchNanos) {
+        return new BatchSpliterator<>(iterator, estimatedSize, ORDERED, new AdaptiveBatchPolicy(targetBatchNanos, 16, MAX_BATCH));
+    }
+
+    public static <T> Stream<T> parallelStream(Spliterator<T> spliterator) {
+        return StreamSupport.stream(spliterator, true);
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        int n = policy.nextBatchSize(lastBatch);
+        // A used-up estimate was too low: the policy decides again instead of 1-element batches
+        if (estimatedSize != Long.MAX_VALUE && estimatedSize > 0 && n > estimatedSize) {
+            n = (int) estimatedSize;
+        }
+        Object[] batch = new Object[n];
+        int j = 0;
+        do {
+            batch[j] = iterator.next();
+        } while (++j < n && iterator.hasNext());
+        lastBatch = j;
+        if (estimatedSize != Long.MAX_VALUE) {
+            estimatedSize = Math.max(0, estimatedSize - j);
+        }
+        return policy.wrap(Spliterators.spliterator(batch, 0, j, characteristics));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (iterator.hasNext()) {
+            action.accept(iterator.next());
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        iterator.forEachRemaining(action);
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimatedSize;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+    // Current size chosen by the policy, useful to see the adaptive policy settle
+    public int lastBatchSize() {
+        return lastBatch;
+    }
+}
+
+// Decides how many elements go into the next batch
+sealed interface BatchPolicy permits ArithmeticBatchPolicy, AdaptiveBatchPolicy {
+    int nextBatchSize(int previous);
+
+    default <T> Spliterator<T> wrap(Spliterator<T> batch) {
+        return batch;
+    }
+}
+
+// unit, 2*unit, 3*unit ... capped at MAX_BATCH
+record ArithmeticBatchPolicy(int unit) implements BatchPolicy {
+    ArithmeticBatchPolicy {
+        if (unit < 1) {
+            throw new IllegalArgumentException("Batch unit must be positive");
+        }
+    }
+
+    @Override
+    public int nextBatchSize(int previous) {
+        return (int) Math.min((long) previous + unit, BatchSpliterator.MAX_BATCH);
+    }
+}
+
+// Sizes batches from the observed downstream cost per element
+final class AdaptiveBatchPolicy implements BatchPolicy {
+    private final long targetNanos;
+    private final int minBatch;
+    private final int maxBatch;
+    // Shared by all batches, which may be processed on different threads
+    private final AtomicLong observedNanos = new AtomicLong();
+    private final AtomicLong observedElements = new AtomicLong();
+
+    AdaptiveBatchPolicy(long targetNanos, int minBatch, int maxBatch) {
+        this.targetNanos = targetNanos;
+        this.minBatch = minBatch;
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public int nextBatchSize(int previous) {
+        long elements = observedElements.get();
+        if (elements == 0) {
+            // Nothing measured yet: start small and double, so the first results come back quickly
+            return Math.min(maxBatch, Math.max(minBatch, previous * 2));
+        }
+        double nanosPerElement = Math.max(1.0, (double) observedNanos.get() / elements);
+        long size = (long) (targetNanos / nanosPerElement);
+        return (int) Math.max(minBatch, Math.min(maxBatch, size));
+    }
+
+    @Override
+    public <T> Spliterator<T> wrap(Spliterator<T> batch) {
+        return new TimedSpliterator<>(batch, this);
+    }
+
+    void record(long nanos, long elements) {
+        observedNanos.addAndGet(nanos);
+        observedElements.addAndGet(elements);
+    }
+}
+
+// Measures how long the stream takes to consume a batch
+final class TimedSpliterator<T> implements Spliterator<T> {
+    private final Spliterator<T> delegate;
+    private final AdaptiveBatchPolicy policy;
+
+    TimedSpliterator(Spliterator<T> delegate, AdaptiveBatchPolicy policy) {
+        this.delegate = delegate;
+        this.policy = policy;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        return delegate.tryAdvance(action);
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        long size = delegate.estimateSize();
+        long start = System.nanoTime();
+        delegate.forEachRemaining(action);
+        policy.record(System.nanoTime() - start, size);
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        Spliterator<T> prefix = delegate.trySplit();
+        return prefix == null ? null : new TimedSpliterator<>(prefix, policy);
+    }
+
+    @Override
+    public long estimateSize() {
+        return delegate.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return delegate.characteristics();
+    }
+}
@@ -0,0 +1,85 @@
+package course5.L7_Iterable;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.StreamSupport;
+
+public class BatchSpliteratorBenchmark {
+    public static void main(String[] args) throws Exception {
+        // 1. Unsized source: a plain iterator has no size and no way to split itself
+        NumberRange range = new NumberRange(1, 20);
+        BatchSpliterator<Integer> spliterator = BatchSpliterator.arithmetic(range.iterator(), 4);
+        System.out.println("SIZED: " + spliterator.hasCharacteristics(Spliterator.SIZED));
+        Spliterator<Integer> first = spliterator.trySplit();
+        Spliterator<Integer> second = spliterator.trySplit();
+        System.out.println("First batch: " + first.estimateSize() + ", second batch: " + second.estimateSize());
+        spliterator.forEachRemaining(n -> System.out.print(n + " "));
+        // An estimate that is too low only caps the first batch, later batches follow the policy again
+        BatchSpliterator<Integer> underestimated = BatchSpliterator.adaptive(new NumberRange(1, 1_000).iterator(), 5, 1_000_000);
+        System.out.print("\nEstimate 5 for 1000 elements, batches:");
+        for (int i = 0; i < 3; i++) {
+            System.out.print(" " + underestimated.trySplit().estimateSize());
+        }
+        System.out.println("\n\n" + "=".repeat(50) + "\n");
+
+        // 2. Benchmarks: CPU-light and CPU-heavy work per element, 4..64 threads
+        int lightSize = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int heavySize = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int[] threads = {4, 8, 16, 32, 64};
+        System.out.println("Available cores: " + Runtime.getRuntime().availableProcessors());
+
+        System.out.println("\nCPU-light (" + lightSize + " elements, x * 31):");
+        runAll(lightSize, threads, x -> x * 31L);
+
+        System.out.println("\nCPU-heavy (" + heavySize + " elements, 2000 sqrt steps):");
+        runAll(heavySize, threads, BatchSpliteratorBenchmark::heavy);
+    }
+
+    private static void runAll(int size, int[] threads, ToLongFunction<Integer> work) throws Exception {
+        NumberRange range = new NumberRange(1, size);
+        for (int parallelism : threads) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                // Default: Spliterators.spliteratorUnknownSize (arithmetic batches of 1024)
+                long defaultMs = time(pool, () -> StreamSupport.stream(((Iterable<Integer>) range::iterator).spliterator(), true)
+                        .mapToLong(work).sum());
+                long arithmeticMs = time(pool, () -> BatchSpliterator.parallelStream(arithmetic(range.iterator()))
+                        .mapToLong(work).sum());
+                long adaptiveMs = time(pool, () -> BatchSpliterator.parallelStream(adaptive(range.iterator()))
+                        .mapToLong(work).sum());
+                System.out.printf("%2d threads -> default: %5d ms, arithmetic(256): %5d ms, adaptive(1ms): %5d ms%n",
+                        parallelism, defaultMs, arithmeticMs, adaptiveMs);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static Spliterator<Integer> arithmetic(Iterator<Integer> iterator) {
+        return BatchSpliterator.arithmetic(iterator, 256);
+    }
+
+    private static Spliterator<Integer> adaptive(Iterator<Integer> iterator) {
+        return BatchSpliterator.adaptive(iterator, 1_000_000);
+    }
+
+    // Runs the stream inside the pool so it uses that pool's parallelism
+    private static long time(ForkJoinPool pool, Supplier<Long> task) throws ExecutionException, InterruptedException {
+        pool.submit(task::get).get(); // warm-up
+        long start = System.nanoTime();
+        pool.submit(task::get).get();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static long heavy(int x) {
+        double value = x;
+        for (int i = 0; i < 2000; i++) {
+            value = Math.sqrt(value + i);
+        }
+        return (long) value;
+    }
+}
@@ -1,6 +1,10 @@
 package course5.L7_Iterable;
 
-import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 public class CustomIterable {
     public static void main(String[] args) {
@@ -8,16 +12,21 @@ public class CustomIterable {
         for (int num : range) {
             System.out.println(num); // Prints 1, 2, 3, 4, 5
         }
+
+        // Primitive stream without boxing, splits by halving the range
+        System.out.println("Sum: " + range.intStream().sum()); // 15
+        System.out.println("Parallel sum: " + range.parallelIntStream().sum()); // 15
     }
 }
 
 
 record NumberRange(int start, int end) implements Iterable<Integer> {
 
+    // PrimitiveIterator.OfInt is an Iterator<Integer>, nextInt() avoids boxing
     @Override
-    public Iterator<Integer> iterator() {
-        return new Iterator<>() {
-            private int current = start;
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private long current = start;
 
             @Override
             public boolean hasNext() {
@@ -25,9 +34,30 @@ record NumberRange(int start, int end) implements Iterable<Integer> {
             }
 
             @Override
-            public Integer next() {
-                return (Integer) current++;
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (int) current++;
             }
         };
     }
-}
\ No newline at end of file
+
+    // Replaces the default iterator-based spliterator (unknown size, splits poorly)
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new RangeSpliterator(start, start + size());
+    }
+
+    public long size() {
+        return Math.max(0, end + 1L - start);
+    }
+
+    public IntStream intStream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    public IntStream parallelIntStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+}
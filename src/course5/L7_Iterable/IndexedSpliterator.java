@@ -0,0 +1,71 @@
+package course5.L7_Iterable;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+// Generic helper for any array- or index-backed custom Iterable
+// Override Iterable.spliterator() with IndexedSpliterator.of(size(), this::get)
+// to get SIZED/SUBSIZED splitting by halving instead of the default iterator-based one
+public class IndexedSpliterator<T> implements Spliterator<T> {
+    private final IntFunction<? extends T> getter;
+    private int origin;
+    private final int fence;
+    private final int characteristics;
+
+    private IndexedSpliterator(IntFunction<? extends T> getter, int origin, int fence, int characteristics) {
+        this.getter = getter;
+        this.origin = origin;
+        this.fence = fence;
+        this.characteristics = characteristics;
+    }
+
+    public static <T> Spliterator<T> of(int size, IntFunction<? extends T> getter) {
+        return of(size, getter, 0);
+    }
+
+    // Extra characteristics (e.g. IMMUTABLE, NONNULL) are added to ORDERED | SIZED | SUBSIZED
+    public static <T> Spliterator<T> of(int size, IntFunction<? extends T> getter, int extraCharacteristics) {
+        return new IndexedSpliterator<>(getter, 0, size, ORDERED | SIZED | SUBSIZED | extraCharacteristics);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (origin < fence) {
+            action.accept(getter.apply(origin++));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        int i = origin;
+        int hi = fence;
+        origin = hi;
+        for (; i < hi; i++) {
+            action.accept(getter.apply(i));
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int mid = (origin + fence) >>> 1;
+        if (mid <= origin) {
+            return null;
+        }
+        IndexedSpliterator<T> prefix = new IndexedSpliterator<>(getter, origin, mid, characteristics);
+        origin = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - origin;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
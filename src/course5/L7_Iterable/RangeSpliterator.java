@@ -0,0 +1,66 @@
+package course5.L7_Iterable;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+// Spliterator.OfInt over the half-open range [origin, fence) of int values
+// - No boxing: values are handed out through IntConsumer
+// - trySplit() halves the remaining range, so parallel streams get perfectly balanced work
+// - fence is a long, so a range ending at Integer.MAX_VALUE does not overflow
+class RangeSpliterator implements Spliterator.OfInt {
+    private long origin;
+    private final long fence;
+
+    RangeSpliterator(long origin, long fence) {
+        this.origin = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (origin < fence) {
+            action.accept((int) origin++);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        long i = origin;
+        long hi = fence;
+        origin = hi;
+        for (; i < hi; i++) {
+            action.accept((int) i);
+        }
+    }
+
+    @Override
+    public OfInt trySplit() {
+        long mid = (origin + fence) >>> 1;
+        if (mid <= origin) {
+            return null; // one element left, nothing to split
+        }
+        // Hand the lower half to the new spliterator, keep the upper half
+        RangeSpliterator prefix = new RangeSpliterator(origin, mid);
+        origin = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - origin;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL | DISTINCT | SORTED;
+    }
+
+    // Natural int order, so SORTED needs a null comparator
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package course5.L7_Iterable;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+public class RangeSpliteratorBenchmark {
+    public static void main(String[] args) {
+        int end = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000_000;
+        NumberRange range = new NumberRange(1, end);
+
+        // 1. Characteristics of the new spliterator
+        Spliterator.OfInt spliterator = range.spliterator();
+        System.out.println("ORDERED: " + spliterator.hasCharacteristics(Spliterator.ORDERED));
+        System.out.println("SIZED: " + spliterator.hasCharacteristics(Spliterator.SIZED));
+        System.out.println("SUBSIZED: " + spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        Spliterator.OfInt half = spliterator.trySplit();
+        if (half != null) {
+            System.out.println("After one split: " + half.estimateSize() + " + " + spliterator.estimateSize());
+        }
+
+        // 2. Any index-backed Iterable gets balanced splitting through IndexedSpliterator
+        Basket basket = new Basket("Apple", "Mango", "Banana", "Grapes", "Orange");
+        Spliterator<String> fruits = basket.spliterator();
+        Spliterator<String> firstHalf = fruits.trySplit();
+        System.out.print("First half: ");
+        firstHalf.forEachRemaining(f -> System.out.print(f + " "));
+        System.out.print("\nSecond half: ");
+        fruits.forEachRemaining(f -> System.out.print(f + " "));
+        System.out.println("\n\n" + "=".repeat(50) + "\n");
+
+        // 3. Performance: sum of 1..end
+        System.out.println("Performance Test (sum of 1.." + end + ", " + Runtime.getRuntime().availableProcessors() + " cores):");
+
+        long start = System.nanoTime();
+        long sequential = range.intStream().asLongStream().sum();
+        long sequentialTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long parallel = range.parallelIntStream().asLongStream().sum();
+        long parallelTime = System.nanoTime() - start;
+
+        // Default Iterable.spliterator(): unknown size, boxes every Integer, splits in small batches
+        // Run on a 10x smaller range to keep the benchmark short
+        NumberRange smaller = new NumberRange(1, Math.max(1, end / 10));
+        Iterable<Integer> boxed = smaller::iterator;
+        start = System.nanoTime();
+        long defaultSum = StreamSupport.stream(boxed.spliterator(), true).mapToLong(Integer::longValue).sum();
+        long defaultTime = System.nanoTime() - start;
+
+        System.out.println("IntStream sequential:           " + sequentialTime / 1_000_000 + " ms, sum = " + sequential);
+        System.out.println("IntStream parallel (halving):   " + parallelTime / 1_000_000 + " ms, sum = " + parallel);
+        System.out.println("Default spliterator, parallel, " + smaller.size() + " elements: "
+                + defaultTime / 1_000_000 + " ms, sum = " + defaultSum);
+    }
+}
+
+// Array-backed custom Iterable using the generic IndexedSpliterator helper
+class Basket implements Iterable<String> {
+    private final String[] items;
+
+    Basket(String... items) {
+        this.items = items.clone();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public Spliterator<String> spliterator() {
+        return IndexedSpliterator.of(items.length, i -> items[i], Spliterator.IMMUTABLE);
+    }
+}